@@ -1,10 +1,12 @@
 package com.timerfy.controller;
 
 import com.timerfy.dto.ApiResponse;
+import com.timerfy.dto.RoomSequenceRequest;
 import com.timerfy.dto.RoomSettingsRequest;
 import com.timerfy.exception.RoomNotFoundException;
 import com.timerfy.model.Room;
 import com.timerfy.service.RoomService;
+import com.timerfy.service.TimerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -32,6 +34,9 @@ public class RoomController {
     @Autowired
     private RoomService roomService;
     
+    @Autowired
+    private TimerService timerService;
+    
     @PostMapping
     @Operation(
         summary = "Create a new room",
@@ -193,36 +198,69 @@ public class RoomController {
             @PathVariable String roomId,
             @Valid @RequestBody RoomSettingsRequest settingsRequest) {
         
-        Optional<Room> roomOpt = roomService.getRoomById(roomId);
+        // Applied to the latest stored settings, so it may run more than once
+        Optional<Room> roomOpt = roomService.updateSettings(roomId, settings -> {
+            if (settingsRequest.getMaxTimers() != null) {
+                settings.setMaxTimers(settingsRequest.getMaxTimers());
+            }
+            if (settingsRequest.getAllowViewerMessages() != null) {
+                settings.setAllowViewerMessages(settingsRequest.getAllowViewerMessages());
+            }
+            if (settingsRequest.getPrimaryColor() != null) {
+                settings.setPrimaryColor(settingsRequest.getPrimaryColor());
+            }
+            if (settingsRequest.getBackgroundColor() != null) {
+                settings.setBackgroundColor(settingsRequest.getBackgroundColor());
+            }
+            if (settingsRequest.getFontFamily() != null) {
+                settings.setFontFamily(settingsRequest.getFontFamily());
+            }
+            if (settingsRequest.getTickRate() != null) {
+                settings.setTickRate(settingsRequest.getTickRate());
+            }
+        });
         
         if (roomOpt.isEmpty()) {
             throw new RoomNotFoundException(roomId);
         }
         
         Room room = roomOpt.get();
-        Room.RoomSettings settings = room.getSettings();
+        // Follow the stored rate rather than the request's, which a concurrent update may have replaced
+        timerService.applyTickRate(roomId, room.getSettings().getTickRate());
         
-        // Update settings if provided
-        if (settingsRequest.getMaxTimers() != null) {
-            settings.setMaxTimers(settingsRequest.getMaxTimers());
-        }
-        if (settingsRequest.getAllowViewerMessages() != null) {
-            settings.setAllowViewerMessages(settingsRequest.getAllowViewerMessages());
-        }
-        if (settingsRequest.getPrimaryColor() != null) {
-            settings.setPrimaryColor(settingsRequest.getPrimaryColor());
-        }
-        if (settingsRequest.getBackgroundColor() != null) {
-            settings.setBackgroundColor(settingsRequest.getBackgroundColor());
-        }
-        if (settingsRequest.getFontFamily() != null) {
-            settings.setFontFamily(settingsRequest.getFontFamily());
-        }
+        logger.info("Updated settings for room: {}", roomId);
+        ApiResponse<Room> response = ApiResponse.success(room);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PutMapping("/{roomId}/sequence")
+    @Operation(
+        summary = "Set the room's timer sequence",
+        description = "Sets the timers that run back to back: when one completes, the server starts the next at the same instant"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Sequence updated successfully"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Room or timer not found"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid sequence"
+        )
+    })
+    public ResponseEntity<ApiResponse<Room>> updateRoomSequence(
+            @Parameter(description = "Room ID", required = true)
+            @PathVariable String roomId,
+            @Valid @RequestBody RoomSequenceRequest sequenceRequest) {
         
-        room.setSettings(settings);
-        roomService.saveRoom(room);
+        Room room = roomService.updateSequence(roomId, sequenceRequest.getTimerIds())
+                .orElseThrow(() -> new RoomNotFoundException(roomId));
         
-        logger.info("Updated settings for room: {}", roomId);
+        logger.info("Updated sequence for room {}: {}", roomId, room.getSequence());
         ApiResponse<Room> response = ApiResponse.success(room);
         return ResponseEntity.ok(response);
     }
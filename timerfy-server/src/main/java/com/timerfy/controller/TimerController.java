@@ -1,6 +1,7 @@
 package com.timerfy.controller;
 
 import com.timerfy.dto.ApiResponse;
+import com.timerfy.dto.BulkTimerControlRequest;
 import com.timerfy.dto.CreateTimerRequest;
 import com.timerfy.dto.TimerControlRequest;
 import com.timerfy.dto.UpdateTimerRequest;
@@ -10,7 +11,10 @@ import com.timerfy.exception.TimerLimitExceededException;
 import com.timerfy.exception.InvalidTimerStateException;
 import com.timerfy.model.Timer;
 import com.timerfy.service.RoomService;
+import com.timerfy.service.TimerOperation;
 import com.timerfy.service.TimerService;
+import com.timerfy.service.TimerTransitionResult;
+import com.timerfy.websocket.WebSocketEventHandler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -25,6 +29,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -41,6 +46,9 @@ public class TimerController {
     @Autowired
     private RoomService roomService;
     
+    @Autowired
+    private WebSocketEventHandler webSocketEventHandler;
+    
     @PostMapping
     @Operation(
         summary = "Create a new timer",
@@ -70,6 +78,11 @@ public class TimerController {
             @PathVariable String roomId,
             @Valid @RequestBody CreateTimerRequest request) {
         
+        Long durationMillis = toMillis(request.getDurationMillis(), request.getDuration());
+        if (durationMillis == null) {
+            throw new IllegalArgumentException("Timer duration is required");
+        }
+        
         if (!roomService.roomExists(roomId)) {
             throw new RoomNotFoundException(roomId);
         }
@@ -82,7 +95,7 @@ public class TimerController {
             Timer timer = timerService.createTimer(
                 roomId,
                 request.getName(),
-                request.getDuration(),
+                durationMillis,
                 request.getType()
             );
             
@@ -156,7 +169,7 @@ public class TimerController {
             roomId,
             timerId,
             request.getName(),
-            request.getDuration(),
+            toMillis(request.getDurationMillis(), request.getDuration()),
             settings
         );
         
@@ -215,12 +228,14 @@ public class TimerController {
     @PostMapping("/{timerId}/start")
     @Operation(
         summary = "Start a timer",
-        description = "Starts the specified timer"
+        description = "Starts the specified timer, or arms it to start at startTime when that is in the future. "
+                + "With syncStart the server arms it to start shortly, after the room's slowest broadcast latency, "
+                + "so every display starts it on the same frame"
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "200",
-            description = "Timer started successfully"
+            description = "Timer started or scheduled successfully"
         ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "404",
@@ -238,27 +253,21 @@ public class TimerController {
             @PathVariable String timerId,
             @RequestBody(required = false) TimerControlRequest request) {
         
-        if (!roomService.roomExists(roomId)) {
-            throw new RoomNotFoundException(roomId);
-        }
-        
-        Optional<Timer> timerOpt = roomService.getTimerFromRoom(roomId, timerId);
-        if (timerOpt.isEmpty()) {
-            throw new TimerNotFoundException(roomId, timerId);
-        }
-        
-        boolean started = timerService.startTimer(
-            roomId,
-            timerId,
-            request != null ? request.getStartTime() : null
-        );
-        
-        if (!started) {
-            Timer timer = timerOpt.get();
-            throw new InvalidTimerStateException(timerId, timer.getState().toString(), "start");
+        TimerTransitionResult result;
+        if (request != null && Boolean.TRUE.equals(request.getSyncStart())) {
+            if (request.getStartTime() != null) {
+                throw new IllegalArgumentException("startTime cannot be combined with syncStart");
+            }
+            result = timerService.startTimerInSync(roomId, timerId, webSocketEventHandler.getBroadcastLatencyMillis(roomId));
+        } else {
+            result = timerService.startTimer(
+                roomId,
+                timerId,
+                request != null ? request.getStartTime() : null
+            );
         }
         
-        Timer updatedTimer = roomService.getTimerFromRoom(roomId, timerId).get();
+        Timer updatedTimer = requireApplied(result, roomId, timerId, "start");
         logger.info("Started timer {} in room {}", timerId, roomId);
         
         ApiResponse<Timer> response = ApiResponse.success(updatedTimer);
@@ -276,22 +285,8 @@ public class TimerController {
             @Parameter(description = "Timer ID", required = true)
             @PathVariable String timerId) {
         
-        if (!roomService.roomExists(roomId)) {
-            throw new RoomNotFoundException(roomId);
-        }
-        
-        if (!roomService.getTimerFromRoom(roomId, timerId).isPresent()) {
-            throw new TimerNotFoundException(roomId, timerId);
-        }
-        
-        boolean stopped = timerService.stopTimer(roomId, timerId);
-        
-        if (!stopped) {
-            Timer timer = roomService.getTimerFromRoom(roomId, timerId).get();
-            throw new InvalidTimerStateException(timerId, timer.getState().toString(), "stop");
-        }
-        
-        Timer updatedTimer = roomService.getTimerFromRoom(roomId, timerId).get();
+        TimerTransitionResult result = timerService.stopTimer(roomId, timerId);
+        Timer updatedTimer = requireApplied(result, roomId, timerId, "stop");
         logger.info("Stopped timer {} in room {}", timerId, roomId);
         
         ApiResponse<Timer> response = ApiResponse.success(updatedTimer);
@@ -309,22 +304,8 @@ public class TimerController {
             @Parameter(description = "Timer ID", required = true)
             @PathVariable String timerId) {
         
-        if (!roomService.roomExists(roomId)) {
-            throw new RoomNotFoundException(roomId);
-        }
-        
-        if (!roomService.getTimerFromRoom(roomId, timerId).isPresent()) {
-            throw new TimerNotFoundException(roomId, timerId);
-        }
-        
-        boolean paused = timerService.pauseTimer(roomId, timerId);
-        
-        if (!paused) {
-            Timer timer = roomService.getTimerFromRoom(roomId, timerId).get();
-            throw new InvalidTimerStateException(timerId, timer.getState().toString(), "pause");
-        }
-        
-        Timer updatedTimer = roomService.getTimerFromRoom(roomId, timerId).get();
+        TimerTransitionResult result = timerService.pauseTimer(roomId, timerId);
+        Timer updatedTimer = requireApplied(result, roomId, timerId, "pause");
         logger.info("Paused timer {} in room {}", timerId, roomId);
         
         ApiResponse<Timer> response = ApiResponse.success(updatedTimer);
@@ -343,25 +324,13 @@ public class TimerController {
             @PathVariable String timerId,
             @RequestBody(required = false) TimerControlRequest request) {
         
-        if (!roomService.roomExists(roomId)) {
-            throw new RoomNotFoundException(roomId);
-        }
-        
-        if (!roomService.getTimerFromRoom(roomId, timerId).isPresent()) {
-            throw new TimerNotFoundException(roomId, timerId);
-        }
-        
-        boolean reset = timerService.resetTimer(
+        TimerTransitionResult result = timerService.resetTimer(
             roomId,
             timerId,
-            request != null ? request.getNewDuration() : null
+            request != null ? toMillis(request.getNewDurationMillis(), request.getNewDuration()) : null
         );
         
-        if (!reset) {
-            throw new TimerNotFoundException(roomId, timerId);
-        }
-        
-        Timer updatedTimer = roomService.getTimerFromRoom(roomId, timerId).get();
+        Timer updatedTimer = requireApplied(result, roomId, timerId, "reset");
         logger.info("Reset timer {} in room {}", timerId, roomId);
         
         ApiResponse<Timer> response = ApiResponse.success(updatedTimer);
@@ -394,28 +363,78 @@ public class TimerController {
             @PathVariable String timerId,
             @Valid @RequestBody TimerControlRequest request) {
         
-        if (!roomService.roomExists(roomId)) {
-            throw new RoomNotFoundException(roomId);
-        }
-        
-        if (!roomService.getTimerFromRoom(roomId, timerId).isPresent()) {
-            throw new TimerNotFoundException(roomId, timerId);
-        }
-        
-        if (request.getAdjustment() == null) {
+        Long adjustmentMillis = toMillis(request.getAdjustmentMillis(), request.getAdjustment());
+        if (adjustmentMillis == null) {
             throw new IllegalArgumentException("Adjustment value is required");
         }
         
-        boolean adjusted = timerService.adjustTimer(roomId, timerId, request.getAdjustment());
+        TimerTransitionResult result = timerService.adjustTimer(roomId, timerId, adjustmentMillis);
+        Timer updatedTimer = requireApplied(result, roomId, timerId, "adjust");
+        logger.info("Adjusted timer {} in room {} by {} ms", timerId, roomId, adjustmentMillis);
         
-        if (!adjusted) {
-            throw new TimerNotFoundException(roomId, timerId);
+        ApiResponse<Timer> response = ApiResponse.success(updatedTimer);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/bulk")
+    @Operation(
+        summary = "Control several timers at once",
+        description = "Starts, stops, pauses, resets or adjusts the listed timers, or every timer in the room when none are listed, "
+                + "in a single write announced as one event. Timers whose state doesn't allow the action are left unchanged"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Action applied; the response lists the timers it changed"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Room or timer not found"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid action or adjustment value"
+        )
+    })
+    public ResponseEntity<ApiResponse<List<Timer>>> controlTimers(
+            @Parameter(description = "Room ID", required = true)
+            @PathVariable String roomId,
+            @Valid @RequestBody BulkTimerControlRequest request) {
+        
+        TimerOperation operation = TimerOperation.valueOf(request.getAction().name());
+        Long operand = null;
+        if (operation == TimerOperation.ADJUST) {
+            operand = toMillis(request.getAdjustmentMillis(), request.getAdjustment());
+        } else if (operation == TimerOperation.RESET) {
+            operand = toMillis(request.getNewDurationMillis(), request.getNewDuration());
         }
         
-        Timer updatedTimer = roomService.getTimerFromRoom(roomId, timerId).get();
-        logger.info("Adjusted timer {} in room {} by {} seconds", timerId, roomId, request.getAdjustment());
+        List<Timer> timers = timerService.controlTimers(roomId, operation, request.getTimerIds(), operand)
+                .orElseThrow(() -> new RoomNotFoundException(roomId));
+        logger.info("Applied {} to {} timers in room {}", operation, timers.size(), roomId);
         
-        ApiResponse<Timer> response = ApiResponse.success(updatedTimer);
+        ApiResponse<List<Timer>> response = ApiResponse.success(timers);
         return ResponseEntity.ok(response);
     }
+    
+    // Requests may give a duration in milliseconds or, as older clients do, in whole seconds
+    private static Long toMillis(Long millis, Long seconds) {
+        if (millis != null) {
+            return millis;
+        }
+        return seconds != null ? seconds * 1000 : null;
+    }
+    
+    private Timer requireApplied(TimerTransitionResult result, String roomId, String timerId, String operation) {
+        switch (result.getStatus()) {
+            case ROOM_NOT_FOUND:
+                throw new RoomNotFoundException(roomId);
+            case TIMER_NOT_FOUND:
+                throw new TimerNotFoundException(roomId, timerId);
+            case INVALID_STATE:
+                throw new InvalidTimerStateException(timerId, result.getCurrentState().toString(), operation);
+            default:
+                return result.getTimer();
+        }
+    }
 }
\ No newline at end of file
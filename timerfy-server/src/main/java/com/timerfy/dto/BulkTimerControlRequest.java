@@ -0,0 +1,56 @@
+package com.timerfy.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkTimerControlRequest {
+    
+    public enum Action {
+        START,
+        STOP,
+        PAUSE,
+        RESET,
+        ADJUST
+    }
+    
+    @NotNull(message = "Action cannot be null")
+    private Action action;
+    
+    // Null or empty applies the action to every timer in the room
+    @Size(max = 50, message = "Cannot control more than 50 timers at once")
+    private List<String> timerIds;
+    
+    // The seconds fields are kept for older clients; the millisecond ones win when both are given
+    @Min(value = 1, message = "New duration must be at least 1 second")
+    private Long newDuration;
+    
+    @Min(value = 1, message = "New duration must be at least 1 millisecond")
+    private Long newDurationMillis;
+    
+    private Long adjustment; // Can be positive or negative
+    
+    private Long adjustmentMillis;
+    
+    public BulkTimerControlRequest() {}
+    
+    public Action getAction() { return action; }
+    public void setAction(Action action) { this.action = action; }
+    
+    public List<String> getTimerIds() { return timerIds; }
+    public void setTimerIds(List<String> timerIds) { this.timerIds = timerIds; }
+    
+    public Long getNewDuration() { return newDuration; }
+    public void setNewDuration(Long newDuration) { this.newDuration = newDuration; }
+    
+    public Long getNewDurationMillis() { return newDurationMillis; }
+    public void setNewDurationMillis(Long newDurationMillis) { this.newDurationMillis = newDurationMillis; }
+    
+    public Long getAdjustment() { return adjustment; }
+    public void setAdjustment(Long adjustment) { this.adjustment = adjustment; }
+    
+    public Long getAdjustmentMillis() { return adjustmentMillis; }
+    public void setAdjustmentMillis(Long adjustmentMillis) { this.adjustmentMillis = adjustmentMillis; }
+}
\ No newline at end of file
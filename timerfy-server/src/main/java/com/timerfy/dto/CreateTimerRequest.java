@@ -12,8 +12,12 @@ public class CreateTimerRequest {
     @Size(min = 1, max = 100, message = "Timer name must be between 1 and 100 characters")
     private String name;
     
+    // Either field sets the duration; durationMillis wins when both are given
     @Min(value = 1, message = "Timer duration must be at least 1 second")
-    private long duration;
+    private Long duration;
+    
+    @Min(value = 1, message = "Timer duration must be at least 1 millisecond")
+    private Long durationMillis;
     
     @NotNull(message = "Timer type cannot be null")
     private TimerType type = TimerType.COUNTDOWN;
@@ -31,8 +35,11 @@ public class CreateTimerRequest {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
     
-    public long getDuration() { return duration; }
-    public void setDuration(long duration) { this.duration = duration; }
+    public Long getDuration() { return duration; }
+    public void setDuration(Long duration) { this.duration = duration; }
+    
+    public Long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(Long durationMillis) { this.durationMillis = durationMillis; }
     
     public TimerType getType() { return type; }
     public void setType(TimerType type) { this.type = type; }
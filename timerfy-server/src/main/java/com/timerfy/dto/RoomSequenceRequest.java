@@ -0,0 +1,18 @@
+package com.timerfy.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class RoomSequenceRequest {
+    
+    @NotNull(message = "Timer IDs cannot be null")
+    @Size(max = 50, message = "Sequence cannot have more than 50 timers")
+    private List<String> timerIds;
+    
+    public RoomSequenceRequest() {}
+    
+    public List<String> getTimerIds() { return timerIds; }
+    public void setTimerIds(List<String> timerIds) { this.timerIds = timerIds; }
+}
\ No newline at end of file
@@ -22,6 +22,10 @@ public class RoomSettingsRequest {
              message = "Font family must be one of: sans-serif, serif, monospace, cursive, fantasy")
     private String fontFamily;
     
+    @Min(value = 0, message = "Tick rate cannot be negative")
+    @Max(value = 10, message = "Tick rate cannot exceed 10 per second")
+    private Integer tickRate;
+    
     public RoomSettingsRequest() {}
     
     public Integer getMaxTimers() { return maxTimers; }
@@ -38,4 +42,7 @@ public class RoomSettingsRequest {
     
     public String getFontFamily() { return fontFamily; }
     public void setFontFamily(String fontFamily) { this.fontFamily = fontFamily; }
+    
+    public Integer getTickRate() { return tickRate; }
+    public void setTickRate(Integer tickRate) { this.tickRate = tickRate; }
 }
\ No newline at end of file
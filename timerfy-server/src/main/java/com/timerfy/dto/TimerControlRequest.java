@@ -10,11 +10,20 @@ public class TimerControlRequest {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
     private LocalDateTime startTime;
     
+    // The seconds fields are kept for older clients; the millisecond ones win when both are given
     @Min(value = 1, message = "New duration must be at least 1 second")
     private Long newDuration;
     
+    @Min(value = 1, message = "New duration must be at least 1 millisecond")
+    private Long newDurationMillis;
+    
     private Long adjustment; // Can be positive or negative
     
+    private Long adjustmentMillis;
+    
+    // Lets the server pick a start instant every display in the room can reach in time
+    private Boolean syncStart;
+    
     public TimerControlRequest() {}
     
     public LocalDateTime getStartTime() { return startTime; }
@@ -23,6 +32,15 @@ public class TimerControlRequest {
     public Long getNewDuration() { return newDuration; }
     public void setNewDuration(Long newDuration) { this.newDuration = newDuration; }
     
+    public Long getNewDurationMillis() { return newDurationMillis; }
+    public void setNewDurationMillis(Long newDurationMillis) { this.newDurationMillis = newDurationMillis; }
+    
     public Long getAdjustment() { return adjustment; }
     public void setAdjustment(Long adjustment) { this.adjustment = adjustment; }
+    
+    public Long getAdjustmentMillis() { return adjustmentMillis; }
+    public void setAdjustmentMillis(Long adjustmentMillis) { this.adjustmentMillis = adjustmentMillis; }
+    
+    public Boolean getSyncStart() { return syncStart; }
+    public void setSyncStart(Boolean syncStart) { this.syncStart = syncStart; }
 }
\ No newline at end of file
@@ -8,9 +8,13 @@ public class UpdateTimerRequest {
     @Size(min = 1, max = 100, message = "Timer name must be between 1 and 100 characters")
     private String name;
     
+    // Either field sets the duration; durationMillis wins when both are given
     @Min(value = 1, message = "Timer duration must be at least 1 second")
     private Long duration;
     
+    @Min(value = 1, message = "Timer duration must be at least 1 millisecond")
+    private Long durationMillis;
+    
     private CreateTimerRequest.TimerSettingsDto settings;
     
     public UpdateTimerRequest() {}
@@ -21,6 +25,9 @@ public class UpdateTimerRequest {
     public Long getDuration() { return duration; }
     public void setDuration(Long duration) { this.duration = duration; }
     
+    public Long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(Long durationMillis) { this.durationMillis = durationMillis; }
+    
     public CreateTimerRequest.TimerSettingsDto getSettings() { return settings; }
     public void setSettings(CreateTimerRequest.TimerSettingsDto settings) { this.settings = settings; }
 }
\ No newline at end of file
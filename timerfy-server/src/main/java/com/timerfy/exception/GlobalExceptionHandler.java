@@ -64,6 +64,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
     
+    @ExceptionHandler(RoomUpdateConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleRoomUpdateConflict(RoomUpdateConflictException ex, WebRequest request) {
+        logger.warn("Room update conflict: {}", ex.getMessage());
+        ApiResponse<Object> response = ApiResponse.error("ROOM_UPDATE_CONFLICT", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Object>> handleValidationErrors(MethodArgumentNotValidException ex, WebRequest request) {
         Map<String, String> errors = new HashMap<>();
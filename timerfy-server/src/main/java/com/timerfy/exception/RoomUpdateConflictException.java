@@ -0,0 +1,12 @@
+package com.timerfy.exception;
+
+public class RoomUpdateConflictException extends RuntimeException {
+    
+    public RoomUpdateConflictException(String roomId, int attempts) {
+        super("Room '" + roomId + "' was modified concurrently; update abandoned after " + attempts + " attempts");
+    }
+    
+    public RoomUpdateConflictException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
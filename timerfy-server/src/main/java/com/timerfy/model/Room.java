@@ -14,7 +14,7 @@ import java.util.List;
 public class Room {
     
     @NotBlank(message = "Room ID cannot be blank")
-    @Size(min = 6, max = 6, message = "Room ID must be exactly 6 characters")
+    @Size(min = 6, max = 12, message = "Room ID must be between 6 and 12 characters")
     private String id;
     
     @NotNull(message = "Creation date cannot be null")
@@ -35,12 +35,18 @@ public class Room {
     @NotNull(message = "Messages list cannot be null")
     private List<Message> messages = new ArrayList<>();
     
+    // Timer ids run back to back: when one completes, the next starts at the instant it reached zero
+    @NotNull(message = "Sequence cannot be null")
+    private List<String> sequence = new ArrayList<>();
+    
     @NotNull(message = "Room settings cannot be null")
     private RoomSettings settings;
     
     @NotNull(message = "Room statistics cannot be null")
     private RoomStats stats;
     
+    private long version;
+    
     public static class RoomSettings {
         @Min(value = 1, message = "Maximum timers must be at least 1")
         @Max(value = 50, message = "Maximum timers cannot exceed 50")
@@ -56,6 +62,13 @@ public class Room {
         private String backgroundColor = "#000000";
         private String fontFamily = "sans-serif";
         
+        // Ticks per second broadcast for the room's running timers. At 0 no ticks are sent: clients
+        // interpolate from control events and the server only wakes at warning, critical and
+        // completion deadlines
+        @Min(value = 0, message = "Tick rate cannot be negative")
+        @Max(value = 10, message = "Tick rate cannot exceed 10 per second")
+        private int tickRate = 1;
+        
         public RoomSettings() {}
         
         public int getMaxTimers() { return maxTimers; }
@@ -75,6 +88,21 @@ public class Room {
         
         public String getFontFamily() { return fontFamily; }
         public void setFontFamily(String fontFamily) { this.fontFamily = fontFamily; }
+        
+        public int getTickRate() { return tickRate; }
+        public void setTickRate(int tickRate) { this.tickRate = tickRate; }
+        
+        public RoomSettings copy() {
+            RoomSettings copy = new RoomSettings();
+            copy.maxTimers = this.maxTimers;
+            copy.autoCleanup = this.autoCleanup;
+            copy.allowViewerMessages = this.allowViewerMessages;
+            copy.primaryColor = this.primaryColor;
+            copy.backgroundColor = this.backgroundColor;
+            copy.fontFamily = this.fontFamily;
+            copy.tickRate = this.tickRate;
+            return copy;
+        }
     }
     
     public static class RoomStats {
@@ -97,6 +125,14 @@ public class Room {
         
         public int getTotalViewers() { return totalViewers; }
         public void setTotalViewers(int totalViewers) { this.totalViewers = totalViewers; }
+        
+        public RoomStats copy() {
+            RoomStats copy = new RoomStats();
+            copy.connectedUsers = this.connectedUsers;
+            copy.totalControllers = this.totalControllers;
+            copy.totalViewers = this.totalViewers;
+            return copy;
+        }
     }
     
     public Room() {
@@ -133,18 +169,29 @@ public class Room {
     public List<Message> getMessages() { return messages; }
     public void setMessages(List<Message> messages) { this.messages = messages; }
     
+    public List<String> getSequence() { return sequence; }
+    public void setSequence(List<String> sequence) { this.sequence = sequence; }
+    
     public RoomSettings getSettings() { return settings; }
     public void setSettings(RoomSettings settings) { this.settings = settings; }
     
     public RoomStats getStats() { return stats; }
     public void setStats(RoomStats stats) { this.stats = stats; }
     
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    
     public void updateLastActivity() {
         this.lastActivity = LocalDateTime.now();
     }
     
     public boolean isExpired() {
-        return LocalDateTime.now().isAfter(this.expiresAt);
+        return isExpiredAt(LocalDateTime.now());
+    }
+    
+    // Rooms without an expiry never expire
+    public boolean isExpiredAt(LocalDateTime now) {
+        return this.expiresAt != null && now.isAfter(this.expiresAt);
     }
     
     public void addTimer(Timer timer) {
@@ -157,6 +204,7 @@ public class Room {
     
     public void removeTimer(String timerId) {
         timers.removeIf(timer -> timer.getId().equals(timerId));
+        sequence.remove(timerId);
         updateLastActivity();
     }
     
@@ -167,6 +215,14 @@ public class Room {
                 .orElse(null);
     }
     
+    /**
+     * The timer that follows {@code timerId} in the sequence, or null if it is last or not in it.
+     */
+    public String nextInSequence(String timerId) {
+        int index = sequence.indexOf(timerId);
+        return index >= 0 && index + 1 < sequence.size() ? sequence.get(index + 1) : null;
+    }
+    
     public void addMessage(Message message) {
         messages.add(message);
         updateLastActivity();
@@ -183,4 +239,38 @@ public class Room {
                 .findFirst()
                 .orElse(null);
     }
+    
+    public Room copy() {
+        Room copy = new Room();
+        copy.id = this.id;
+        copy.created = this.created;
+        copy.lastActivity = this.lastActivity;
+        copy.expiresAt = this.expiresAt;
+        copy.timers = new ArrayList<>(this.timers.size());
+        this.timers.forEach(timer -> copy.timers.add(timer.copy()));
+        copy.messages = new ArrayList<>(this.messages.size());
+        this.messages.forEach(message -> copy.messages.add(message.copy()));
+        copy.sequence = new ArrayList<>(this.sequence);
+        copy.settings = this.settings != null ? this.settings.copy() : null;
+        copy.stats = this.stats != null ? this.stats.copy() : null;
+        copy.version = this.version;
+        return copy;
+    }
+    
+    /**
+     * Puts this room back the way it was when {@code snapshot} was taken with {@link #copy()}.
+     * The snapshot's timers, messages and settings are taken over, so it must not be used again.
+     */
+    public void restore(Room snapshot) {
+        this.id = snapshot.id;
+        this.created = snapshot.created;
+        this.lastActivity = snapshot.lastActivity;
+        this.expiresAt = snapshot.expiresAt;
+        this.timers = snapshot.timers;
+        this.messages = snapshot.messages;
+        this.sequence = snapshot.sequence;
+        this.settings = snapshot.settings;
+        this.stats = snapshot.stats;
+        this.version = snapshot.version;
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.timerfy.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -18,11 +20,12 @@ public class Timer {
     @Size(min = 1, max = 100, message = "Timer name must be between 1 and 100 characters")
     private String name;
     
-    @Min(value = 1, message = "Timer duration must be at least 1 second")
-    private long duration;
+    // Time is kept in milliseconds; duration and currentTime are whole-second views of it
+    @Min(value = 1, message = "Timer duration must be at least 1 millisecond")
+    private long durationMillis;
     
     @Min(value = 0, message = "Current time cannot be negative")
-    private long currentTime;
+    private long currentTimeMillis;
     
     @NotNull(message = "Timer state cannot be null")
     private TimerState state = TimerState.STOPPED;
@@ -48,6 +51,14 @@ public class Timer {
     
     private long pausedDuration = 0;
     
+    // While running, currentTime is derived from the value it had at anchoredAt (TimerClock
+    // millis) instead of being stored on every tick
+    private long anchoredAt;
+    private long anchorTimeMillis;
+    
+    // TimerClock millis a SCHEDULED timer is armed to start at
+    private long scheduledStartMillis;
+    
     public static class TimerSettings {
         @Min(value = 0, message = "Warning time cannot be negative")
         private long warningTime = 300; // 5 minutes
@@ -80,6 +91,16 @@ public class Timer {
         
         public Boolean getShowNotifications() { return showNotifications; }
         public void setShowNotifications(Boolean showNotifications) { this.showNotifications = showNotifications; }
+        
+        public TimerSettings copy() {
+            TimerSettings copy = new TimerSettings();
+            copy.warningTime = this.warningTime;
+            copy.criticalTime = this.criticalTime;
+            copy.autoReset = this.autoReset;
+            copy.playSound = this.playSound;
+            copy.showNotifications = this.showNotifications;
+            return copy;
+        }
     }
     
     public Timer() {
@@ -91,9 +112,9 @@ public class Timer {
     public Timer(String name, long duration, TimerType type) {
         this();
         this.name = name;
-        this.duration = duration;
+        this.durationMillis = duration * 1000;
         this.type = type;
-        this.currentTime = (type == TimerType.COUNTDOWN) ? duration : 0;
+        this.currentTimeMillis = (type == TimerType.COUNTDOWN) ? durationMillis : 0;
     }
     
     public String getId() { return id; }
@@ -102,16 +123,54 @@ public class Timer {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
     
-    public long getDuration() { return duration; }
-    public void setDuration(long duration) { 
-        this.duration = duration; 
+    public long getDuration() { return (durationMillis + 999) / 1000; }
+    public void setDuration(long duration) { setDurationMillis(duration * 1000); }
+    
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { 
+        this.durationMillis = durationMillis; 
         if (type == TimerType.COUNTDOWN && state == TimerState.STOPPED) {
-            this.currentTime = duration;
+            this.currentTimeMillis = durationMillis;
+        }
+    }
+    
+    public long getCurrentTime() { return toSeconds(getCurrentTimeMillis()); }
+    public void setCurrentTime(long currentTime) { this.currentTimeMillis = currentTime * 1000; }
+    
+    public long getCurrentTimeMillis() {
+        return isAnchored() ? currentTimeMillisAt(TimerClock.currentTimeMillis()) : currentTimeMillis;
+    }
+    public void setCurrentTimeMillis(long currentTimeMillis) { this.currentTimeMillis = currentTimeMillis; }
+    
+    // Stored timers may list fields in any order, so restoring must not re-derive currentTime.
+    // Timers stored before millisecond precision only carry whole seconds; when both are stored
+    // the millisecond value wins whichever is read first.
+    @JsonSetter("duration")
+    private void restoreDuration(long duration) {
+        if (durationMillis == 0) {
+            durationMillis = duration * 1000;
+        }
+    }
+    
+    @JsonSetter("durationMillis")
+    private void restoreDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+    
+    @JsonSetter("currentTime")
+    private void restoreCurrentTime(long currentTime) {
+        if (currentTimeMillis == 0) {
+            currentTimeMillis = currentTime * 1000;
         }
     }
     
-    public long getCurrentTime() { return currentTime; }
-    public void setCurrentTime(long currentTime) { this.currentTime = currentTime; }
+    @JsonSetter("currentTimeMillis")
+    private void restoreCurrentTimeMillis(long currentTimeMillis) { this.currentTimeMillis = currentTimeMillis; }
+    
+    @JsonSetter("anchorTime")
+    private void restoreAnchorTime(long anchorTime) {
+        if (anchorTimeMillis == 0) {
+            anchorTimeMillis = anchorTime * 1000;
+        }
+    }
     
     public TimerState getState() { return state; }
     public void setState(TimerState state) { this.state = state; }
@@ -137,8 +196,48 @@ public class Timer {
     public long getPausedDuration() { return pausedDuration; }
     public void setPausedDuration(long pausedDuration) { this.pausedDuration = pausedDuration; }
     
-    public synchronized void start() {
-        if (state == TimerState.STOPPED || state == TimerState.PAUSED) {
+    public long getAnchoredAt() { return anchoredAt; }
+    public void setAnchoredAt(long anchoredAt) { this.anchoredAt = anchoredAt; }
+    
+    public long getAnchorTimeMillis() { return anchorTimeMillis; }
+    public void setAnchorTimeMillis(long anchorTimeMillis) { this.anchorTimeMillis = anchorTimeMillis; }
+    
+    public long getScheduledStartMillis() { return scheduledStartMillis; }
+    public void setScheduledStartMillis(long scheduledStartMillis) { this.scheduledStartMillis = scheduledStartMillis; }
+    
+    @JsonIgnore
+    public boolean isAnchored() {
+        return state == TimerState.RUNNING && anchoredAt > 0;
+    }
+    
+    public long currentTimeAt(long nowMillis) {
+        return toSeconds(currentTimeMillisAt(nowMillis));
+    }
+    
+    public long currentTimeMillisAt(long nowMillis) {
+        if (!isAnchored()) {
+            return currentTimeMillis;
+        }
+        
+        long elapsed = Math.max(0, nowMillis - anchoredAt);
+        return Math.max(0, type == TimerType.COUNTDOWN ? anchorTimeMillis - elapsed : anchorTimeMillis + elapsed);
+    }
+    
+    // Countdowns round up so they only read 0 once they are done; stopwatches round down
+    private long toSeconds(long millis) {
+        return type == TimerType.COUNTDOWN ? (millis + 999) / 1000 : millis / 1000;
+    }
+    
+    /**
+     * Anchors a running timer at its current value so it advances from the clock from now on.
+     */
+    public void anchor() {
+        anchoredAt = TimerClock.currentTimeMillis();
+        anchorTimeMillis = currentTimeMillis;
+    }
+    
+    public void start() {
+        if (state == TimerState.STOPPED || state == TimerState.PAUSED || state == TimerState.SCHEDULED) {
             state = TimerState.RUNNING;
             startedAt = LocalDateTime.now();
             
@@ -146,73 +245,141 @@ public class Timer {
                 pausedDuration += java.time.Duration.between(pausedAt, LocalDateTime.now()).getSeconds();
                 pausedAt = null;
             }
+            anchor();
+            scheduledStartMillis = 0;
         }
     }
     
-    public synchronized void pause() {
+    /**
+     * Arms a stopped or paused timer to start at {@code startMillis} (TimerClock millis).
+     */
+    public void schedule(long startMillis) {
+        if (state == TimerState.STOPPED || state == TimerState.PAUSED || state == TimerState.SCHEDULED) {
+            state = TimerState.SCHEDULED;
+            scheduledStartMillis = startMillis;
+        }
+    }
+    
+    /**
+     * Starts a SCHEDULED timer, counting from the time it was armed for rather than from now.
+     */
+    public void startScheduled() {
+        if (state == TimerState.SCHEDULED) {
+            startAt(scheduledStartMillis);
+        }
+    }
+    
+    /**
+     * Starts the timer as if it had been started at {@code startMillis} (TimerClock millis), when
+     * that is in the past.
+     */
+    public void startAt(long startMillis) {
+        if (state == TimerState.RUNNING) {
+            return;
+        }
+        
+        start();
+        if (state == TimerState.RUNNING && startMillis > 0 && startMillis < anchoredAt) {
+            anchoredAt = startMillis;
+        }
+    }
+    
+    public void pause() {
         if (state == TimerState.RUNNING) {
+            currentTimeMillis = getCurrentTimeMillis();
+            anchoredAt = 0;
             state = TimerState.PAUSED;
             pausedAt = LocalDateTime.now();
         }
     }
     
-    public synchronized void stop() {
+    public void stop() {
         state = TimerState.STOPPED;
         startedAt = null;
         pausedAt = null;
         pausedDuration = 0;
-        currentTime = (type == TimerType.COUNTDOWN) ? duration : 0;
+        anchoredAt = 0;
+        anchorTimeMillis = 0;
+        scheduledStartMillis = 0;
+        currentTimeMillis = (type == TimerType.COUNTDOWN) ? durationMillis : 0;
+    }
+    
+    public void complete() {
+        currentTimeMillis = (type == TimerType.COUNTDOWN) ? 0 : getCurrentTimeMillis();
+        anchoredAt = 0;
+        state = TimerState.COMPLETED;
+        completedAt = LocalDateTime.now();
     }
     
-    public synchronized void reset() {
+    public void reset() {
         stop();
     }
     
-    public synchronized void reset(long newDuration) {
-        this.duration = newDuration;
+    public void reset(long newDuration) {
+        resetMillis(newDuration * 1000);
+    }
+    
+    public void resetMillis(long newDurationMillis) {
+        this.durationMillis = newDurationMillis;
         reset();
     }
     
-    public synchronized void adjustTime(long adjustment) {
-        if (type == TimerType.COUNTDOWN) {
-            currentTime = Math.max(0, currentTime + adjustment);
-        } else {
-            currentTime = Math.max(0, currentTime + adjustment);
-        }
+    public void adjustTime(long adjustment) {
+        adjustTimeMillis(adjustment * 1000);
     }
     
-    public synchronized void tick() {
-        if (state != TimerState.RUNNING) {
-            return;
-        }
-        
-        if (type == TimerType.COUNTDOWN) {
-            currentTime--;
-            if (currentTime <= 0) {
-                currentTime = 0;
-                state = TimerState.COMPLETED;
-                completedAt = LocalDateTime.now();
-            }
-        } else {
-            currentTime++;
+    public void adjustTimeMillis(long adjustment) {
+        long current = getCurrentTimeMillis();
+        if (isAnchored()) {
+            // Shift the anchor rather than re-anchoring so the time already elapsed isn't lost
+            anchorTimeMillis += Math.max(adjustment, -current);
         }
+        currentTimeMillis = Math.max(0, current + adjustment);
     }
     
     public boolean isInWarningState() {
+        long current = getCurrentTimeMillis();
         return type == TimerType.COUNTDOWN && 
-               currentTime <= settings.getWarningTime() && 
-               currentTime > settings.getCriticalTime();
+               current <= settings.getWarningTime() * 1000 && 
+               current > settings.getCriticalTime() * 1000;
     }
     
     public boolean isInCriticalState() {
+        long current = getCurrentTimeMillis();
         return type == TimerType.COUNTDOWN && 
-               currentTime <= settings.getCriticalTime() && 
-               currentTime > 0;
+               current <= settings.getCriticalTime() * 1000 && 
+               current > 0;
+    }
+    
+    /**
+     * The TimerClock millis at which this running countdown next enters its warning, critical or
+     * completed state, or -1 if it has none left.
+     */
+    public long nextDeadlineAt(long nowMillis) {
+        if (!isAnchored() || type != TimerType.COUNTDOWN) {
+            return -1;
+        }
+        
+        long remaining = currentTimeMillisAt(nowMillis);
+        long threshold = 0;
+        for (long candidate : new long[]{settings.getWarningTime() * 1000, settings.getCriticalTime() * 1000}) {
+            if (candidate < remaining && candidate > threshold) {
+                threshold = candidate;
+            }
+        }
+        return nowMillis + Math.max(0, remaining - threshold);
+    }
+    
+    /**
+     * The TimerClock millis at which this running countdown reaches zero, or -1 if it isn't one.
+     */
+    public long reachesZeroAt() {
+        return isAnchored() && type == TimerType.COUNTDOWN ? anchoredAt + anchorTimeMillis : -1;
     }
     
     public boolean isCompleted() {
         return state == TimerState.COMPLETED || 
-               (type == TimerType.COUNTDOWN && currentTime <= 0);
+               (type == TimerType.COUNTDOWN && getCurrentTimeMillis() <= 0);
     }
     
     public long getElapsedTime() {
@@ -231,6 +398,27 @@ public class Timer {
     }
     
     public long getRemainingTime() {
-        return (type == TimerType.COUNTDOWN) ? currentTime : duration - currentTime;
+        long current = getCurrentTime();
+        return (type == TimerType.COUNTDOWN) ? current : getDuration() - current;
+    }
+    
+    public Timer copy() {
+        Timer copy = new Timer();
+        copy.id = this.id;
+        copy.name = this.name;
+        copy.durationMillis = this.durationMillis;
+        copy.currentTimeMillis = this.currentTimeMillis;
+        copy.state = this.state;
+        copy.type = this.type;
+        copy.createdAt = this.createdAt;
+        copy.startedAt = this.startedAt;
+        copy.pausedAt = this.pausedAt;
+        copy.completedAt = this.completedAt;
+        copy.settings = this.settings != null ? this.settings.copy() : null;
+        copy.pausedDuration = this.pausedDuration;
+        copy.anchoredAt = this.anchoredAt;
+        copy.anchorTimeMillis = this.anchorTimeMillis;
+        copy.scheduledStartMillis = this.scheduledStartMillis;
+        return copy;
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.timerfy.model;
+
+/**
+ * Wall-clock milliseconds for timer anchors. Read once at startup and advanced by
+ * {@link System#nanoTime()} afterwards, so running timers don't jump when the system clock is
+ * stepped.
+ */
+public final class TimerClock {
+    
+    private static final long ORIGIN_MILLIS = System.currentTimeMillis();
+    private static final long ORIGIN_NANOS = System.nanoTime();
+    
+    private TimerClock() {}
+    
+    public static long currentTimeMillis() {
+        return ORIGIN_MILLIS + (System.nanoTime() - ORIGIN_NANOS) / 1_000_000;
+    }
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.timerfy.model;
 
 public enum TimerState {
     STOPPED,
+    SCHEDULED,
     RUNNING,
     PAUSED,
     COMPLETED,
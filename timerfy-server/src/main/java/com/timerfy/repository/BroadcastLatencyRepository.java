@@ -0,0 +1,25 @@
+package com.timerfy.repository;
+
+/**
+ * Broadcast latency samples that nodes publish for the rooms their clients are subscribed to, so a
+ * node picking a synchronized start accounts for displays connected to other nodes. Each node
+ * keeps one sample per room, which expires unless its clients sync again.
+ */
+public interface BroadcastLatencyRepository {
+    
+    /**
+     * Publishes the slowest one-way latency among {@code nodeId}'s sessions in the room, replacing
+     * the node's earlier sample.
+     */
+    void record(String roomId, String nodeId, long latencyMillis, long ttlMillis);
+    
+    /**
+     * Withdraws {@code nodeId}'s sample once none of its sessions in the room has one.
+     */
+    void withdraw(String roomId, String nodeId);
+    
+    /**
+     * The longest latency any node published for the room and hasn't let expire, or -1 if none.
+     */
+    long longest(String roomId);
+}
\ No newline at end of file
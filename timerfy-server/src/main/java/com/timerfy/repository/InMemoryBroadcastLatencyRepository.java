@@ -0,0 +1,26 @@
+package com.timerfy.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Latency samples for single-node deployments. Every client is connected to this node, which
+ * already sees all of their round trips, so there is nothing to share.
+ */
+@Repository
+@ConditionalOnProperty(name = "timerfy.storage.type", havingValue = "memory")
+public class InMemoryBroadcastLatencyRepository implements BroadcastLatencyRepository {
+    
+    @Override
+    public void record(String roomId, String nodeId, long latencyMillis, long ttlMillis) {
+    }
+    
+    @Override
+    public void withdraw(String roomId, String nodeId) {
+    }
+    
+    @Override
+    public long longest(String roomId) {
+        return -1;
+    }
+}
\ No newline at end of file
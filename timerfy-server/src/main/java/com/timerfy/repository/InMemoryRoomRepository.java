@@ -0,0 +1,146 @@
+package com.timerfy.repository;
+
+import com.timerfy.model.Room;
+import com.timerfy.model.Timer;
+import com.timerfy.service.TimerOperation;
+import com.timerfy.service.TimerTransitionResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps live room objects in the heap with no serialization. Writes to a room are serialized on
+ * one of a fixed set of lock stripes so unrelated rooms don't contend; reads hand out copies
+ * taken under the same lock, and updates swap in a copy of the changed room, so no caller ever
+ * holds the stored object.
+ */
+@Repository
+@ConditionalOnProperty(name = "timerfy.storage.type", havingValue = "memory")
+public class InMemoryRoomRepository implements RoomRepository {
+    
+    private static final int LOCK_STRIPES = 64;
+    
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    
+    public InMemoryRoomRepository() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+    
+    @Override
+    public Optional<Room> findById(String roomId) {
+        synchronized (lockFor(roomId)) {
+            Room room = rooms.get(roomId);
+            return room != null ? Optional.of(room.copy()) : Optional.empty();
+        }
+    }
+    
+    @Override
+    public Optional<Room> findLatest(String roomId) {
+        return findById(roomId);
+    }
+    
+    @Override
+    public boolean create(Room room) {
+        synchronized (lockFor(room.getId())) {
+            if (rooms.containsKey(room.getId())) {
+                return false;
+            }
+            room.setVersion(1);
+            rooms.put(room.getId(), room.copy());
+            return true;
+        }
+    }
+    
+    @Override
+    public boolean update(String roomId, Function<Room, RoomPatch> mutation) {
+        synchronized (lockFor(roomId)) {
+            Room room = rooms.get(roomId);
+            if (room == null) {
+                return false;
+            }
+            
+            // The mutation works on a copy so a throw or a null patch leaves the stored room as it was
+            Room changed = room.copy();
+            RoomPatch patch = mutation.apply(changed);
+            if (patch == null) {
+                return false;
+            }
+            
+            changed.setVersion(room.getVersion() + 1);
+            rooms.put(roomId, changed.copy());
+            return true;
+        }
+    }
+    
+    @Override
+    public TimerTransitionResult transitionTimer(String roomId, String timerId, TimerOperation operation, String operand) {
+        synchronized (lockFor(roomId)) {
+            Room room = rooms.get(roomId);
+            if (room == null || room.isExpired()) {
+                return TimerTransitionResult.roomNotFound();
+            }
+            
+            Timer timer = room.getTimer(timerId);
+            if (timer == null) {
+                return TimerTransitionResult.timerNotFound();
+            }
+            
+            if (!operation.applyTo(timer, operand)) {
+                return TimerTransitionResult.invalidState(timer.getState());
+            }
+            
+            room.setVersion(room.getVersion() + 1);
+            return TimerTransitionResult.applied(timer.copy());
+        }
+    }
+    
+    @Override
+    public void touch(String roomId, LocalDateTime activity) {
+        synchronized (lockFor(roomId)) {
+            Room room = rooms.get(roomId);
+            if (room != null) {
+                room.setLastActivity(activity);
+            }
+        }
+    }
+    
+    @Override
+    public boolean delete(String roomId) {
+        synchronized (lockFor(roomId)) {
+            return rooms.remove(roomId) != null;
+        }
+    }
+    
+    @Override
+    public long deleteExpired(LocalDateTime now) {
+        long deleted = 0;
+        for (String roomId : rooms.keySet()) {
+            synchronized (lockFor(roomId)) {
+                Room room = rooms.get(roomId);
+                if (room != null && room.isExpiredAt(now)) {
+                    rooms.remove(roomId);
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+    
+    @Override
+    public long countActive(LocalDateTime now) {
+        return rooms.values().stream()
+                .filter(room -> !room.isExpiredAt(now))
+                .count();
+    }
+    
+    private Object lockFor(String roomId) {
+        return locks[Math.floorMod(roomId.hashCode(), LOCK_STRIPES)];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.timerfy.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Scheduled starts for single-node deployments, kept alongside the rooms in this node's heap.
+ */
+@Repository
+@ConditionalOnProperty(name = "timerfy.storage.type", havingValue = "memory")
+public class InMemoryScheduledStartRepository implements ScheduledStartRepository {
+    
+    private final TreeSet<ScheduledStart> queue = new TreeSet<>(Comparator
+            .comparingLong(ScheduledStart::getStartAtMillis)
+            .thenComparing(ScheduledStart::getRoomId)
+            .thenComparing(ScheduledStart::getTimerId));
+    private final Map<String, ScheduledStart> byTimer = new HashMap<>();
+    
+    @Override
+    public synchronized void schedule(String roomId, String timerId, long startAtMillis) {
+        cancel(roomId, timerId);
+        ScheduledStart entry = new ScheduledStart(roomId, timerId, startAtMillis);
+        queue.add(entry);
+        byTimer.put(roomId + ":" + timerId, entry);
+    }
+    
+    @Override
+    public synchronized void cancel(String roomId, String timerId) {
+        ScheduledStart entry = byTimer.remove(roomId + ":" + timerId);
+        if (entry != null) {
+            queue.remove(entry);
+        }
+    }
+    
+    @Override
+    public synchronized void cancel(String roomId, Collection<String> timerIds) {
+        timerIds.forEach(timerId -> cancel(roomId, timerId));
+    }
+    
+    @Override
+    public synchronized List<ScheduledStart> claimDue(long nowMillis, int limit) {
+        List<ScheduledStart> due = new ArrayList<>();
+        while (due.size() < limit && !queue.isEmpty() && queue.first().getStartAtMillis() <= nowMillis) {
+            ScheduledStart entry = queue.pollFirst();
+            byTimer.remove(entry.getRoomId() + ":" + entry.getTimerId());
+            due.add(entry);
+        }
+        return due;
+    }
+    
+    @Override
+    public synchronized long nextStartAt() {
+        return queue.isEmpty() ? -1 : queue.first().getStartAtMillis();
+    }
+}
\ No newline at end of file
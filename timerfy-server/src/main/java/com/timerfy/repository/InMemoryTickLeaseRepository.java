@@ -0,0 +1,53 @@
+package com.timerfy.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Tick leases for single-node deployments. Rooms live in this node's heap, so leases never
+ * expire and there is nothing to take over.
+ */
+@Repository
+@ConditionalOnProperty(name = "timerfy.storage.type", havingValue = "memory")
+public class InMemoryTickLeaseRepository implements TickLeaseRepository {
+    
+    private final Map<String, String> leases = new ConcurrentHashMap<>();
+    
+    @Override
+    public boolean acquire(String roomId, String nodeId, long ttlMillis) {
+        return nodeId.equals(leases.computeIfAbsent(roomId, id -> nodeId));
+    }
+    
+    @Override
+    public Set<String> renew(Collection<String> roomIds, String nodeId, long ttlMillis) {
+        return roomIds.stream()
+                .filter(roomId -> !nodeId.equals(leases.get(roomId)))
+                .collect(Collectors.toSet());
+    }
+    
+    @Override
+    public void release(String roomId, String nodeId) {
+        leases.remove(roomId, nodeId);
+    }
+    
+    @Override
+    public void handOff(Collection<String> roomIds, String nodeId) {
+        roomIds.forEach(roomId -> leases.remove(roomId, nodeId));
+    }
+    
+    @Override
+    public List<String> claimUnleased(String nodeId, long ttlMillis, int limit) {
+        return List.of();
+    }
+    
+    @Override
+    public void claimAllUnleased(String nodeId, long ttlMillis, int batchSize, Consumer<List<String>> onClaimed) {
+    }
+}
\ No newline at end of file
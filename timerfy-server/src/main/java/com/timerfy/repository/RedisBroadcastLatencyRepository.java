@@ -0,0 +1,47 @@
+package com.timerfy.repository;
+
+import com.timerfy.model.TimerClock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+/**
+ * Latency samples stored in a {@code latency:room:<id>} hash per room, holding
+ * {@code latency:expiresAt} per node id. Expired samples are dropped as the hash is read, and the
+ * hash itself expires once no node has written to it for a TTL.
+ */
+@Repository
+@ConditionalOnProperty(name = "timerfy.storage.type", havingValue = "redis", matchIfMissing = true)
+public class RedisBroadcastLatencyRepository implements BroadcastLatencyRepository {
+    
+    static final String LATENCY_KEY_PREFIX = "latency:room:";
+    private static final RedisScript<Long> LATENCY_RECORD_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/latency-record.lua"), Long.class);
+    private static final RedisScript<Long> LATENCY_LONGEST_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/latency-longest.lua"), Long.class);
+    
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    
+    @Override
+    public void record(String roomId, String nodeId, long latencyMillis, long ttlMillis) {
+        redisTemplate.execute(LATENCY_RECORD_SCRIPT, List.of(LATENCY_KEY_PREFIX + roomId), nodeId,
+                String.valueOf(latencyMillis), String.valueOf(TimerClock.currentTimeMillis()), String.valueOf(ttlMillis));
+    }
+    
+    @Override
+    public void withdraw(String roomId, String nodeId) {
+        redisTemplate.opsForHash().delete(LATENCY_KEY_PREFIX + roomId, nodeId);
+    }
+    
+    @Override
+    public long longest(String roomId) {
+        Long longest = redisTemplate.execute(LATENCY_LONGEST_SCRIPT, List.of(LATENCY_KEY_PREFIX + roomId),
+                String.valueOf(TimerClock.currentTimeMillis()));
+        return longest != null ? longest : -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,357 @@
+package com.timerfy.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timerfy.config.JsonConfig;
+import com.timerfy.exception.RoomUpdateConflictException;
+import com.timerfy.model.Room;
+import com.timerfy.model.Timer;
+import com.timerfy.model.TimerClock;
+import com.timerfy.model.TimerState;
+import com.timerfy.service.TimerOperation;
+import com.timerfy.service.TimerTransitionResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+@Repository
+@ConditionalOnProperty(name = "timerfy.storage.type", havingValue = "redis", matchIfMissing = true)
+public class RedisRoomRepository implements RoomRepository {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RedisRoomRepository.class);
+    private static final String ROOM_KEY_PREFIX = "room:";
+    private static final String ROOM_STATS_KEY_PREFIX = "room:stats:";
+    private static final String ROOMS_EXPIRY_KEY = "rooms:expiry";
+    private static final String LEGACY_ROOMS_SET_KEY = "rooms:active";
+    private static final RedisScript<Long> ROOM_WRITE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/room-write.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TIMER_TRANSITION_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/timer-transition.lua"), List.class);
+    private static final RedisScript<Long> ROOM_TOUCH_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/room-touch.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROOM_SWEEP_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/room-sweep.lua"), List.class);
+    private static final RedisScript<Long> ROOM_DELETE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/room-delete.lua"), Long.class);
+    private static final long ANY_VERSION = -1;
+    private static final long NEW_ROOM = 0;
+    private static final String WRITE_CONFLICTS_METRIC = "timerfy.room.write.conflicts";
+    private static final String WRITE_EXHAUSTED_METRIC = "timerfy.room.write.exhausted";
+    
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    
+    @Autowired
+    private RedisTemplate<String, byte[]> roomRedisTemplate;
+    
+    @Autowired
+    private RoomCodec roomCodec;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private RoomHashMapper roomHashMapper;
+    
+    @Autowired
+    private RoomCache roomCache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${timerfy.room.expiration:86400}")
+    private long roomExpirationSeconds;
+    
+    @Value("${timerfy.room.max-write-attempts:5}")
+    private int maxWriteAttempts;
+    
+    @Value("${timerfy.cleanup.batch-size:500}")
+    private int cleanupBatchSize;
+    
+    @Override
+    public Optional<Room> findById(String roomId) {
+        Optional<Room> cached = roomCache.get(roomId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return findLatest(roomId);
+    }
+    
+    @Override
+    public Optional<Room> findLatest(String roomId) {
+        try {
+            Map<String, byte[]> roomHash = readRoomHash(ROOM_KEY_PREFIX + roomId);
+            if (!roomHash.containsKey(RoomHashMapper.META_FIELD)) {
+                return Optional.empty();
+            }
+            
+            Room room = roomHashMapper.fromHash(roomHash);
+            if (!room.isExpired()) {
+                roomCache.put(room);
+            }
+            return Optional.of(room);
+        } catch (IOException e) {
+            logger.error("Error deserializing room {}: {}", roomId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    @Override
+    public boolean create(Room room) {
+        long written = writeRoom(room, RoomPatch.replace(), NEW_ROOM);
+        if (written <= 0) {
+            return false;
+        }
+        
+        room.setVersion(written);
+        roomCache.put(room);
+        indexExpiry(room);
+        return true;
+    }
+    
+    /**
+     * Writes the patch only if nobody else wrote the room since it was read, re-reading and
+     * re-applying {@code mutation} on a version conflict.
+     */
+    @Override
+    public boolean update(String roomId, Function<Room, RoomPatch> mutation) {
+        for (int attempt = 1; attempt <= maxWriteAttempts; attempt++) {
+            Optional<Room> roomOpt = findById(roomId);
+            if (roomOpt.isEmpty()) {
+                return false;
+            }
+            
+            Room room = roomOpt.get();
+            RoomPatch patch = mutation.apply(room);
+            if (patch == null) {
+                return false;
+            }
+            
+            long written = writeRoom(room, patch, room.getVersion());
+            if (written > 0) {
+                room.setVersion(written);
+                roomCache.put(room);
+                return true;
+            }
+            if (written == 0) {
+                roomCache.invalidate(roomId);
+                return false;
+            }
+            
+            // The copy we started from may have come from a stale cache entry
+            roomCache.invalidate(roomId);
+            meterRegistry.counter(WRITE_CONFLICTS_METRIC).increment();
+            logger.debug("Version conflict writing room {} (attempt {}/{})", roomId, attempt, maxWriteAttempts);
+            backOff(attempt);
+        }
+        
+        meterRegistry.counter(WRITE_EXHAUSTED_METRIC).increment();
+        logger.warn("Gave up writing room {} after {} conflicting attempts", roomId, maxWriteAttempts);
+        throw new RoomUpdateConflictException(roomId, maxWriteAttempts);
+    }
+    
+    @Override
+    public TimerTransitionResult transitionTimer(String roomId, String timerId, TimerOperation operation, String operand) {
+        List<?> reply = executeTransition(roomId, timerId, operation, operand);
+        if ("LEGACY".equals(text(reply.get(0)))) {
+            findById(roomId);
+            reply = executeTransition(roomId, timerId, operation, operand);
+        }
+        
+        String status = text(reply.get(0));
+        switch (status) {
+            case "APPLIED":
+                try {
+                    Timer timer = roomCodec.decode((byte[]) reply.get(1), Timer.class);
+                    roomCache.putTimer(roomId, timer, Long.parseLong(text(reply.get(2))));
+                    return TimerTransitionResult.applied(timer);
+                } catch (IOException e) {
+                    logger.error("Error deserializing timer {} in room {}: {}", timerId, roomId, e.getMessage());
+                    throw new RuntimeException("Failed to read transitioned timer", e);
+                }
+            case "INVALID_STATE":
+                return TimerTransitionResult.invalidState(TimerState.valueOf(text(reply.get(1))));
+            case "TIMER_NOT_FOUND":
+                return TimerTransitionResult.timerNotFound();
+            default:
+                return TimerTransitionResult.roomNotFound();
+        }
+    }
+    
+    @Override
+    public void touch(String roomId, LocalDateTime activity) {
+        redisTemplate.execute(ROOM_TOUCH_SCRIPT, List.of(ROOM_KEY_PREFIX + roomId),
+                activity.format(JsonConfig.DATE_TIME_FORMATTER),
+                String.valueOf(roomExpirationSeconds));
+        roomCache.touch(roomId, activity);
+    }
+    
+    @Override
+    public boolean delete(String roomId) {
+        Long deleted = redisTemplate.execute(ROOM_DELETE_SCRIPT, List.of(
+                ROOM_KEY_PREFIX + roomId,
+                ROOM_STATS_KEY_PREFIX + roomId,
+                ROOMS_EXPIRY_KEY,
+                RedisTickLeaseRepository.LEASE_KEY_PREFIX + roomId,
+                RedisTickLeaseRepository.RUNNING_ROOMS_KEY,
+                RedisScheduledStartRepository.SCHEDULED_KEY,
+                RedisBroadcastLatencyRepository.LATENCY_KEY_PREFIX + roomId), roomId);
+        roomCache.invalidate(roomId);
+        
+        return deleted != null && deleted == 1;
+    }
+    
+    @Override
+    public long deleteExpired(LocalDateTime now) {
+        long deleted = 0;
+        long migrated;
+        long swept;
+        do {
+            List<?> reply = redisTemplate.execute(ROOM_SWEEP_SCRIPT,
+                    List.of(ROOMS_EXPIRY_KEY, LEGACY_ROOMS_SET_KEY, RedisTickLeaseRepository.RUNNING_ROOMS_KEY,
+                            RedisScheduledStartRepository.SCHEDULED_KEY),
+                    String.valueOf(toEpochSecond(now)),
+                    String.valueOf(cleanupBatchSize),
+                    String.valueOf(roomExpirationSeconds));
+            if (reply == null || reply.size() < 2) {
+                break;
+            }
+            migrated = ((Number) reply.get(0)).longValue();
+            swept = ((Number) reply.get(1)).longValue();
+            deleted += swept;
+        } while (migrated >= cleanupBatchSize || swept >= cleanupBatchSize);
+        
+        return deleted;
+    }
+    
+    @Override
+    public long countActive(LocalDateTime now) {
+        Long indexed = redisTemplate.opsForZSet().count(ROOMS_EXPIRY_KEY, toEpochSecond(now) + 1, Double.POSITIVE_INFINITY);
+        Long legacy = redisTemplate.opsForSet().size(LEGACY_ROOMS_SET_KEY);
+        return (indexed != null ? indexed : 0) + (legacy != null ? legacy : 0);
+    }
+    
+    private void indexExpiry(Room room) {
+        redisTemplate.opsForZSet().add(ROOMS_EXPIRY_KEY, room.getId(), toEpochSecond(room.getExpiresAt()));
+    }
+    
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+    
+    // Jittered so writers that collided once don't collide again in lockstep
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 2L << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RoomUpdateConflictException("Interrupted while retrying update of room");
+        }
+    }
+    
+    private boolean writeRoom(Room room, RoomPatch patch) {
+        long written = writeRoom(room, patch, ANY_VERSION);
+        if (written <= 0) {
+            return false;
+        }
+        
+        room.setVersion(written);
+        if (patch.isReplace()) {
+            roomCache.put(room);
+        } else {
+            roomCache.invalidate(room.getId());
+        }
+        return true;
+    }
+    
+    private long writeRoom(Room room, RoomPatch patch, long expectedVersion) {
+        try {
+            Map<String, byte[]> fields = roomHashMapper.encode(room, patch);
+            List<String> removedFields = roomHashMapper.removedFields(patch);
+            
+            List<byte[]> args = new ArrayList<>(4 + fields.size() * 2 + removedFields.size());
+            args.add(bytes(String.valueOf(roomExpirationSeconds)));
+            args.add(bytes(patch.isReplace() ? "1" : "0"));
+            args.add(bytes(String.valueOf(expectedVersion)));
+            args.add(bytes(String.valueOf(fields.size())));
+            fields.forEach((field, value) -> {
+                args.add(bytes(field));
+                args.add(value);
+            });
+            removedFields.forEach(field -> args.add(bytes(field)));
+            
+            Long written = roomRedisTemplate.execute(ROOM_WRITE_SCRIPT, List.of(ROOM_KEY_PREFIX + room.getId()), args.toArray());
+            return written != null ? written : 0;
+        } catch (IOException e) {
+            logger.error("Error serializing room {}: {}", room.getId(), e.getMessage());
+            throw new RuntimeException("Failed to save room", e);
+        }
+    }
+    
+    private List<?> executeTransition(String roomId, String timerId, TimerOperation operation, String operand) {
+        List<?> reply = roomRedisTemplate.execute(TIMER_TRANSITION_SCRIPT, List.of(ROOM_KEY_PREFIX + roomId),
+                bytes(timerId),
+                bytes(operation.scriptName()),
+                bytes(LocalDateTime.now().format(JsonConfig.DATE_TIME_FORMATTER)),
+                bytes(operand != null ? operand : ""),
+                bytes(String.valueOf(roomExpirationSeconds)),
+                bytes(String.valueOf(TimerClock.currentTimeMillis())));
+        return reply != null && !reply.isEmpty() ? reply : List.of("ROOM_NOT_FOUND");
+    }
+    
+    private Map<String, byte[]> readRoomHash(String roomKey) throws IOException {
+        HashOperations<String, String, byte[]> hashOperations = roomRedisTemplate.opsForHash();
+        try {
+            return hashOperations.entries(roomKey);
+        } catch (DataAccessException e) {
+            if (redisTemplate.type(roomKey) != DataType.STRING) {
+                throw e;
+            }
+            return migrateLegacyRoom(roomKey);
+        }
+    }
+    
+    // Rooms written before the hash layout are a single JSON string; convert them on first read
+    private Map<String, byte[]> migrateLegacyRoom(String roomKey) throws IOException {
+        String roomJson = redisTemplate.opsForValue().get(roomKey);
+        if (roomJson == null) {
+            return Map.of();
+        }
+        
+        Room room = objectMapper.readValue(roomJson, Room.class);
+        writeRoom(room, RoomPatch.replace());
+        
+        logger.info("Migrated room {} to hash storage", room.getId());
+        return roomHashMapper.toHash(room);
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    // Script replies carry status words and versions as bulk strings
+    private static String text(Object value) {
+        return value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.timerfy.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Scheduled starts stored in the {@code timers:scheduled} sorted set, with {@code roomId:timerId}
+ * members scored by their start time. Due entries are read and removed in one script so only one
+ * node fires each start.
+ */
+@Repository
+@ConditionalOnProperty(name = "timerfy.storage.type", havingValue = "redis", matchIfMissing = true)
+public class RedisScheduledStartRepository implements ScheduledStartRepository {
+    
+    static final String SCHEDULED_KEY = "timers:scheduled";
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/scheduled-claim.lua"), List.class);
+    
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    
+    @Override
+    public void schedule(String roomId, String timerId, long startAtMillis) {
+        redisTemplate.opsForZSet().add(SCHEDULED_KEY, member(roomId, timerId), startAtMillis);
+    }
+    
+    @Override
+    public void cancel(String roomId, String timerId) {
+        redisTemplate.opsForZSet().remove(SCHEDULED_KEY, member(roomId, timerId));
+    }
+    
+    @Override
+    public void cancel(String roomId, Collection<String> timerIds) {
+        if (timerIds.isEmpty()) {
+            return;
+        }
+        Object[] members = timerIds.stream().map(timerId -> member(roomId, timerId)).toArray();
+        redisTemplate.opsForZSet().remove(SCHEDULED_KEY, members);
+    }
+    
+    @Override
+    public List<ScheduledStart> claimDue(long nowMillis, int limit) {
+        List<?> claimed = redisTemplate.execute(CLAIM_SCRIPT, List.of(SCHEDULED_KEY),
+                String.valueOf(nowMillis), String.valueOf(limit));
+        List<ScheduledStart> due = new ArrayList<>();
+        if (claimed == null) {
+            return due;
+        }
+        
+        for (int i = 0; i + 1 < claimed.size(); i += 2) {
+            String member = claimed.get(i).toString();
+            int separator = member.indexOf(':');
+            due.add(new ScheduledStart(member.substring(0, separator), member.substring(separator + 1),
+                    (long) Double.parseDouble(claimed.get(i + 1).toString())));
+        }
+        return due;
+    }
+    
+    @Override
+    public long nextStartAt() {
+        Set<ZSetOperations.TypedTuple<String>> first = redisTemplate.opsForZSet().rangeWithScores(SCHEDULED_KEY, 0, 0);
+        if (first == null || first.isEmpty()) {
+            return -1;
+        }
+        Double score = first.iterator().next().getScore();
+        return score != null ? score.longValue() : -1;
+    }
+    
+    private String member(String roomId, String timerId) {
+        return roomId + ":" + timerId;
+    }
+}
\ No newline at end of file
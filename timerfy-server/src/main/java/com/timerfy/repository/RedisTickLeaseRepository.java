@@ -0,0 +1,121 @@
+package com.timerfy.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Tick leases stored as {@code lease:room:<id>} keys holding the owning node id with a TTL, plus
+ * the {@code rooms:running} set of rooms that have been leased and not released.
+ */
+@Repository
+@ConditionalOnProperty(name = "timerfy.storage.type", havingValue = "redis", matchIfMissing = true)
+public class RedisTickLeaseRepository implements TickLeaseRepository {
+    
+    static final String LEASE_KEY_PREFIX = "lease:room:";
+    static final String RUNNING_ROOMS_KEY = "rooms:running";
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final RedisScript<Long> LEASE_ACQUIRE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/lease-acquire.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LEASE_RENEW_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/lease-renew.lua"), List.class);
+    private static final RedisScript<Long> LEASE_RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/lease-release.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LEASE_HANDOFF_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/lease-handoff.lua"), List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LEASE_CLAIM_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/lease-claim.lua"), List.class);
+    
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    
+    @Override
+    public boolean acquire(String roomId, String nodeId, long ttlMillis) {
+        Long acquired = redisTemplate.execute(LEASE_ACQUIRE_SCRIPT, List.of(LEASE_KEY_PREFIX + roomId, RUNNING_ROOMS_KEY),
+                nodeId, String.valueOf(ttlMillis), roomId);
+        return acquired != null && acquired == 1;
+    }
+    
+    @Override
+    public Set<String> renew(Collection<String> roomIds, String nodeId, long ttlMillis) {
+        Set<String> lost = new HashSet<>();
+        forEachBatch(roomIds, batch -> lost.addAll(runOnLeases(LEASE_RENEW_SCRIPT, batch, nodeId, String.valueOf(ttlMillis))));
+        return lost;
+    }
+    
+    @Override
+    public void release(String roomId, String nodeId) {
+        redisTemplate.execute(LEASE_RELEASE_SCRIPT, List.of(LEASE_KEY_PREFIX + roomId, RUNNING_ROOMS_KEY), nodeId, roomId);
+    }
+    
+    @Override
+    public void handOff(Collection<String> roomIds, String nodeId) {
+        forEachBatch(roomIds, batch -> runOnLeases(LEASE_HANDOFF_SCRIPT, batch, nodeId));
+    }
+    
+    @Override
+    public List<String> claimUnleased(String nodeId, long ttlMillis, int limit) {
+        List<String> claimed = new ArrayList<>();
+        claim(nodeId, ttlMillis, SCAN_BATCH_SIZE, limit, claimed::addAll);
+        return claimed;
+    }
+    
+    @Override
+    public void claimAllUnleased(String nodeId, long ttlMillis, int batchSize, Consumer<List<String>> onClaimed) {
+        claim(nodeId, ttlMillis, batchSize, Integer.MAX_VALUE, onClaimed);
+    }
+    
+    // One SSCAN pass: the cursor carries SSCAN's cursor from page to page and ends once Redis hands
+    // back cursor 0, so each room is looked at once however many rooms other nodes take meanwhile
+    private void claim(String nodeId, long ttlMillis, int batchSize, int limit, Consumer<List<String>> onClaimed) {
+        int taken = 0;
+        List<String> batch = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().count(batchSize).build();
+        try (Cursor<String> cursor = redisTemplate.opsForSet().scan(RUNNING_ROOMS_KEY, options)) {
+            while (cursor.hasNext() && taken < limit) {
+                batch.add(cursor.next());
+                if (batch.size() >= Math.min(batchSize, limit - taken) || !cursor.hasNext()) {
+                    List<String> claimed = runOnLeases(LEASE_CLAIM_SCRIPT, batch, nodeId, String.valueOf(ttlMillis));
+                    batch.clear();
+                    taken += claimed.size();
+                    if (!claimed.isEmpty()) {
+                        onClaimed.accept(claimed);
+                    }
+                }
+            }
+        }
+    }
+    
+    private void forEachBatch(Collection<String> roomIds, Consumer<List<String>> action) {
+        List<String> rooms = new ArrayList<>(roomIds);
+        for (int from = 0; from < rooms.size(); from += SCAN_BATCH_SIZE) {
+            action.accept(rooms.subList(from, Math.min(from + SCAN_BATCH_SIZE, rooms.size())));
+        }
+    }
+    
+    // Runs a script over the lease keys of roomIds and maps the 1-based positions it returns back to room ids
+    @SuppressWarnings("rawtypes")
+    private List<String> runOnLeases(RedisScript<List> script, List<String> roomIds, String... args) {
+        List<?> reply = redisTemplate.execute(script, roomIds.stream().map(id -> LEASE_KEY_PREFIX + id).toList(), (Object[]) args);
+        if (reply == null) {
+            return List.of();
+        }
+        return reply.stream()
+                .map(position -> roomIds.get(((Number) position).intValue() - 1))
+                .toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.timerfy.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.timerfy.model.Room;
+import com.timerfy.model.Timer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Near cache of deserialized rooms. Entries are stored and handed out as copies so callers can
+ * mutate what they get back. Every room write publishes "roomId version" on
+ * {@link #INVALIDATION_CHANNEL}; entries older than the published version are dropped.
+ */
+@Component
+@ConditionalOnProperty(name = "timerfy.storage.type", havingValue = "redis", matchIfMissing = true)
+public class RoomCache implements MessageListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RoomCache.class);
+    public static final String INVALIDATION_CHANNEL = "rooms:invalidations";
+    private static final long UNKNOWN_VERSION = Long.MAX_VALUE;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${timerfy.room.cache.max-size:10000}")
+    private long maxSize;
+    
+    @Value("${timerfy.room.cache.ttl:60}")
+    private long ttlSeconds;
+    
+    private Cache<String, Room> rooms;
+    
+    // Newest version announced per room, so a slow reader cannot re-insert a copy that was
+    // already invalidated while it was in flight
+    private Cache<String, Long> announcedVersions;
+    
+    @PostConstruct
+    public void init() {
+        rooms = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        announcedVersions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rooms, "rooms");
+    }
+    
+    public Optional<Room> get(String roomId) {
+        Room room = rooms.getIfPresent(roomId);
+        return room != null ? Optional.of(room.copy()) : Optional.empty();
+    }
+    
+    public void put(Room room) {
+        Long announced = announcedVersions.getIfPresent(room.getId());
+        if (announced != null && room.getVersion() < announced) {
+            return;
+        }
+        
+        Room copy = room.copy();
+        rooms.asMap().merge(room.getId(), copy,
+                (cached, fresh) -> fresh.getVersion() >= cached.getVersion() ? fresh : cached);
+    }
+    
+    /**
+     * Swaps a single timer into the cached room when the cache holds the version the timer was
+     * written on top of; otherwise the entry is dropped.
+     */
+    public void putTimer(String roomId, Timer timer, long newVersion) {
+        rooms.asMap().computeIfPresent(roomId, (id, cached) -> {
+            if (cached.getVersion() != newVersion - 1) {
+                return null;
+            }
+            Room updated = cached.copy();
+            updated.getTimers().replaceAll(existing -> existing.getId().equals(timer.getId()) ? timer.copy() : existing);
+            updated.setVersion(newVersion);
+            return updated;
+        });
+    }
+    
+    public void touch(String roomId, LocalDateTime activity) {
+        rooms.asMap().computeIfPresent(roomId, (id, cached) -> {
+            if (cached.getLastActivity() != null && !activity.isAfter(cached.getLastActivity())) {
+                return cached;
+            }
+            Room updated = cached.copy();
+            updated.setLastActivity(activity);
+            return updated;
+        });
+    }
+    
+    public void invalidate(String roomId) {
+        invalidate(roomId, UNKNOWN_VERSION);
+    }
+    
+    private void invalidate(String roomId, long version) {
+        if (version != UNKNOWN_VERSION) {
+            announcedVersions.asMap().merge(roomId, version, Math::max);
+        }
+        rooms.asMap().computeIfPresent(roomId, (id, cached) -> cached.getVersion() >= version ? cached : null);
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.indexOf(' ');
+        
+        try {
+            if (separator < 0) {
+                invalidate(payload);
+            } else {
+                invalidate(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+            }
+            meterRegistry.counter("timerfy.room.cache.invalidations").increment();
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed room invalidation: {}", payload);
+        }
+    }
+    
+    public long size() {
+        return rooms.estimatedSize();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.timerfy.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes the values stored in room hash fields. Binary values start with a format byte so the
+ * encoding can evolve without a migration; values without one are the original JSON. Reads
+ * accept every known format and writes use {@code timerfy.storage.codec} ({@code msgpack} or
+ * {@code json}), so the format can be switched on a live cluster.
+ * <p>
+ * Values written through {@link #encodeCompressible} that exceed
+ * {@code timerfy.storage.compression-threshold} bytes are deflated behind their own format byte.
+ * Only fields the Lua scripts never read may be compressed.
+ */
+@Component
+public class RoomCodec {
+    
+    public static final String JSON = "json";
+    public static final String MSGPACK = "msgpack";
+    public static final byte MSGPACK_V1 = 0x01;
+    public static final byte DEFLATE_V1 = 0x02;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${timerfy.storage.codec:msgpack}")
+    private String codec;
+    
+    @Value("${timerfy.storage.compression-threshold:512}")
+    private int compressionThreshold;
+    
+    private ObjectMapper messagePackMapper;
+    private DistributionSummary compressionRatio;
+    private Timer compressTimer;
+    private Timer decompressTimer;
+    
+    @PostConstruct
+    public void init() {
+        if (!JSON.equals(codec) && !MSGPACK.equals(codec)) {
+            throw new IllegalStateException("Unknown room codec: " + codec);
+        }
+        // Shares the date formats and modules of the JSON mapper so Lua scripts see the same fields
+        messagePackMapper = objectMapper.copyWith(new MessagePackFactory());
+        
+        compressionRatio = DistributionSummary.builder("timerfy.room.compression.ratio")
+                .description("Compressed size as a fraction of the encoded size")
+                .register(meterRegistry);
+        compressTimer = Timer.builder("timerfy.room.compression.time")
+                .tag("operation", "compress")
+                .register(meterRegistry);
+        decompressTimer = Timer.builder("timerfy.room.compression.time")
+                .tag("operation", "decompress")
+                .register(meterRegistry);
+    }
+    
+    public byte[] encode(Object value) throws IOException {
+        if (JSON.equals(codec)) {
+            return objectMapper.writeValueAsBytes(value);
+        }
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(MSGPACK_V1);
+        messagePackMapper.writeValue(out, value);
+        return out.toByteArray();
+    }
+    
+    public byte[] encodeCompressible(Object value) throws IOException {
+        byte[] encoded = encode(value);
+        if (encoded.length <= compressionThreshold) {
+            return encoded;
+        }
+        
+        long start = System.nanoTime();
+        byte[] compressed = deflate(encoded);
+        compressTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        compressionRatio.record((double) compressed.length / encoded.length);
+        
+        // Incompressible values are cheaper to store as they are
+        return compressed.length < encoded.length ? compressed : encoded;
+    }
+    
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        if (data.length > 0 && data[0] == DEFLATE_V1) {
+            long start = System.nanoTime();
+            byte[] inflated = inflate(data);
+            decompressTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return decode(inflated, type);
+        }
+        if (data.length > 0 && data[0] == MSGPACK_V1) {
+            return messagePackMapper.readValue(data, 1, data.length - 1, type);
+        }
+        return objectMapper.readValue(data, type);
+    }
+    
+    private static byte[] deflate(byte[] data) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+            out.write(DEFLATE_V1);
+            try (DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater)) {
+                deflated.write(data);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static byte[] inflate(byte[] data) throws IOException {
+        Inflater inflater = new Inflater(true);
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(data, 1, data.length - 1), inflater)) {
+            return in.readAllBytes();
+        } finally {
+            inflater.end();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.timerfy.repository;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.timerfy.config.JsonConfig;
+import com.timerfy.model.Message;
+import com.timerfy.model.Room;
+import com.timerfy.model.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps a {@link Room} onto a Redis hash where every timer, message, the settings block and the
+ * stats block live in their own field, so a mutation only rewrites the field it touched. Field
+ * values are encoded by {@link RoomCodec}; the version and activity fields are plain text.
+ */
+@Component
+public class RoomHashMapper {
+    
+    public static final String META_FIELD = "meta";
+    public static final String SETTINGS_FIELD = "settings";
+    public static final String STATS_FIELD = "stats";
+    public static final String VERSION_FIELD = "version";
+    public static final String ACTIVITY_FIELD = "activity";
+    public static final String TIMER_FIELD_PREFIX = "timer:";
+    public static final String MESSAGE_FIELD_PREFIX = "message:";
+    
+    // Hash fields are unordered, so list order is rebuilt from creation timestamps
+    private static final Comparator<Timer> TIMER_ORDER = Comparator
+            .comparing(Timer::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(Timer::getId);
+    private static final Comparator<Message> MESSAGE_ORDER = Comparator
+            .comparing(Message::getTimestamp, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(Message::getId);
+    
+    @Autowired
+    private RoomCodec roomCodec;
+    
+    public static String timerField(String timerId) {
+        return TIMER_FIELD_PREFIX + timerId;
+    }
+    
+    public static String messageField(String messageId) {
+        return MESSAGE_FIELD_PREFIX + messageId;
+    }
+    
+    public Map<String, byte[]> toHash(Room room) throws IOException {
+        return encode(room, RoomPatch.replace());
+    }
+    
+    public Map<String, byte[]> encode(Room room, RoomPatch patch) throws IOException {
+        Map<String, byte[]> fields = new LinkedHashMap<>();
+        
+        if (patch.isReplace() || patch.includesMeta()) {
+            fields.put(META_FIELD, roomCodec.encode(RoomMeta.of(room)));
+        }
+        if (patch.isReplace() || patch.includesSettings()) {
+            fields.put(SETTINGS_FIELD, roomCodec.encodeCompressible(room.getSettings()));
+        }
+        if (patch.isReplace() || patch.includesStats()) {
+            fields.put(STATS_FIELD, roomCodec.encodeCompressible(room.getStats()));
+        }
+        
+        // Meta and timers stay uncompressed because the Lua scripts decode them
+        List<Timer> timers = patch.isReplace() ? room.getTimers() : patch.getTimers();
+        for (Timer timer : timers) {
+            fields.put(timerField(timer.getId()), roomCodec.encode(timer));
+        }
+        
+        List<Message> messages = patch.isReplace() ? room.getMessages() : patch.getMessages();
+        for (Message message : messages) {
+            fields.put(messageField(message.getId()), roomCodec.encodeCompressible(message));
+        }
+        
+        return fields;
+    }
+    
+    public List<String> removedFields(RoomPatch patch) {
+        List<String> fields = new ArrayList<>();
+        patch.getRemovedTimers().forEach(timerId -> fields.add(timerField(timerId)));
+        patch.getRemovedMessages().forEach(messageId -> fields.add(messageField(messageId)));
+        return fields;
+    }
+    
+    public Room fromHash(Map<String, byte[]> hash) throws IOException {
+        RoomMeta meta = roomCodec.decode(hash.get(META_FIELD), RoomMeta.class);
+        
+        Room room = new Room();
+        room.setId(meta.getId());
+        room.setCreated(meta.getCreated());
+        room.setLastActivity(meta.getLastActivity());
+        room.setExpiresAt(meta.getExpiresAt());
+        if (meta.getSequence() != null) {
+            room.setSequence(meta.getSequence());
+        }
+        
+        // Touches record activity outside the meta field so they don't rewrite the room
+        byte[] activity = hash.get(ACTIVITY_FIELD);
+        if (activity != null) {
+            LocalDateTime touched = LocalDateTime.parse(new String(activity, StandardCharsets.UTF_8), JsonConfig.DATE_TIME_FORMATTER);
+            if (room.getLastActivity() == null || touched.isAfter(room.getLastActivity())) {
+                room.setLastActivity(touched);
+            }
+        }
+        
+        byte[] version = hash.get(VERSION_FIELD);
+        if (version != null) {
+            room.setVersion(Long.parseLong(new String(version, StandardCharsets.UTF_8)));
+        }
+        
+        byte[] settings = hash.get(SETTINGS_FIELD);
+        if (settings != null) {
+            room.setSettings(roomCodec.decode(settings, Room.RoomSettings.class));
+        }
+        
+        byte[] stats = hash.get(STATS_FIELD);
+        if (stats != null) {
+            room.setStats(roomCodec.decode(stats, Room.RoomStats.class));
+        }
+        
+        List<Timer> timers = new ArrayList<>();
+        List<Message> messages = new ArrayList<>();
+        for (Map.Entry<String, byte[]> entry : hash.entrySet()) {
+            if (entry.getKey().startsWith(TIMER_FIELD_PREFIX)) {
+                timers.add(roomCodec.decode(entry.getValue(), Timer.class));
+            } else if (entry.getKey().startsWith(MESSAGE_FIELD_PREFIX)) {
+                messages.add(roomCodec.decode(entry.getValue(), Message.class));
+            }
+        }
+        timers.sort(TIMER_ORDER);
+        messages.sort(MESSAGE_ORDER);
+        room.setTimers(timers);
+        room.setMessages(messages);
+        
+        return room;
+    }
+    
+    public static class RoomMeta {
+        private String id;
+        
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+        private LocalDateTime created;
+        
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+        private LocalDateTime lastActivity;
+        
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+        private LocalDateTime expiresAt;
+        
+        private List<String> sequence;
+        
+        public RoomMeta() {}
+        
+        static RoomMeta of(Room room) {
+            RoomMeta meta = new RoomMeta();
+            meta.id = room.getId();
+            meta.created = room.getCreated();
+            meta.lastActivity = room.getLastActivity();
+            meta.expiresAt = room.getExpiresAt();
+            meta.sequence = room.getSequence();
+            return meta;
+        }
+        
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+        
+        public LocalDateTime getCreated() { return created; }
+        public void setCreated(LocalDateTime created) { this.created = created; }
+        
+        public LocalDateTime getLastActivity() { return lastActivity; }
+        public void setLastActivity(LocalDateTime lastActivity) { this.lastActivity = lastActivity; }
+        
+        public LocalDateTime getExpiresAt() { return expiresAt; }
+        public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+        
+        public List<String> getSequence() { return sequence; }
+        public void setSequence(List<String> sequence) { this.sequence = sequence; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.timerfy.repository;
+
+import com.timerfy.model.Message;
+import com.timerfy.model.Timer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Describes which parts of a room changed so that only those hash fields are rewritten.
+ */
+public class RoomPatch {
+    
+    private final boolean replace;
+    private boolean meta;
+    private boolean settings;
+    private boolean stats;
+    private final List<Timer> timers = new ArrayList<>();
+    private final List<Message> messages = new ArrayList<>();
+    private final Set<String> removedTimers = new LinkedHashSet<>();
+    private final Set<String> removedMessages = new LinkedHashSet<>();
+    
+    private RoomPatch(boolean replace) {
+        this.replace = replace;
+    }
+    
+    public static RoomPatch replace() {
+        return new RoomPatch(true);
+    }
+    
+    public static RoomPatch fields() {
+        return new RoomPatch(false);
+    }
+    
+    public RoomPatch meta() {
+        this.meta = true;
+        return this;
+    }
+    
+    public RoomPatch settings() {
+        this.settings = true;
+        return this;
+    }
+    
+    public RoomPatch stats() {
+        this.stats = true;
+        return this;
+    }
+    
+    public RoomPatch timer(Timer timer) {
+        timers.add(timer);
+        return this;
+    }
+    
+    public RoomPatch message(Message message) {
+        messages.add(message);
+        return this;
+    }
+    
+    public RoomPatch removeTimer(String timerId) {
+        removedTimers.add(timerId);
+        return this;
+    }
+    
+    public RoomPatch removeMessage(String messageId) {
+        removedMessages.add(messageId);
+        return this;
+    }
+    
+    /**
+     * Adds {@code other}'s changes to this patch so consecutive changes to one room can be written
+     * together. A timer or message written and removed within them is only removed.
+     */
+    public RoomPatch merge(RoomPatch other) {
+        if (replace || other.replace) {
+            return replace ? this : other;
+        }
+        
+        meta |= other.meta;
+        settings |= other.settings;
+        stats |= other.stats;
+        for (Timer timer : other.timers) {
+            timers.removeIf(written -> written.getId().equals(timer.getId()));
+            timers.add(timer);
+        }
+        for (Message message : other.messages) {
+            messages.removeIf(written -> written.getId().equals(message.getId()));
+            messages.add(message);
+        }
+        removedTimers.addAll(other.removedTimers);
+        removedMessages.addAll(other.removedMessages);
+        timers.removeIf(timer -> removedTimers.contains(timer.getId()));
+        messages.removeIf(message -> removedMessages.contains(message.getId()));
+        return this;
+    }
+    
+    public boolean isReplace() { return replace; }
+    public boolean includesMeta() { return meta; }
+    public boolean includesSettings() { return settings; }
+    public boolean includesStats() { return stats; }
+    public List<Timer> getTimers() { return timers; }
+    public List<Message> getMessages() { return messages; }
+    public Set<String> getRemovedTimers() { return removedTimers; }
+    public Set<String> getRemovedMessages() { return removedMessages; }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.timerfy.repository;
+
+import com.timerfy.model.Room;
+import com.timerfy.service.TimerOperation;
+import com.timerfy.service.TimerTransitionResult;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Storage for rooms. The backend is chosen with {@code timerfy.storage.type}: {@code redis}
+ * (default) or {@code memory} for single-node deployments that don't need rooms to survive a
+ * restart. Rooms handed out are copies the caller may freely change.
+ */
+public interface RoomRepository {
+    
+    Optional<Room> findById(String roomId);
+    
+    /**
+     * Reads the room from the store itself, skipping any near cache, for checks that must not act
+     * on a copy that has not seen another node's latest write yet.
+     */
+    Optional<Room> findLatest(String roomId);
+    
+    /**
+     * Stores a new room only if no room holds its id yet, checking and claiming the id
+     * atomically. Returns false when the id is taken.
+     */
+    boolean create(Room room);
+    
+    /**
+     * Applies {@code mutation} to the latest stored room and persists the fields it reports as
+     * changed. {@code mutation} gets a copy the caller may keep, may run more than once and
+     * returns null to leave the room untouched. Returns false when the room doesn't exist or
+     * nothing was written.
+     */
+    boolean update(String roomId, Function<Room, RoomPatch> mutation);
+    
+    /**
+     * Checks the timer state and applies a control operation atomically. {@code operand} is the
+     * custom start time for start, the new duration in milliseconds for reset and the milliseconds
+     * to add for adjust.
+     */
+    TimerTransitionResult transitionTimer(String roomId, String timerId, TimerOperation operation, String operand);
+    
+    /**
+     * Records activity in the room without rewriting it or bumping its version, and keeps the
+     * room from being evicted by the store while it is in use.
+     */
+    void touch(String roomId, LocalDateTime activity);
+    
+    boolean delete(String roomId);
+    
+    /**
+     * Deletes every room that expired at or before {@code now}, working through the expiry index
+     * in bounded batches, and returns how many were deleted.
+     */
+    long deleteExpired(LocalDateTime now);
+    
+    /**
+     * Counts rooms that have not expired yet.
+     */
+    long countActive(LocalDateTime now);
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.timerfy.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Timers armed to start at a set time, ordered by that time and shared by all nodes. Waiting
+ * entries cost nothing but their storage; each one is claimed by exactly one node when it is due.
+ */
+public interface ScheduledStartRepository {
+    
+    /**
+     * Arms the timer to start at {@code startAtMillis} (TimerClock millis), replacing any earlier
+     * schedule for it.
+     */
+    void schedule(String roomId, String timerId, long startAtMillis);
+    
+    void cancel(String roomId, String timerId);
+    
+    /**
+     * Cancels the schedules of several timers of one room at once.
+     */
+    void cancel(String roomId, Collection<String> timerIds);
+    
+    /**
+     * Removes and returns up to {@code limit} entries due at or before {@code nowMillis}, earliest
+     * first.
+     */
+    List<ScheduledStart> claimDue(long nowMillis, int limit);
+    
+    /**
+     * The start time of the earliest entry, or -1 if nothing is scheduled.
+     */
+    long nextStartAt();
+    
+    final class ScheduledStart {
+        
+        private final String roomId;
+        private final String timerId;
+        private final long startAtMillis;
+        
+        public ScheduledStart(String roomId, String timerId, long startAtMillis) {
+            this.roomId = roomId;
+            this.timerId = timerId;
+            this.startAtMillis = startAtMillis;
+        }
+        
+        public String getRoomId() { return roomId; }
+        
+        public String getTimerId() { return timerId; }
+        
+        public long getStartAtMillis() { return startAtMillis; }
+    }
+}
\ No newline at end of file
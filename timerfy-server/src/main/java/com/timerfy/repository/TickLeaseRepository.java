@@ -0,0 +1,51 @@
+package com.timerfy.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Leases that decide which node ticks a room, so a room with running timers is driven by exactly
+ * one node. Leases expire unless renewed; rooms with a lease are also kept in a running index so
+ * other nodes can find and take over rooms whose node went away or restarted.
+ */
+public interface TickLeaseRepository {
+    
+    /**
+     * Takes the lease on {@code roomId} for {@code nodeId}, or extends it when the node already
+     * holds it. The room is recorded as running either way, so it stays visible to adoption when
+     * the holder lets go of it. Returns false when another node holds it.
+     */
+    boolean acquire(String roomId, String nodeId, long ttlMillis);
+    
+    /**
+     * Extends the leases {@code nodeId} holds on {@code roomIds} and returns the rooms it no longer
+     * holds.
+     */
+    Set<String> renew(Collection<String> roomIds, String nodeId, long ttlMillis);
+    
+    /**
+     * Gives up the lease if {@code nodeId} holds it and drops the room from the running index.
+     */
+    void release(String roomId, String nodeId);
+    
+    /**
+     * Releases the leases {@code nodeId} holds on {@code roomIds} but keeps the rooms in the
+     * running index, so another node can take them over without waiting for the leases to expire.
+     */
+    void handOff(Collection<String> roomIds, String nodeId);
+    
+    /**
+     * Takes the lease for {@code nodeId} on up to {@code limit} rooms in the running index that no
+     * node holds, working through the index in batches, and returns the rooms taken.
+     */
+    List<String> claimUnleased(String nodeId, long ttlMillis, int limit);
+    
+    /**
+     * Takes the lease for {@code nodeId} on every room in the running index that no node holds,
+     * in a single pass over the index, handing each batch of up to {@code batchSize} rooms taken to
+     * {@code onClaimed} as it goes.
+     */
+    void claimAllUnleased(String nodeId, long ttlMillis, int batchSize, Consumer<List<String>> onClaimed);
+}
\ No newline at end of file
@@ -1,26 +1,91 @@
 package com.timerfy.service;
 
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Generates room ids and lengthens them by one character whenever the share of generated ids
+ * that were already taken passes {@code timerfy.room.id.collision-threshold}, so creating a room
+ * stays a single attempt as the id space fills up.
+ */
 @Component
 public class RoomIdGenerator {
     
+    private static final Logger logger = LoggerFactory.getLogger(RoomIdGenerator.class);
+    
     private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private static final int ID_LENGTH = 6;
+    private static final int MIN_ID_LENGTH = 6;
+    private static final int MAX_ID_LENGTH = 12;
     private static final SecureRandom random = new SecureRandom();
     
+    @Value("${timerfy.room.id.length:6}")
+    private int initialLength = MIN_ID_LENGTH;
+    
+    @Value("${timerfy.room.id.collision-threshold:0.01}")
+    private double collisionThreshold = 0.01;
+    
+    @Value("${timerfy.room.id.sample-size:1000}")
+    private int sampleSize = 1000;
+    
+    private final AtomicInteger idLength = new AtomicInteger(MIN_ID_LENGTH);
+    private int sampledAttempts;
+    private int sampledCollisions;
+    
+    @PostConstruct
+    public void init() {
+        if (initialLength < MIN_ID_LENGTH || initialLength > MAX_ID_LENGTH) {
+            throw new IllegalStateException("timerfy.room.id.length must be between "
+                    + MIN_ID_LENGTH + " and " + MAX_ID_LENGTH + ": " + initialLength);
+        }
+        idLength.set(initialLength);
+    }
+    
     public String generateRoomId() {
-        StringBuilder sb = new StringBuilder(ID_LENGTH);
-        for (int i = 0; i < ID_LENGTH; i++) {
+        int length = idLength.get();
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
             sb.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
         }
         return sb.toString();
     }
     
+    /**
+     * Records whether a generated id turned out to be taken. Once {@code sample-size} attempts
+     * have been recorded the collision rate is checked and the sample starts over.
+     */
+    public synchronized void recordAttempt(boolean collided) {
+        sampledAttempts++;
+        if (collided) {
+            sampledCollisions++;
+        }
+        if (sampledAttempts < sampleSize) {
+            return;
+        }
+        
+        double collisionRate = (double) sampledCollisions / sampledAttempts;
+        sampledAttempts = 0;
+        sampledCollisions = 0;
+        
+        int length = idLength.get();
+        if (collisionRate > collisionThreshold && length < MAX_ID_LENGTH) {
+            idLength.set(length + 1);
+            logger.info("Room id collision rate {} exceeded {}, growing room ids to {} characters",
+                    collisionRate, collisionThreshold, length + 1);
+        }
+    }
+    
+    public int getIdLength() {
+        return idLength.get();
+    }
+    
     public boolean isValidRoomId(String roomId) {
-        if (roomId == null || roomId.length() != ID_LENGTH) {
+        if (roomId == null || roomId.length() < MIN_ID_LENGTH || roomId.length() > MAX_ID_LENGTH) {
             return false;
         }
         
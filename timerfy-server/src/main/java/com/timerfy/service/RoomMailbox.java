@@ -0,0 +1,271 @@
+package com.timerfy.service;
+
+import com.timerfy.model.Room;
+import com.timerfy.repository.RoomPatch;
+import com.timerfy.repository.RoomRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Funnels every write to a room made on this node through a per-room mailbox. A room's commands
+ * run one at a time in the order they were submitted, on whichever mailbox thread picks the room
+ * up, while other rooms proceed in parallel. Updates queued back to back are applied to a single
+ * read of the room and written together. A busy room hands its thread back after
+ * {@code timerfy.mailbox.max-batch-size} commands so it can't starve the others.
+ * Queued commands are reported as {@code timerfy.mailbox.depth} and the time from submitting a
+ * command until it completed as {@code timerfy.mailbox.command.latency}.
+ */
+@Component
+public class RoomMailbox {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RoomMailbox.class);
+    
+    @Autowired
+    private RoomRepository roomRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${timerfy.mailbox.threads:0}")
+    private int threadCount;
+    
+    @Value("${timerfy.mailbox.max-batch-size:64}")
+    private int maxBatchSize = 64;
+    
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    // The room whose mailbox this thread is draining; commands it submits to that room run inline
+    private final ThreadLocal<String> drainingRoom = new ThreadLocal<>();
+    
+    private ThreadPoolExecutor executor;
+    private Timer commandLatency;
+    private DistributionSummary batchSize;
+    
+    @PostConstruct
+    public void start() {
+        int threads = threadCount > 0 ? threadCount : 2 * Runtime.getRuntime().availableProcessors();
+        AtomicInteger index = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "room-mailbox-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        meterRegistry.gauge("timerfy.mailbox.depth", depth);
+        commandLatency = Timer.builder("timerfy.mailbox.command.latency")
+                .description("Time from submitting a room command until it completed")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        batchSize = DistributionSummary.builder("timerfy.mailbox.batch.size")
+                .description("Room updates applied and written together")
+                .register(meterRegistry);
+        logger.info("Started room mailboxes with {} threads", threads);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+    
+    /**
+     * Queues {@code mutation} behind the room's earlier commands and waits for it. Behaves like
+     * {@link RoomRepository#update}, except that mutations queued together share one read of the
+     * room and one write; {@code mutation} may still run more than once.
+     */
+    public boolean update(String roomId, Function<Room, RoomPatch> mutation) {
+        return (Boolean) submit(roomId, new Command(mutation, null));
+    }
+    
+    /**
+     * Runs {@code action} after the room's earlier commands and before its later ones, and waits
+     * for its result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T call(String roomId, Supplier<T> action) {
+        return (T) submit(roomId, new Command(null, action));
+    }
+    
+    public int getDepth() {
+        return depth.get();
+    }
+    
+    private Object submit(String roomId, Command command) {
+        if (roomId.equals(drainingRoom.get())) {
+            // This thread already is the room's writer; queueing would wait on itself
+            return command.mutation != null ? roomRepository.update(roomId, command.mutation) : command.action.get();
+        }
+        
+        depth.incrementAndGet();
+        mailboxes.compute(roomId, (id, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new Mailbox(id);
+            }
+            mailbox.queue.add(command);
+            if (!mailbox.scheduled) {
+                mailbox.scheduled = true;
+                executor.execute(mailbox);
+            }
+            return mailbox;
+        });
+        
+        try {
+            return command.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    private void applyUpdates(String roomId, List<Command> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        
+        boolean written;
+        try {
+            written = roomRepository.update(roomId, room -> {
+                RoomPatch merged = null;
+                for (Command command : updates) {
+                    command.applied = false;
+                    command.failure = null;
+                    // A command that fails or changes nothing mustn't leave half its changes for the others to write
+                    Room snapshot = room.copy();
+                    try {
+                        RoomPatch patch = command.mutation.apply(room);
+                        if (patch != null) {
+                            command.applied = true;
+                            merged = merged == null ? patch : merged.merge(patch);
+                        } else {
+                            room.restore(snapshot);
+                        }
+                    } catch (RuntimeException e) {
+                        room.restore(snapshot);
+                        command.failure = e;
+                    }
+                }
+                return merged;
+            });
+        } catch (RuntimeException e) {
+            updates.forEach(command -> command.fail(e));
+            return;
+        }
+        
+        batchSize.record(updates.size());
+        for (Command command : updates) {
+            if (command.failure != null) {
+                command.fail(command.failure);
+            } else {
+                command.complete(written && command.applied);
+            }
+        }
+    }
+    
+    private void runCall(Command command) {
+        try {
+            command.complete(command.action.get());
+        } catch (RuntimeException e) {
+            command.fail(e);
+        }
+    }
+    
+    private final class Mailbox implements Runnable {
+        
+        private final String roomId;
+        private final Queue<Command> queue = new ConcurrentLinkedQueue<>();
+        // Only read and written inside the room's mailboxes entry
+        private boolean scheduled;
+        
+        Mailbox(String roomId) {
+            this.roomId = roomId;
+        }
+        
+        @Override
+        public void run() {
+            drainingRoom.set(roomId);
+            try {
+                drain();
+            } finally {
+                drainingRoom.remove();
+            }
+            
+            // Go to the back of the line if more arrived, so one busy room can't hold a thread
+            mailboxes.compute(roomId, (id, mailbox) -> {
+                if (queue.isEmpty()) {
+                    return null;
+                }
+                executor.execute(this);
+                return this;
+            });
+        }
+        
+        // Calls run on their own, so updates queued before one are written before it runs
+        private void drain() {
+            List<Command> updates = new ArrayList<>();
+            Command command;
+            for (int drained = 0; drained < maxBatchSize && (command = queue.poll()) != null; drained++) {
+                depth.decrementAndGet();
+                if (command.mutation != null) {
+                    updates.add(command);
+                    continue;
+                }
+                applyUpdates(roomId, updates);
+                updates.clear();
+                runCall(command);
+            }
+            applyUpdates(roomId, updates);
+        }
+    }
+    
+    private final class Command {
+        
+        private final Function<Room, RoomPatch> mutation;
+        private final Supplier<?> action;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final long submittedNanos = System.nanoTime();
+        // Outcome of the mutation in the latest attempt at writing its batch
+        private boolean applied;
+        private RuntimeException failure;
+        
+        Command(Function<Room, RoomPatch> mutation, Supplier<?> action) {
+            this.mutation = mutation;
+            this.action = action;
+        }
+        
+        void complete(Object value) {
+            commandLatency.record(System.nanoTime() - submittedNanos, TimeUnit.NANOSECONDS);
+            result.complete(value);
+        }
+        
+        void fail(RuntimeException e) {
+            commandLatency.record(System.nanoTime() - submittedNanos, TimeUnit.NANOSECONDS);
+            result.completeExceptionally(e);
+        }
+    }
+}
\ No newline at end of file
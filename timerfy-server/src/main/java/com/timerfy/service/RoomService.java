@@ -1,41 +1,45 @@
 package com.timerfy.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timerfy.exception.TimerNotFoundException;
 import com.timerfy.model.Room;
 import com.timerfy.model.Timer;
+import com.timerfy.model.TimerClock;
+import com.timerfy.model.TimerState;
 import com.timerfy.model.Message;
-import jakarta.validation.Valid;
+import com.timerfy.repository.RoomPatch;
+import com.timerfy.repository.RoomRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 @Service
 @Validated
 public class RoomService {
     
     private static final Logger logger = LoggerFactory.getLogger(RoomService.class);
-    private static final String ROOM_KEY_PREFIX = "room:";
-    private static final String ROOM_STATS_KEY_PREFIX = "room:stats:";
-    private static final String ROOMS_SET_KEY = "rooms:active";
     
     @Autowired
-    private RedisTemplate<String, String> redisTemplate;
+    private RoomRepository roomRepository;
     
     @Autowired
-    private ObjectMapper objectMapper;
+    private RoomIdGenerator roomIdGenerator;
     
     @Autowired
-    private RoomIdGenerator roomIdGenerator;
+    private RoomMailbox roomMailbox;
     
     @Value("${timerfy.room.expiration:86400}")
     private long roomExpirationSeconds;
@@ -47,17 +51,22 @@ public class RoomService {
     private int maxUsersPerRoom;
     
     public Room createRoom() {
-        String roomId = generateUniqueRoomId();
-        Room room = new Room(roomId);
-        
-        room.getSettings().setMaxTimers(maxTimersPerRoom);
-        room.setExpiresAt(LocalDateTime.now().plusSeconds(roomExpirationSeconds));
+        final int maxAttempts = 10;
         
-        saveRoom(room);
-        addToActiveRooms(roomId);
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            Room room = new Room(roomIdGenerator.generateRoomId());
+            room.getSettings().setMaxTimers(maxTimersPerRoom);
+            room.setExpiresAt(LocalDateTime.now().plusSeconds(roomExpirationSeconds));
+            
+            boolean created = roomRepository.create(room);
+            roomIdGenerator.recordAttempt(!created);
+            if (created) {
+                logger.info("Created new room: {}", room.getId());
+                return room;
+            }
+        }
         
-        logger.info("Created new room: {}", roomId);
-        return room;
+        throw new RuntimeException("Failed to generate unique room ID after " + maxAttempts + " attempts");
     }
     
     public Optional<Room> getRoomById(String roomId) {
@@ -65,68 +74,46 @@ public class RoomService {
             return Optional.empty();
         }
         
-        try {
-            String roomJson = redisTemplate.opsForValue().get(ROOM_KEY_PREFIX + roomId);
-            if (roomJson == null) {
-                return Optional.empty();
-            }
-            
-            Room room = objectMapper.readValue(roomJson, Room.class);
-            
-            if (room.isExpired()) {
-                deleteRoom(roomId);
-                return Optional.empty();
-            }
-            
-            return Optional.of(room);
-        } catch (JsonProcessingException e) {
-            logger.error("Error deserializing room {}: {}", roomId, e.getMessage());
+        Optional<Room> roomOpt = roomRepository.findById(roomId);
+        if (roomOpt.isPresent() && roomOpt.get().isExpired()) {
+            deleteRoom(roomId);
             return Optional.empty();
         }
+        return roomOpt;
     }
     
-    public boolean roomExists(String roomId) {
-        return getRoomById(roomId).isPresent();
+    /**
+     * Reads the room past the near cache, which may not have seen another node's latest write yet.
+     */
+    public Optional<Room> getLatestRoom(String roomId) {
+        if (!roomIdGenerator.isValidRoomId(roomId)) {
+            return Optional.empty();
+        }
+        return roomRepository.findLatest(roomId).filter(room -> !room.isExpired());
     }
     
-    public void saveRoom(@Valid Room room) {
-        try {
-            String roomJson = objectMapper.writeValueAsString(room);
-            String roomKey = ROOM_KEY_PREFIX + room.getId();
-            
-            redisTemplate.opsForValue().set(roomKey, roomJson, roomExpirationSeconds, TimeUnit.SECONDS);
-            
-            room.updateLastActivity();
-            logger.debug("Saved room: {}", room.getId());
-        } catch (JsonProcessingException e) {
-            logger.error("Error serializing room {}: {}", room.getId(), e.getMessage());
-            throw new RuntimeException("Failed to save room", e);
-        }
+    public boolean roomExists(String roomId) {
+        return getRoomById(roomId).isPresent();
     }
     
-    public boolean updateRoom(String roomId, Room updatedRoom) {
-        Optional<Room> existingRoom = getRoomById(roomId);
-        if (existingRoom.isEmpty()) {
-            return false;
-        }
-        
-        updatedRoom.setId(roomId);
-        updatedRoom.updateLastActivity();
-        saveRoom(updatedRoom);
-        
-        logger.info("Updated room: {}", roomId);
-        return true;
+    /**
+     * Applies {@code change} to the latest stored settings and writes back only the settings, so
+     * timer changes made in the meantime are kept. Returns the room as written, or empty when it is
+     * gone.
+     */
+    public Optional<Room> updateSettings(String roomId, Consumer<Room.RoomSettings> change) {
+        Room[] written = new Room[1];
+        boolean updated = mutateRoom(roomId, room -> {
+            change.accept(room.getSettings());
+            written[0] = room;
+            return RoomPatch.fields().settings();
+        });
+        
+        return updated ? Optional.of(written[0].copy()) : Optional.empty();
     }
     
     public boolean deleteRoom(String roomId) {
-        String roomKey = ROOM_KEY_PREFIX + roomId;
-        String statsKey = ROOM_STATS_KEY_PREFIX + roomId;
-        
-        Boolean deleted = redisTemplate.delete(roomKey);
-        redisTemplate.delete(statsKey);
-        removeFromActiveRooms(roomId);
-        
-        if (Boolean.TRUE.equals(deleted)) {
+        if (roomMailbox.call(roomId, () -> roomRepository.delete(roomId))) {
             logger.info("Deleted room: {}", roomId);
             return true;
         }
@@ -135,18 +122,15 @@ public class RoomService {
     }
     
     public boolean addTimerToRoom(String roomId, Timer timer) {
-        Optional<Room> roomOpt = getRoomById(roomId);
-        if (roomOpt.isEmpty()) {
-            return false;
-        }
-        
-        Room room = roomOpt.get();
-        
         try {
-            room.addTimer(timer);
-            saveRoom(room);
-            logger.info("Added timer {} to room {}", timer.getId(), roomId);
-            return true;
+            boolean added = mutateRoom(roomId, room -> {
+                room.addTimer(timer);
+                return RoomPatch.fields().timer(timer).meta();
+            });
+            if (added) {
+                logger.info("Added timer {} to room {}", timer.getId(), roomId);
+            }
+            return added;
         } catch (IllegalStateException e) {
             logger.warn("Failed to add timer to room {}: {}", roomId, e.getMessage());
             return false;
@@ -154,17 +138,15 @@ public class RoomService {
     }
     
     public boolean removeTimerFromRoom(String roomId, String timerId) {
-        Optional<Room> roomOpt = getRoomById(roomId);
-        if (roomOpt.isEmpty()) {
-            return false;
-        }
-        
-        Room room = roomOpt.get();
-        room.removeTimer(timerId);
-        saveRoom(room);
+        boolean removed = mutateRoom(roomId, room -> {
+            room.removeTimer(timerId);
+            return RoomPatch.fields().removeTimer(timerId).meta();
+        });
         
-        logger.info("Removed timer {} from room {}", timerId, roomId);
-        return true;
+        if (removed) {
+            logger.info("Removed timer {} from room {}", timerId, roomId);
+        }
+        return removed;
     }
     
     public Optional<Timer> getTimerFromRoom(String roomId, String timerId) {
@@ -177,52 +159,207 @@ public class RoomService {
     }
     
     public boolean updateTimerInRoom(String roomId, Timer updatedTimer) {
-        Optional<Room> roomOpt = getRoomById(roomId);
-        if (roomOpt.isEmpty()) {
-            return false;
+        boolean updated = mutateRoom(roomId, room -> {
+            if (room.getTimer(updatedTimer.getId()) == null) {
+                return null;
+            }
+            room.getTimers().replaceAll(timer -> timer.getId().equals(updatedTimer.getId()) ? updatedTimer : timer);
+            return RoomPatch.fields().timer(updatedTimer);
+        });
+        
+        if (updated) {
+            logger.info("Updated timer {} in room {}", updatedTimer.getId(), roomId);
         }
+        return updated;
+    }
+    
+    /**
+     * Applies {@code change} to the latest stored copy of a timer and writes it back, re-reading
+     * and re-applying on a version conflict. {@code change} may run more than once and returns
+     * false to leave the timer untouched.
+     */
+    public Optional<Timer> modifyTimerInRoom(String roomId, String timerId, Predicate<Timer> change) {
+        Timer[] modified = new Timer[1];
+        boolean updated = mutateRoom(roomId, room -> {
+            Timer timer = room.getTimer(timerId);
+            if (timer == null || !change.test(timer)) {
+                return null;
+            }
+            modified[0] = timer;
+            return RoomPatch.fields().timer(timer);
+        });
         
-        Room room = roomOpt.get();
-        Timer existingTimer = room.getTimer(updatedTimer.getId());
+        return updated ? Optional.of(modified[0].copy()) : Optional.empty();
+    }
+    
+    /**
+     * Writes the running timers among {@code timerIds} back in a single update, anchoring any that
+     * were started before anchors existed, and returns the room as written. Returns empty when
+     * none of them is running.
+     */
+    public Optional<Room> persistRunningTimers(String roomId, Collection<String> timerIds) {
+        Room[] written = new Room[1];
+        boolean updated = mutateRoom(roomId, room -> {
+            RoomPatch patch = RoomPatch.fields();
+            boolean changed = false;
+            for (String timerId : timerIds) {
+                Timer timer = room.getTimer(timerId);
+                if (timer == null || timer.getState() != TimerState.RUNNING) {
+                    continue;
+                }
+                if (!timer.isAnchored()) {
+                    timer.anchor();
+                }
+                patch.timer(timer);
+                changed = true;
+            }
+            written[0] = room;
+            return changed ? patch : null;
+        });
         
-        if (existingTimer == null) {
-            return false;
+        return updated ? Optional.of(written[0].copy()) : Optional.empty();
+    }
+    
+    /**
+     * Replaces the room's sequence with {@code timerIds}, which must be distinct timers of the
+     * room. Returns the room as written, or empty when it is gone.
+     */
+    public Optional<Room> updateSequence(String roomId, List<String> timerIds) {
+        if (new HashSet<>(timerIds).size() != timerIds.size()) {
+            throw new IllegalArgumentException("A timer can only appear once in a sequence");
         }
         
-        room.removeTimer(updatedTimer.getId());
-        room.addTimer(updatedTimer);
-        saveRoom(room);
+        Room[] written = new Room[1];
+        boolean updated = mutateRoom(roomId, room -> {
+            for (String timerId : timerIds) {
+                if (room.getTimer(timerId) == null) {
+                    throw new TimerNotFoundException(roomId, timerId);
+                }
+            }
+            room.setSequence(new ArrayList<>(timerIds));
+            room.updateLastActivity();
+            written[0] = room;
+            return RoomPatch.fields().meta();
+        });
         
-        logger.info("Updated timer {} in room {}", updatedTimer.getId(), roomId);
-        return true;
+        return updated ? Optional.of(written[0].copy()) : Optional.empty();
     }
     
-    public boolean addMessageToRoom(String roomId, Message message) {
-        Optional<Room> roomOpt = getRoomById(roomId);
-        if (roomOpt.isEmpty()) {
-            return false;
-        }
+    /**
+     * Completes {@code timerId} and starts {@code nextTimerId} in the same write, the next timer
+     * counting from the instant the first reached zero so no time is lost between them. Returns
+     * the timers as written, the next one only if it was stopped or paused, or an empty list when
+     * {@code timerId} isn't a running timer that has reached zero.
+     */
+    public List<Timer> advanceSequence(String roomId, String timerId, String nextTimerId) {
+        List<Timer> written = new ArrayList<>();
+        boolean updated = mutateRoom(roomId, room -> {
+            written.clear();
+            Timer timer = room.getTimer(timerId);
+            if (timer == null || timer.getState() != TimerState.RUNNING || !timer.isCompleted()) {
+                return null;
+            }
+            
+            long reachedZeroAt = timer.reachesZeroAt();
+            timer.complete();
+            written.add(timer);
+            RoomPatch patch = RoomPatch.fields().timer(timer);
+            
+            Timer next = room.getTimer(nextTimerId);
+            if (next != null && (next.getState() == TimerState.STOPPED || next.getState() == TimerState.PAUSED)) {
+                next.startAt(reachedZeroAt);
+                written.add(next);
+                patch.timer(next);
+            }
+            return patch;
+        });
         
-        Room room = roomOpt.get();
-        room.addMessage(message);
-        saveRoom(room);
+        return updated ? written.stream().map(Timer::copy).toList() : List.of();
+    }
+    
+    /**
+     * Runs a control operation against the stored timer, checking the timer state and applying the
+     * change atomically, and returns the updated timer.
+     */
+    public TimerTransitionResult transitionTimer(String roomId, String timerId, TimerOperation operation, String operand) {
+        if (!roomIdGenerator.isValidRoomId(roomId)) {
+            return TimerTransitionResult.roomNotFound();
+        }
         
-        logger.info("Added message {} to room {}", message.getId(), roomId);
-        return true;
+        return roomMailbox.call(roomId, () -> roomRepository.transitionTimer(roomId, timerId, operation, operand));
     }
     
-    public boolean removeMessageFromRoom(String roomId, String messageId) {
-        Optional<Room> roomOpt = getRoomById(roomId);
-        if (roomOpt.isEmpty()) {
-            return false;
+    /**
+     * Applies {@code operation} to {@code timerIds}, or to every timer of the room when null or
+     * empty, in a single write. Timers whose state doesn't allow the operation are left as they
+     * are, and timers started together share one anchor. Returns the timers the operation changed
+     * as written, or empty when the room is gone.
+     */
+    public Optional<List<Timer>> controlTimers(String roomId, TimerOperation operation, List<String> timerIds, String operand) {
+        boolean[] found = {false};
+        List<Timer> written = new ArrayList<>();
+        boolean updated = mutateRoom(roomId, room -> {
+            found[0] = true;
+            written.clear();
+            List<Timer> timers = new ArrayList<>();
+            if (timerIds == null || timerIds.isEmpty()) {
+                timers.addAll(room.getTimers());
+            } else {
+                for (String timerId : new LinkedHashSet<>(timerIds)) {
+                    Timer timer = room.getTimer(timerId);
+                    if (timer == null) {
+                        throw new TimerNotFoundException(roomId, timerId);
+                    }
+                    timers.add(timer);
+                }
+            }
+            
+            long nowMillis = TimerClock.currentTimeMillis();
+            RoomPatch patch = RoomPatch.fields();
+            for (Timer timer : timers) {
+                if (operation == TimerOperation.STOP && timer.getState() == TimerState.STOPPED) {
+                    continue;
+                }
+                if (!operation.applyTo(timer, operand)) {
+                    continue;
+                }
+                if (operation == TimerOperation.START) {
+                    timer.setAnchoredAt(nowMillis);
+                }
+                written.add(timer);
+                patch.timer(timer);
+            }
+            return written.isEmpty() ? null : patch;
+        });
+        
+        if (!found[0]) {
+            return Optional.empty();
         }
+        return Optional.of(updated ? written.stream().map(Timer::copy).toList() : List.of());
+    }
+    
+    public boolean addMessageToRoom(String roomId, Message message) {
+        boolean added = mutateRoom(roomId, room -> {
+            room.addMessage(message);
+            return RoomPatch.fields().message(message).meta();
+        });
         
-        Room room = roomOpt.get();
-        room.removeMessage(messageId);
-        saveRoom(room);
+        if (added) {
+            logger.info("Added message {} to room {}", message.getId(), roomId);
+        }
+        return added;
+    }
+    
+    public boolean removeMessageFromRoom(String roomId, String messageId) {
+        boolean removed = mutateRoom(roomId, room -> {
+            room.removeMessage(messageId);
+            return RoomPatch.fields().removeMessage(messageId).meta();
+        });
         
-        logger.info("Removed message {} from room {}", messageId, roomId);
-        return true;
+        if (removed) {
+            logger.info("Removed message {} from room {}", messageId, roomId);
+        }
+        return removed;
     }
     
     public Optional<Message> getMessageFromRoom(String roomId, String messageId) {
@@ -235,103 +372,86 @@ public class RoomService {
     }
     
     public boolean updateMessageInRoom(String roomId, Message updatedMessage) {
-        Optional<Room> roomOpt = getRoomById(roomId);
-        if (roomOpt.isEmpty()) {
-            return false;
-        }
-        
-        Room room = roomOpt.get();
-        Message existingMessage = room.getMessage(updatedMessage.getId());
+        boolean updated = mutateRoom(roomId, room -> {
+            if (room.getMessage(updatedMessage.getId()) == null) {
+                return null;
+            }
+            room.getMessages().replaceAll(message -> message.getId().equals(updatedMessage.getId()) ? updatedMessage : message);
+            return RoomPatch.fields().message(updatedMessage);
+        });
         
-        if (existingMessage == null) {
-            return false;
+        if (updated) {
+            logger.info("Updated message {} in room {}", updatedMessage.getId(), roomId);
         }
+        return updated;
+    }
+    
+    /**
+     * Hides the room's visible messages whose display time is up, writing back only those
+     * messages. Returns the messages it hid.
+     */
+    public List<Message> hideExpiredMessages(String roomId) {
+        List<Message> hidden = new ArrayList<>();
+        boolean updated = mutateRoom(roomId, room -> {
+            hidden.clear();
+            RoomPatch patch = RoomPatch.fields();
+            for (Message message : room.getMessages()) {
+                if (message.getVisible() && message.shouldAutoHide()) {
+                    message.hide();
+                    hidden.add(message);
+                    patch.message(message);
+                }
+            }
+            return hidden.isEmpty() ? null : patch;
+        });
         
-        room.removeMessage(updatedMessage.getId());
-        room.addMessage(updatedMessage);
-        saveRoom(room);
-        
-        logger.info("Updated message {} in room {}", updatedMessage.getId(), roomId);
-        return true;
+        return updated ? hidden.stream().map(Message::copy).toList() : List.of();
     }
     
     public void updateRoomStats(String roomId, int connectedUsers, int controllers, int viewers) {
-        Optional<Room> roomOpt = getRoomById(roomId);
-        if (roomOpt.isEmpty()) {
-            return;
+        boolean updated = mutateRoom(roomId, room -> {
+            Room.RoomStats stats = room.getStats();
+            stats.setConnectedUsers(connectedUsers);
+            stats.setTotalControllers(controllers);
+            stats.setTotalViewers(viewers);
+            return RoomPatch.fields().stats();
+        });
+        
+        if (updated) {
+            logger.debug("Updated stats for room {}: users={}, controllers={}, viewers={}", 
+                        roomId, connectedUsers, controllers, viewers);
         }
-        
-        Room room = roomOpt.get();
-        Room.RoomStats stats = room.getStats();
-        stats.setConnectedUsers(connectedUsers);
-        stats.setTotalControllers(controllers);
-        stats.setTotalViewers(viewers);
-        
-        saveRoom(room);
-        
-        logger.debug("Updated stats for room {}: users={}, controllers={}, viewers={}", 
-                    roomId, connectedUsers, controllers, viewers);
     }
     
     public void touchRoom(String roomId) {
-        Optional<Room> roomOpt = getRoomById(roomId);
-        if (roomOpt.isPresent()) {
-            Room room = roomOpt.get();
-            room.updateLastActivity();
-            saveRoom(room);
+        if (roomIdGenerator.isValidRoomId(roomId)) {
+            roomRepository.touch(roomId, LocalDateTime.now());
         }
     }
     
     @Scheduled(fixedRate = 3600000) // Every hour
     public void cleanupExpiredRooms() {
-        Set<String> activeRooms = redisTemplate.opsForSet().members(ROOMS_SET_KEY);
-        
-        if (activeRooms == null || activeRooms.isEmpty()) {
-            return;
-        }
-        
-        int cleanedCount = 0;
-        for (String roomId : activeRooms) {
-            Optional<Room> roomOpt = getRoomById(roomId);
-            if (roomOpt.isEmpty()) {
-                removeFromActiveRooms(roomId);
-                cleanedCount++;
-            }
-        }
+        long cleanedCount = roomRepository.deleteExpired(LocalDateTime.now());
         
         if (cleanedCount > 0) {
             logger.info("Cleaned up {} expired rooms", cleanedCount);
         }
     }
     
-    private String generateUniqueRoomId() {
-        String roomId;
-        int attempts = 0;
-        final int maxAttempts = 10;
-        
-        do {
-            roomId = roomIdGenerator.generateRoomId();
-            attempts++;
-        } while (roomExists(roomId) && attempts < maxAttempts);
-        
-        if (attempts >= maxAttempts) {
-            throw new RuntimeException("Failed to generate unique room ID after " + maxAttempts + " attempts");
+    /**
+     * Lets {@code mutation} change the latest stored room and describe the change, queued behind
+     * the room's other writes on this node. Returns false when the room is gone or expired, or the
+     * mutation returns null.
+     */
+    private boolean mutateRoom(String roomId, Function<Room, RoomPatch> mutation) {
+        if (!roomIdGenerator.isValidRoomId(roomId)) {
+            return false;
         }
-        
-        return roomId;
-    }
-    
-    private void addToActiveRooms(String roomId) {
-        redisTemplate.opsForSet().add(ROOMS_SET_KEY, roomId);
-    }
-    
-    private void removeFromActiveRooms(String roomId) {
-        redisTemplate.opsForSet().remove(ROOMS_SET_KEY, roomId);
+        return roomMailbox.update(roomId, room -> room.isExpired() ? null : mutation.apply(room));
     }
     
     public long getActiveRoomsCount() {
-        Long count = redisTemplate.opsForSet().size(ROOMS_SET_KEY);
-        return count != null ? count : 0;
+        return roomRepository.countActive(LocalDateTime.now());
     }
     
     public boolean isRoomAtCapacity(String roomId) {
@@ -0,0 +1,82 @@
+package com.timerfy.service;
+
+import com.timerfy.config.JsonConfig;
+import com.timerfy.model.Timer;
+import com.timerfy.model.TimerState;
+
+import java.time.LocalDateTime;
+
+public enum TimerOperation {
+    START,
+    START_SCHEDULED,
+    SCHEDULE,
+    PAUSE,
+    STOP,
+    RESET,
+    ADJUST,
+    COMPLETE;
+    
+    public String scriptName() {
+        return name().toLowerCase();
+    }
+    
+    /**
+     * Applies the operation to {@code timer} if its state allows it, checking the same states as
+     * timer-transition.lua. Returns false and leaves the timer untouched otherwise.
+     */
+    public boolean applyTo(Timer timer, String operand) {
+        TimerState state = timer.getState();
+        switch (this) {
+            case START:
+            case START_SCHEDULED:
+                boolean startable = this == START_SCHEDULED
+                        ? state == TimerState.SCHEDULED
+                        : state == TimerState.STOPPED || state == TimerState.PAUSED || state == TimerState.SCHEDULED;
+                if (!startable) {
+                    return false;
+                }
+                if (this == START_SCHEDULED) {
+                    timer.startScheduled();
+                } else {
+                    timer.start();
+                }
+                if (operand != null) {
+                    timer.setStartedAt(LocalDateTime.parse(operand, JsonConfig.DATE_TIME_FORMATTER));
+                }
+                return true;
+            case SCHEDULE:
+                if (state != TimerState.STOPPED && state != TimerState.PAUSED && state != TimerState.SCHEDULED) {
+                    return false;
+                }
+                timer.schedule(Long.parseLong(operand));
+                return true;
+            case PAUSE:
+                if (state != TimerState.RUNNING) {
+                    return false;
+                }
+                timer.pause();
+                return true;
+            case STOP:
+                timer.stop();
+                return true;
+            case RESET:
+                if (operand != null) {
+                    timer.resetMillis(Long.parseLong(operand));
+                } else {
+                    timer.reset();
+                }
+                return true;
+            case ADJUST:
+                timer.adjustTimeMillis(Long.parseLong(operand));
+                return true;
+            case COMPLETE:
+                if (state != TimerState.RUNNING) {
+                    return false;
+                }
+                timer.complete();
+                return true;
+            default:
+                return false;
+        }
+    }
+}
\ No newline at end of file
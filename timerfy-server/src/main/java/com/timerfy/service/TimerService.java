@@ -1,44 +1,135 @@
 package com.timerfy.service;
 
+import com.timerfy.config.JsonConfig;
+import com.timerfy.model.Room;
 import com.timerfy.model.Timer;
+import com.timerfy.model.TimerClock;
 import com.timerfy.model.TimerState;
 import com.timerfy.model.TimerType;
+import com.timerfy.repository.ScheduledStartRepository;
+import com.timerfy.repository.ScheduledStartRepository.ScheduledStart;
+import com.timerfy.repository.TickLeaseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 @Service
 public class TimerService {
     
     private static final Logger logger = LoggerFactory.getLogger(TimerService.class);
+    private static final int DEFAULT_TICK_RATE = 1;
+    private static final String SCHEDULED_START_SHARD = "scheduled-starts";
+    private static final long MAX_SHED_FACTOR = 5;
+    // Operations that can be applied to several timers at once, and the event each timer gets
+    private static final Map<TimerOperation, String> BULK_EVENT_TYPES = Map.of(
+            TimerOperation.START, "TIMER_STARTED",
+            TimerOperation.PAUSE, "TIMER_PAUSED",
+            TimerOperation.STOP, "TIMER_STOPPED",
+            TimerOperation.RESET, "TIMER_RESET",
+            TimerOperation.ADJUST, "TIMER_ADJUSTED");
     
-    private final Map<String, ScheduledFuture<?>> runningTimers = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(10);
+    // Running timers are ticked per room: one task per room covers all of its running timers, and
+    // the wheel pins it to the shard for the room id. Warning, critical and completion transitions
+    // run at their exact deadlines in between. Only the node holding a room's tick lease ticks it.
+    private final Map<String, RoomTicker> tickingRooms = new ConcurrentHashMap<>();
+    private final Map<String, String> tickingTimerRooms = new ConcurrentHashMap<>();
     
     @Autowired
     private RoomService roomService;
     
+    @Autowired
+    private TimingWheel timingWheel;
+    
+    @Autowired
+    private TickLeaseRepository tickLeaseRepository;
+    
+    @Autowired
+    private ScheduledStartRepository scheduledStartRepository;
+    
     @Autowired
     private ApplicationEventPublisher eventPublisher;
     
-    public Timer createTimer(String roomId, String name, long duration, TimerType type) {
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${timerfy.timer.persist-ticks:false}")
+    private boolean persistTicks;
+    
+    @Value("${timerfy.ticker.align-to-clock:true}")
+    private boolean alignTicks = true;
+    
+    @Value("${timerfy.ticker.resync-ms:5000}")
+    private long resyncMillis = 5000;
+    
+    @Value("${timerfy.ticker.shed-lag-ms:50}")
+    private long shedLagMillis = 50;
+    
+    @Value("${timerfy.ticker.shed-interval-ms:1000}")
+    private long shedIntervalMillis = 1000;
+    
+    @Value("${timerfy.ticker.idle-after-ms:30000}")
+    private long idleAfterMillis = 30000;
+    
+    @Value("${timerfy.sync-start.margin-ms:100}")
+    private long syncStartMarginMillis = 100;
+    
+    @Value("${timerfy.sync-start.min-lead-ms:250}")
+    private long syncStartMinLeadMillis = 250;
+    
+    @Value("${timerfy.sync-start.max-lead-ms:3000}")
+    private long syncStartMaxLeadMillis = 3000;
+    
+    @Value("${timerfy.sync-start.default-lead-ms:1000}")
+    private long syncStartDefaultLeadMillis = 1000;
+    
+    @Value("${timerfy.lease.ttl-ms:15000}")
+    private long leaseTtlMillis = 15000;
+    
+    @Value("${timerfy.lease.adopt-batch-size:100}")
+    private int adoptBatchSize = 100;
+    
+    @Value("${timerfy.lease.recovery-batch-size:1000}")
+    private int recoveryBatchSize = 1000;
+    
+    @Value("${timerfy.scheduler.batch-size:100}")
+    private int scheduledStartBatchSize = 100;
+    
+    // Identifies this node's tick leases; a restarted node starts out owning nothing
+    private final String nodeId = UUID.randomUUID().toString();
+    
+    // One-shot wakeup at the earliest scheduled start this node knows of, guarded by itself
+    private final Wakeup scheduledStartWakeup = new Wakeup();
+    
+    public Timer createTimer(String roomId, String name, long durationMillis, TimerType type) {
         if (!roomService.canAddTimer(roomId)) {
             throw new IllegalStateException("Cannot add more timers to room " + roomId);
         }
         
-        Timer timer = new Timer(name, duration, type);
+        Timer timer = new Timer(name, 0, type);
+        timer.setDurationMillis(durationMillis);
+        timer.setCurrentTimeMillis(type == TimerType.COUNTDOWN ? durationMillis : 0);
         
         if (roomService.addTimerToRoom(roomId, timer)) {
             logger.info("Created timer {} in room {}", timer.getId(), roomId);
@@ -49,165 +140,215 @@ public class TimerService {
         throw new RuntimeException("Failed to create timer in room " + roomId);
     }
     
-    public boolean updateTimer(String roomId, String timerId, String name, Long duration, Timer.TimerSettings settings) {
+    public boolean updateTimer(String roomId, String timerId, String name, Long durationMillis, Timer.TimerSettings settings) {
         Optional<Timer> timerOpt = roomService.getTimerFromRoom(roomId, timerId);
         
         if (timerOpt.isEmpty()) {
             return false;
         }
         
-        Timer timer = timerOpt.get();
+        boolean wasRunning = timerOpt.get().getState() == TimerState.RUNNING;
         
-        synchronized (timer) {
-            boolean wasRunning = timer.getState() == TimerState.RUNNING;
-            
-            if (wasRunning) {
-                pauseTimer(roomId, timerId);
-            }
-            
+        if (wasRunning) {
+            pauseTimer(roomId, timerId);
+        }
+        
+        Optional<Timer> updatedOpt = roomService.modifyTimerInRoom(roomId, timerId, timer -> {
             if (name != null) {
                 timer.setName(name);
             }
             
-            if (duration != null) {
-                timer.setDuration(duration);
+            if (durationMillis != null) {
+                timer.setDurationMillis(durationMillis);
                 if (timer.getState() == TimerState.STOPPED) {
-                    timer.setCurrentTime(timer.getType() == TimerType.COUNTDOWN ? duration : 0);
+                    timer.setCurrentTimeMillis(timer.getType() == TimerType.COUNTDOWN ? durationMillis : 0);
                 }
             }
             
             if (settings != null) {
                 timer.setSettings(settings);
             }
-            
-            roomService.updateTimerInRoom(roomId, timer);
-            
-            if (wasRunning) {
-                startTimer(roomId, timerId, null);
-            }
-            
-            logger.info("Updated timer {} in room {}", timerId, roomId);
-            publishTimerEvent(roomId, timer, "TIMER_UPDATED");
             return true;
+        });
+        
+        if (wasRunning) {
+            startTimer(roomId, timerId, null);
         }
-    }
-    
-    public boolean startTimer(String roomId, String timerId, LocalDateTime startTime) {
-        Optional<Timer> timerOpt = roomService.getTimerFromRoom(roomId, timerId);
         
-        if (timerOpt.isEmpty()) {
+        if (updatedOpt.isEmpty()) {
             return false;
         }
         
-        Timer timer = timerOpt.get();
+        logger.info("Updated timer {} in room {}", timerId, roomId);
+        publishTimerEvent(roomId, updatedOpt.get(), "TIMER_UPDATED");
+        return true;
+    }
+    
+    public TimerTransitionResult startTimer(String roomId, String timerId, LocalDateTime startTime) {
+        if (startTime != null && toClockMillis(startTime) > TimerClock.currentTimeMillis()) {
+            return scheduleTimer(roomId, timerId, startTime);
+        }
         
-        synchronized (timer) {
-            if (timer.getState() == TimerState.RUNNING) {
-                return false;
-            }
-            
-            timer.start();
-            
-            if (startTime != null) {
-                timer.setStartedAt(startTime);
-            }
-            
-            roomService.updateTimerInRoom(roomId, timer);
-            startTimerTicking(roomId, timer);
+        String operand = startTime != null ? startTime.format(JsonConfig.DATE_TIME_FORMATTER) : null;
+        TimerTransitionResult result = roomService.transitionTimer(roomId, timerId, TimerOperation.START, operand);
+        
+        if (result.isApplied()) {
+            startTimerTicking(roomId, result.getTimer());
             
             logger.info("Started timer {} in room {}", timerId, roomId);
-            publishTimerEvent(roomId, timer, "TIMER_STARTED");
-            return true;
+            publishTimerEvent(roomId, result.getTimer(), "TIMER_STARTED");
         }
+        return result;
     }
     
-    public boolean pauseTimer(String roomId, String timerId) {
-        Optional<Timer> timerOpt = roomService.getTimerFromRoom(roomId, timerId);
-        
-        if (timerOpt.isEmpty()) {
-            return false;
-        }
+    /**
+     * Starts the timer a moment from now so every display in the room starts it on the same frame.
+     * The lead covers twice the room's slowest broadcast latency plus timerfy.sync-start.margin-ms,
+     * so the TIMER_SCHEDULED event carrying the instant reaches every client before it passes.
+     * {@code broadcastLatencyMillis} is -1 when no client has measured it.
+     */
+    public TimerTransitionResult startTimerInSync(String roomId, String timerId, long broadcastLatencyMillis) {
+        long leadMillis = broadcastLatencyMillis < 0
+                ? syncStartDefaultLeadMillis
+                : 2 * broadcastLatencyMillis + syncStartMarginMillis;
+        leadMillis = Math.min(Math.max(leadMillis, syncStartMinLeadMillis), syncStartMaxLeadMillis);
+        meterRegistry.timer("timerfy.sync-start.lead").record(leadMillis, TimeUnit.MILLISECONDS);
         
-        Timer timer = timerOpt.get();
+        long startAtMillis = TimerClock.currentTimeMillis() + leadMillis;
+        LocalDateTime startTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(startAtMillis), ZoneId.systemDefault());
+        logger.debug("Starting timer {} in room {} in sync after {} ms", timerId, roomId, leadMillis);
+        return startTimer(roomId, timerId, startTime);
+    }
+    
+    /**
+     * Arms the timer to start at {@code startTime}. The start waits in the shared scheduled start
+     * queue rather than on this node, so it survives restarts and is fired by whichever node is
+     * awake when it comes due.
+     */
+    public TimerTransitionResult scheduleTimer(String roomId, String timerId, LocalDateTime startTime) {
+        long startAtMillis = toClockMillis(startTime);
+        // Queued before arming so a SCHEDULED timer always has an entry; an entry whose timer
+        // wasn't armed is ignored when it comes due
+        scheduledStartRepository.schedule(roomId, timerId, startAtMillis);
+        TimerTransitionResult result = roomService.transitionTimer(roomId, timerId, TimerOperation.SCHEDULE, String.valueOf(startAtMillis));
         
-        synchronized (timer) {
-            if (timer.getState() != TimerState.RUNNING) {
-                return false;
-            }
+        if (result.isApplied()) {
+            wakeForScheduledStart(startAtMillis);
             
-            timer.pause();
-            roomService.updateTimerInRoom(roomId, timer);
-            stopTimerTicking(timer.getId());
-            
-            logger.info("Paused timer {} in room {}", timerId, roomId);
-            publishTimerEvent(roomId, timer, "TIMER_PAUSED");
-            return true;
+            logger.info("Scheduled timer {} in room {} to start at {}", timerId, roomId, startTime);
+            publishTimerEvent(roomId, result.getTimer(), "TIMER_SCHEDULED");
+        } else {
+            cancelScheduledStart(roomId, timerId);
         }
+        return result;
     }
     
-    public boolean stopTimer(String roomId, String timerId) {
-        Optional<Timer> timerOpt = roomService.getTimerFromRoom(roomId, timerId);
+    public TimerTransitionResult pauseTimer(String roomId, String timerId) {
+        TimerTransitionResult result = roomService.transitionTimer(roomId, timerId, TimerOperation.PAUSE, null);
         
-        if (timerOpt.isEmpty()) {
-            return false;
+        if (result.isApplied()) {
+            stopTimerTicking(timerId);
+            
+            logger.info("Paused timer {} in room {}", timerId, roomId);
+            publishTimerEvent(roomId, result.getTimer(), "TIMER_PAUSED");
         }
+        return result;
+    }
+    
+    public TimerTransitionResult stopTimer(String roomId, String timerId) {
+        TimerTransitionResult result = roomService.transitionTimer(roomId, timerId, TimerOperation.STOP, null);
         
-        Timer timer = timerOpt.get();
-        
-        synchronized (timer) {
-            timer.stop();
-            roomService.updateTimerInRoom(roomId, timer);
-            stopTimerTicking(timer.getId());
+        if (result.isApplied()) {
+            stopTimerTicking(timerId);
+            cancelScheduledStart(roomId, timerId);
             
             logger.info("Stopped timer {} in room {}", timerId, roomId);
-            publishTimerEvent(roomId, timer, "TIMER_STOPPED");
-            return true;
+            publishTimerEvent(roomId, result.getTimer(), "TIMER_STOPPED");
         }
+        return result;
     }
     
-    public boolean resetTimer(String roomId, String timerId, Long newDuration) {
-        Optional<Timer> timerOpt = roomService.getTimerFromRoom(roomId, timerId);
+    public TimerTransitionResult resetTimer(String roomId, String timerId, Long newDurationMillis) {
+        stopTimerTicking(timerId);
         
-        if (timerOpt.isEmpty()) {
-            return false;
-        }
-        
-        Timer timer = timerOpt.get();
+        String operand = newDurationMillis != null ? String.valueOf(newDurationMillis) : null;
+        TimerTransitionResult result = roomService.transitionTimer(roomId, timerId, TimerOperation.RESET, operand);
         
-        synchronized (timer) {
-            stopTimerTicking(timer.getId());
-            
-            if (newDuration != null) {
-                timer.reset(newDuration);
-            } else {
-                timer.reset();
-            }
-            
-            roomService.updateTimerInRoom(roomId, timer);
+        if (result.isApplied()) {
+            cancelScheduledStart(roomId, timerId);
             
             logger.info("Reset timer {} in room {}", timerId, roomId);
-            publishTimerEvent(roomId, timer, "TIMER_RESET");
-            return true;
+            publishTimerEvent(roomId, result.getTimer(), "TIMER_RESET");
         }
+        return result;
     }
     
-    public boolean adjustTimer(String roomId, String timerId, long adjustment) {
-        Optional<Timer> timerOpt = roomService.getTimerFromRoom(roomId, timerId);
+    public TimerTransitionResult adjustTimer(String roomId, String timerId, long adjustmentMillis) {
+        TimerTransitionResult result = roomService.transitionTimer(roomId, timerId, TimerOperation.ADJUST, String.valueOf(adjustmentMillis));
         
-        if (timerOpt.isEmpty()) {
-            return false;
+        if (result.isApplied()) {
+            tickingRooms.computeIfPresent(roomId, (id, ticker) -> {
+                ticker.lastChangeNanos = System.nanoTime();
+                advanceDeadline(id, ticker, result.getTimer());
+                return ticker;
+            });
+            
+            logger.info("Adjusted timer {} in room {} by {} ms", timerId, roomId, adjustmentMillis);
+            publishTimerEvent(roomId, result.getTimer(), "TIMER_ADJUSTED");
+        }
+        return result;
+    }
+    
+    /**
+     * Applies one control operation to {@code timerIds}, or to every timer of the room when null or
+     * empty, in a single write and announces the result as one event, so viewers see the timers
+     * change together. {@code operand} is the new duration for RESET and the adjustment for
+     * ADJUST, both in milliseconds. Returns the timers that changed, or empty when the room is
+     * gone.
+     */
+    public Optional<List<Timer>> controlTimers(String roomId, TimerOperation operation, List<String> timerIds, Long operand) {
+        String eventType = BULK_EVENT_TYPES.get(operation);
+        if (eventType == null) {
+            throw new IllegalArgumentException("Operation " + operation + " cannot be applied to several timers");
+        }
+        if (operation == TimerOperation.ADJUST && operand == null) {
+            throw new IllegalArgumentException("Adjustment value is required");
         }
         
-        Timer timer = timerOpt.get();
+        Optional<List<Timer>> result = roomService.controlTimers(roomId, operation, timerIds,
+                operand != null ? String.valueOf(operand) : null);
+        if (result.isEmpty() || result.get().isEmpty()) {
+            return result;
+        }
         
-        synchronized (timer) {
-            timer.adjustTime(adjustment);
-            roomService.updateTimerInRoom(roomId, timer);
-            
-            logger.info("Adjusted timer {} in room {} by {} seconds", timerId, roomId, adjustment);
-            publishTimerEvent(roomId, timer, "TIMER_ADJUSTED");
-            return true;
+        List<Timer> timers = result.get();
+        List<String> changedIds = timers.stream().map(Timer::getId).toList();
+        switch (operation) {
+            case START:
+                timers.forEach(timer -> startTimerTicking(roomId, timer));
+                break;
+            case PAUSE:
+                changedIds.forEach(this::stopTimerTicking);
+                break;
+            case STOP:
+            case RESET:
+                changedIds.forEach(this::stopTimerTicking);
+                cancelScheduledStarts(roomId, changedIds);
+                break;
+            case ADJUST:
+                tickingRooms.computeIfPresent(roomId, (id, ticker) -> {
+                    ticker.lastChangeNanos = System.nanoTime();
+                    timers.forEach(timer -> advanceDeadline(id, ticker, timer));
+                    return ticker;
+                });
+                break;
+            default:
+                break;
         }
+        
+        logger.info("Applied {} to {} timers in room {}", operation, timers.size(), roomId);
+        publishBulkControlEvent(roomId, eventType, timers);
+        return result;
     }
     
     public boolean deleteTimer(String roomId, String timerId) {
@@ -221,6 +362,9 @@ public class TimerService {
         stopTimerTicking(timer.getId());
         
         if (roomService.removeTimerFromRoom(roomId, timerId)) {
+            if (timer.getState() == TimerState.SCHEDULED) {
+                cancelScheduledStart(roomId, timerId);
+            }
             logger.info("Deleted timer {} from room {}", timerId, roomId);
             publishTimerEvent(roomId, timer, "TIMER_DELETED");
             return true;
@@ -232,76 +376,530 @@ public class TimerService {
     @Async
     public void startTimerTicking(String roomId, Timer timer) {
         String timerId = timer.getId();
+        boolean[] previousStates = {timer.isInWarningState(), timer.isInCriticalState()};
+        
+        int tickRate = DEFAULT_TICK_RATE;
+        if (!tickingRooms.containsKey(roomId)) {
+            if (!tickLeaseRepository.acquire(roomId, nodeId, leaseTtlMillis)) {
+                // Another node holds the room and picks the timer up from the room on its next tick
+                logger.debug("Room {} is ticked by another node, not ticking timer {} here", roomId, timerId);
+                return;
+            }
+            tickRate = roomService.getRoomById(roomId)
+                    .map(room -> room.getSettings().getTickRate())
+                    .orElse(DEFAULT_TICK_RATE);
+        }
+        
+        int newTickerRate = tickRate;
+        tickingTimerRooms.put(timerId, roomId);
+        tickingRooms.compute(roomId, (id, ticker) -> {
+            if (ticker == null) {
+                ticker = newRoomTicker(id, newTickerRate);
+            }
+            ticker.timers.put(timerId, previousStates);
+            ticker.lastChangeNanos = System.nanoTime();
+            advanceDeadline(id, ticker, timer);
+            return ticker;
+        });
+        logger.debug("Started ticking for timer {} in room {}", timerId, roomId);
+    }
+    
+    // The room's tick notices the timer is no longer running and stops once none are left
+    private void stopTimerTicking(String timerId) {
+        String roomId = tickingTimerRooms.remove(timerId);
+        if (roomId == null) {
+            return;
+        }
+        
+        RoomTicker ticker = tickingRooms.get(roomId);
+        if (ticker != null) {
+            ticker.timers.remove(timerId);
+        }
+        logger.debug("Stopped ticking for timer {}", timerId);
+    }
+    
+    /**
+     * Moves the room's ticker on this node to the tick rate stored in the room's settings, instead
+     * of waiting for its next tick to notice. Rooms ticked by another node pick it up on their own.
+     */
+    public void applyTickRate(String roomId, int tickRate) {
+        RoomTicker ticker = tickingRooms.get(roomId);
+        if (ticker != null && ticker.tickRate != tickRate) {
+            changeTickRate(roomId, ticker, tickRate);
+        }
+    }
+    
+    /**
+     * Starts the scheduled timers that are due, then sleeps until the next one. Each start runs on
+     * its room's shard so a slow room doesn't hold back the others due at the same moment.
+     */
+    public void startDueTimers() {
+        synchronized (scheduledStartWakeup) {
+            scheduledStartWakeup.timeout = null;
+            scheduledStartWakeup.startAtMillis = Long.MAX_VALUE;
+        }
+        
+        try {
+            List<ScheduledStart> due;
+            do {
+                due = scheduledStartRepository.claimDue(TimerClock.currentTimeMillis(), scheduledStartBatchSize);
+                for (ScheduledStart start : due) {
+                    timingWheel.schedule(start.getRoomId(), () -> startScheduledTimer(start), 0, TimeUnit.MILLISECONDS);
+                }
+            } while (due.size() >= scheduledStartBatchSize);
+            
+            long next = scheduledStartRepository.nextStartAt();
+            if (next >= 0) {
+                wakeForScheduledStart(next);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to start scheduled timers: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Looks up the earliest scheduled start, which may have been armed on another node, and wakes
+     * up for it. Runs at startup, so starts that came due while no node was up fire straight away.
+     */
+    @Scheduled(fixedDelayString = "${timerfy.scheduler.poll-interval-ms:5000}")
+    public void pollScheduledStarts() {
+        try {
+            long next = scheduledStartRepository.nextStartAt();
+            if (next >= 0) {
+                wakeForScheduledStart(next);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to poll scheduled starts: {}", e.getMessage());
+        }
+    }
+    
+    private void wakeForScheduledStart(long startAtMillis) {
+        synchronized (scheduledStartWakeup) {
+            TimingWheel.Timeout pending = scheduledStartWakeup.timeout;
+            if (pending != null && !pending.isCancelled() && scheduledStartWakeup.startAtMillis <= startAtMillis) {
+                return;
+            }
+            
+            if (pending != null) {
+                pending.cancel();
+            }
+            scheduledStartWakeup.startAtMillis = startAtMillis;
+            scheduledStartWakeup.timeout = timingWheel.schedule(SCHEDULED_START_SHARD, this::startDueTimers,
+                    startAtMillis - TimerClock.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private void startScheduledTimer(ScheduledStart start) {
+        String roomId = start.getRoomId();
+        String timerId = start.getTimerId();
+        String startedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(start.getStartAtMillis()), ZoneId.systemDefault())
+                .format(JsonConfig.DATE_TIME_FORMATTER);
+        TimerTransitionResult result = roomService.transitionTimer(roomId, timerId, TimerOperation.START_SCHEDULED, startedAt);
+        
+        if (result.isApplied()) {
+            meterRegistry.timer("timerfy.scheduler.start.lag")
+                    .record(Math.max(0, TimerClock.currentTimeMillis() - start.getStartAtMillis()), TimeUnit.MILLISECONDS);
+            startTimerTicking(roomId, result.getTimer());
+            
+            logger.info("Started scheduled timer {} in room {}", timerId, roomId);
+            publishTimerEvent(roomId, result.getTimer(), "TIMER_STARTED");
+        } else {
+            logger.debug("Dropped scheduled start of timer {} in room {}: {}", timerId, roomId, result.getStatus());
+        }
+    }
+    
+    private void cancelScheduledStart(String roomId, String timerId) {
+        try {
+            scheduledStartRepository.cancel(roomId, timerId);
+        } catch (Exception e) {
+            logger.warn("Failed to cancel scheduled start of timer {}, it is ignored when due: {}", timerId, e.getMessage());
+        }
+    }
+    
+    private void cancelScheduledStarts(String roomId, List<String> timerIds) {
+        try {
+            scheduledStartRepository.cancel(roomId, timerIds);
+        } catch (Exception e) {
+            logger.warn("Failed to cancel scheduled starts in room {}, they are ignored when due: {}", roomId, e.getMessage());
+        }
+    }
+    
+    private long toClockMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    /**
+     * Extends the tick leases this node holds and stops ticking rooms whose lease was lost, e.g.
+     * after a pause longer than the lease, so the node that took the room over ticks it alone.
+     */
+    @Scheduled(fixedDelayString = "${timerfy.lease.renew-interval-ms:5000}")
+    public void renewTickLeases() {
+        if (tickingRooms.isEmpty()) {
+            return;
+        }
         
-        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
+        try {
+            Set<String> lost = tickLeaseRepository.renew(new ArrayList<>(tickingRooms.keySet()), nodeId, leaseTtlMillis);
+            for (String roomId : lost) {
+                tickingRooms.computeIfPresent(roomId, (id, ticker) -> {
+                    ticker.cancel();
+                    ticker.timers.keySet().forEach(tickingTimerRooms::remove);
+                    logger.warn("Lost tick lease for room {}, another node ticks it now", roomId);
+                    return null;
+                });
+            }
+        } catch (Exception e) {
+            logger.error("Failed to renew tick leases: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Takes over running rooms whose lease expired because the node ticking them went away.
+     */
+    @Scheduled(fixedDelayString = "${timerfy.lease.adopt-interval-ms:5000}")
+    public void adoptUnleasedRooms() {
+        try {
+            for (String roomId : tickLeaseRepository.claimUnleased(nodeId, leaseTtlMillis, adoptBatchSize)) {
+                adoptRoom(roomId);
+                logger.info("Took over ticking for room {}", roomId);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to adopt unleased rooms: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Resumes ticking every running room no node holds once the application is up, claiming them
+     * in batches during one pass over the running index. Running timers derive their time from their anchor, so
+     * they pick up where they would have been without replaying missed ticks.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRunningRooms() {
+        long started = System.nanoTime();
+        int[] resumed = {0};
+        try {
+            tickLeaseRepository.claimAllUnleased(nodeId, leaseTtlMillis, recoveryBatchSize, claimed -> {
+                claimed.forEach(this::adoptRoom);
+                resumed[0] += claimed.size();
+            });
+        } catch (Exception e) {
+            logger.error("Failed to resume running rooms, leaving the rest to adoption: {}", e.getMessage());
+        }
+        
+        long elapsed = System.nanoTime() - started;
+        meterRegistry.timer("timerfy.ticker.recovery").record(elapsed, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("timerfy.ticker.recovered.rooms").increment(resumed[0]);
+        logger.info("Resumed ticking {} running rooms in {} ms", resumed[0], TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+    
+    // Lets other nodes take this node's rooms over straight away instead of after the lease TTL.
+    // Runs on context close, before the Redis connection factory is stopped.
+    @EventListener(ContextClosedEvent.class)
+    public void handOffTickLeases() {
+        List<String> roomIds = new ArrayList<>(tickingRooms.keySet());
+        tickingRooms.values().forEach(RoomTicker::cancel);
+        tickingRooms.clear();
+        if (roomIds.isEmpty()) {
+            return;
+        }
+        
+        try {
+            tickLeaseRepository.handOff(roomIds, nodeId);
+            logger.info("Handed off tick leases for {} rooms", roomIds.size());
+        } catch (Exception e) {
+            logger.warn("Failed to hand off tick leases, they expire on their own: {}", e.getMessage());
+        }
+    }
+    
+    // Registers the running timers of a room taken over or resumed the way startTimerTicking does,
+    // so stopping one of them here is noticed. A room that is gone gets a ticker at the default
+    // rate whose first tick finds it missing and releases the lease.
+    private void adoptRoom(String roomId) {
+        adoptRoom(roomId, roomService.getRoomById(roomId));
+    }
+    
+    private void adoptRoom(String roomId, Optional<Room> roomOpt) {
+        int tickRate = roomOpt.map(room -> room.getSettings().getTickRate()).orElse(DEFAULT_TICK_RATE);
+        tickingRooms.computeIfAbsent(roomId, id -> {
+            RoomTicker ticker = newRoomTicker(id, tickRate);
+            roomOpt.ifPresent(room -> room.getTimers().stream()
+                    .filter(timer -> timer.getState() == TimerState.RUNNING)
+                    .forEach(timer -> {
+                        ticker.timers.putIfAbsent(timer.getId(), new boolean[]{timer.isInWarningState(), timer.isInCriticalState()});
+                        tickingTimerRooms.put(timer.getId(), id);
+                    }));
+            return ticker;
+        });
+    }
+    
+    private RoomTicker newRoomTicker(String roomId, int tickRate) {
+        RoomTicker ticker = new RoomTicker();
+        ticker.tickRate = tickRate;
+        if (tickRate > 0) {
+            ticker.timeout = scheduleRoomTick(roomId, ticker);
+        } else {
+            rescheduleDeadline(roomId, ticker, TimerClock.currentTimeMillis());
+        }
+        return ticker;
+    }
+    
+    private void changeTickRate(String roomId, RoomTicker ticker, int tickRate) {
+        tickingRooms.computeIfPresent(roomId, (id, current) -> {
+            if (current == ticker) {
+                if (ticker.timeout != null) {
+                    ticker.timeout.cancel();
+                }
+                ticker.tickRate = tickRate;
+                ticker.timeout = tickRate > 0 ? scheduleRoomTick(roomId, ticker) : null;
+                if (tickRate == 0 && !ticker.hasPendingDeadline()) {
+                    // Without ticks the room only runs on deadlines; read it now to set the next one
+                    rescheduleDeadline(roomId, ticker, TimerClock.currentTimeMillis());
+                }
+                logger.debug("Room {} now ticks {} times per second", roomId, tickRate);
+            }
+            return current;
+        });
+    }
+    
+    private TimingWheel.Timeout scheduleRoomTick(String roomId, RoomTicker ticker) {
+        Runnable task = roomTask(roomId, ticker, true);
+        long periodMillis = 1000 / ticker.tickRate;
+        return alignTicks
+                ? timingWheel.scheduleAligned(roomId, task, periodMillis, TimeUnit.MILLISECONDS)
+                : timingWheel.scheduleAtFixedRate(roomId, task, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    private Runnable roomTask(String roomId, RoomTicker ticker, boolean broadcast) {
+        return () -> {
             try {
-                Optional<Timer> currentTimerOpt = roomService.getTimerFromRoom(roomId, timerId);
-                
-                if (currentTimerOpt.isEmpty()) {
-                    stopTimerTicking(timerId);
-                    return;
+                tickRoom(roomId, ticker, broadcast);
+            } catch (Exception e) {
+                logger.error("Error in timer tick for room {}: {}", roomId, e.getMessage());
+            }
+        };
+    }
+    
+    // Brings the room's deadline forward to the timer's next one. Runs inside the ticker's map entry
+    private void advanceDeadline(String roomId, RoomTicker ticker, Timer timer) {
+        long deadlineAt = timer.nextDeadlineAt(TimerClock.currentTimeMillis());
+        if (deadlineAt >= 0 && (!ticker.hasPendingDeadline() || deadlineAt < ticker.deadlineAt)) {
+            rescheduleDeadline(roomId, ticker, deadlineAt);
+        }
+    }
+    
+    // Rooms with a tick rate of 0 have no ticks to notice changes made on other nodes, so they
+    // also re-read the room every timerfy.ticker.resync-ms
+    private void scheduleDeadline(String roomId, RoomTicker ticker, long deadlineAt, long readNanos) {
+        tickingRooms.computeIfPresent(roomId, (id, current) -> {
+            if (current != ticker) {
+                return current;
+            }
+            
+            long nowMillis = TimerClock.currentTimeMillis();
+            long at = ticker.tickRate == 0 ? Math.min(deadlineAt, nowMillis + resyncMillis) : deadlineAt;
+            if (ticker.lastChangeNanos - readNanos > 0) {
+                // A timer started or adjusted after the room was read; look again straight away
+                at = nowMillis;
+            }
+            if (at != ticker.deadlineAt || at <= nowMillis || !ticker.hasPendingDeadline()) {
+                rescheduleDeadline(roomId, ticker, at);
+            }
+            return current;
+        });
+    }
+    
+    private void rescheduleDeadline(String roomId, RoomTicker ticker, long deadlineAt) {
+        if (ticker.deadline != null) {
+            ticker.deadline.cancel();
+        }
+        ticker.deadlineAt = deadlineAt;
+        ticker.deadline = deadlineAt == Long.MAX_VALUE ? null : timingWheel.schedule(roomId, roomTask(roomId, ticker, false),
+                deadlineAt - TimerClock.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    // One tick covers every running timer in the room, including timers started on other nodes: the
+    // room is read once, written at most once and broadcast as a single frame. Running timers derive
+    // currentTime from their anchor, so the room is only written to anchor timers started before
+    // anchors existed, or on every tick when timerfy.timer.persist-ticks is set. Deadline runs do
+    // the same without broadcasting a tick. While the wheel runs behind, idle rooms may skip frames,
+    // but never one that carries a transition.
+    private void tickRoom(String roomId, RoomTicker ticker, boolean broadcast) {
+        long readNanos = System.nanoTime();
+        Optional<Room> roomOpt = roomService.getRoomById(roomId);
+        if (roomOpt.isPresent() && (persistTicks || hasUnanchoredTimer(roomOpt.get()))) {
+            Optional<Room> read = roomOpt;
+            roomOpt = roomService.persistRunningTimers(roomId, runningTimerIds(read.get())).or(() -> read);
+        }
+        if (roomOpt.isEmpty()) {
+            stopRoomTicking(roomId, ticker, readNanos);
+            return;
+        }
+        
+        Room room = roomOpt.get();
+        if (room.getSettings().getTickRate() != ticker.tickRate) {
+            changeTickRate(roomId, ticker, room.getSettings().getTickRate());
+        }
+        
+        long nowMillis = TimerClock.currentTimeMillis();
+        long nextDeadlineAt = Long.MAX_VALUE;
+        List<Timer> ticked = new ArrayList<>();
+        List<Timer> completed = new ArrayList<>();
+        // Completed timer ids mapped to the next timer in the room's sequence, started in their place
+        Map<String, Timer> handedOver = new HashMap<>();
+        boolean transitioned = false;
+        for (Timer timer : room.getTimers()) {
+            if (timer.getState() != TimerState.RUNNING) {
+                continue;
+            }
+            
+            boolean[] previousStates = ticker.timers.computeIfAbsent(timer.getId(),
+                    id -> new boolean[]{timer.isInWarningState(), timer.isInCriticalState()});
+            transitioned |= checkWarningStates(roomId, timer, previousStates[0], previousStates[1]);
+            previousStates[0] = timer.isInWarningState();
+            previousStates[1] = timer.isInCriticalState();
+            
+            Timer current = timer;
+            String nextTimerId = room.nextInSequence(timer.getId());
+            if (timer.isCompleted() && nextTimerId != null) {
+                List<Timer> advanced = roomService.advanceSequence(roomId, timer.getId(), nextTimerId);
+                if (!advanced.isEmpty()) {
+                    current = advanced.get(0);
+                    completed.add(current);
                 }
-                
-                Timer currentTimer = currentTimerOpt.get();
-                
-                synchronized (currentTimer) {
-                    if (currentTimer.getState() != TimerState.RUNNING) {
-                        stopTimerTicking(timerId);
-                        return;
-                    }
-                    
-                    boolean wasInWarning = currentTimer.isInWarningState();
-                    boolean wasInCritical = currentTimer.isInCriticalState();
-                    
-                    currentTimer.tick();
-                    
-                    checkWarningStates(roomId, currentTimer, wasInWarning, wasInCritical);
-                    
-                    if (currentTimer.isCompleted()) {
-                        handleTimerCompletion(roomId, currentTimer);
+                if (advanced.size() > 1) {
+                    Timer next = advanced.get(1);
+                    handedOver.put(current.getId(), next);
+                    ticked.add(next);
+                    long deadlineAt = next.nextDeadlineAt(nowMillis);
+                    if (deadlineAt >= 0) {
+                        nextDeadlineAt = Math.min(nextDeadlineAt, deadlineAt);
                     }
-                    
-                    roomService.updateTimerInRoom(roomId, currentTimer);
-                    publishTimerEvent(roomId, currentTimer, "TIMER_TICK");
                 }
-            } catch (Exception e) {
-                logger.error("Error in timer tick for timer {} in room {}: {}", timerId, roomId, e.getMessage());
+            } else if (timer.isCompleted()) {
+                TimerTransitionResult result = roomService.transitionTimer(roomId, timer.getId(), TimerOperation.COMPLETE, null);
+                if (result.isApplied()) {
+                    current = result.getTimer();
+                    completed.add(current);
+                }
+            } else {
+                long deadlineAt = timer.nextDeadlineAt(nowMillis);
+                if (deadlineAt >= 0) {
+                    nextDeadlineAt = Math.min(nextDeadlineAt, deadlineAt);
+                }
             }
-        }, 0, 1, TimeUnit.SECONDS);
+            ticked.add(current);
+        }
         
-        runningTimers.put(timerId, future);
-        logger.debug("Started ticking for timer {} in room {}", timerId, roomId);
+        if (broadcast && !ticked.isEmpty() && (transitioned || !completed.isEmpty() || !shedFrame(ticker))) {
+            ticker.lastBroadcastNanos = System.nanoTime();
+            publishRoomTick(roomId, ticked);
+        }
+        completed.forEach(timer -> handleTimerCompletion(roomId, timer, handedOver.get(timer.getId())));
+        if (ticked.size() == completed.size()) {
+            stopRoomTicking(roomId, ticker, readNanos);
+        } else {
+            scheduleDeadline(roomId, ticker, nextDeadlineAt, readNanos);
+        }
     }
     
-    private void stopTimerTicking(String timerId) {
-        ScheduledFuture<?> future = runningTimers.remove(timerId);
-        if (future != null) {
-            future.cancel(false);
-            logger.debug("Stopped ticking for timer {}", timerId);
+    // Stops only if no timer was started here after the room was read, so a start racing the last
+    // tick keeps the room ticking
+    private void stopRoomTicking(String roomId, RoomTicker ticker, long readNanos) {
+        boolean[] stopped = {false};
+        tickingRooms.computeIfPresent(roomId, (id, current) -> {
+            if (current != ticker || ticker.lastChangeNanos - readNanos > 0) {
+                return current;
+            }
+            ticker.cancel();
+            ticker.timers.keySet().forEach(tickingTimerRooms::remove);
+            stopped[0] = true;
+            return null;
+        });
+        if (stopped[0]) {
+            tickLeaseRepository.release(roomId, nodeId);
+            logger.debug("Stopped ticking room {}", roomId);
+            resumeIfStartedElsewhere(roomId);
+        }
+    }
+    
+    // A node that started a timer while this node still held the lease failed to acquire it and
+    // left the timer to this node's ticks. Look at the stored room once more after letting go so
+    // such a timer is not left without a node ticking it.
+    private void resumeIfStartedElsewhere(String roomId) {
+        Optional<Room> roomOpt = roomService.getLatestRoom(roomId);
+        if (roomOpt.isEmpty() || runningTimerIds(roomOpt.get()).isEmpty()) {
+            return;
+        }
+        
+        if (tickLeaseRepository.acquire(roomId, nodeId, leaseTtlMillis)) {
+            adoptRoom(roomId, roomOpt);
+            logger.info("Resumed ticking room {}, a timer started while it was being released", roomId);
+        }
+    }
+    
+    // Once the wheel is timerfy.ticker.shed-lag-ms behind, rooms nobody changed for
+    // timerfy.ticker.idle-after-ms broadcast at most once per shed interval, stretched up to
+    // MAX_SHED_FACTOR times as the lag grows
+    private boolean shedFrame(RoomTicker ticker) {
+        long lagMillis = timingWheel.getLagMillis();
+        if (shedLagMillis <= 0 || lagMillis < shedLagMillis) {
+            return false;
+        }
+        
+        long nowNanos = System.nanoTime();
+        if (nowNanos - ticker.lastChangeNanos < TimeUnit.MILLISECONDS.toNanos(idleAfterMillis)) {
+            return false;
+        }
+        long intervalMillis = shedIntervalMillis * Math.min(lagMillis / shedLagMillis, MAX_SHED_FACTOR);
+        if (nowNanos - ticker.lastBroadcastNanos >= TimeUnit.MILLISECONDS.toNanos(intervalMillis)) {
+            return false;
         }
+        meterRegistry.counter("timerfy.ticker.frames.shed").increment();
+        return true;
+    }
+    
+    private boolean hasUnanchoredTimer(Room room) {
+        return room.getTimers().stream()
+                .anyMatch(timer -> timer.getState() == TimerState.RUNNING && !timer.isAnchored());
+    }
+    
+    private List<String> runningTimerIds(Room room) {
+        return room.getTimers().stream()
+                .filter(timer -> timer.getState() == TimerState.RUNNING)
+                .map(Timer::getId)
+                .toList();
     }
     
-    private void checkWarningStates(String roomId, Timer timer, boolean wasInWarning, boolean wasInCritical) {
+    // Returns whether the timer entered warning or critical state since the last tick
+    private boolean checkWarningStates(String roomId, Timer timer, boolean wasInWarning, boolean wasInCritical) {
         boolean isInWarning = timer.isInWarningState();
         boolean isInCritical = timer.isInCriticalState();
         
         if (isInCritical && !wasInCritical) {
             logger.info("Timer {} in room {} entered critical state", timer.getId(), roomId);
             publishTimerEvent(roomId, timer, "TIMER_CRITICAL");
+            return true;
         } else if (isInWarning && !wasInWarning && !isInCritical) {
             logger.info("Timer {} in room {} entered warning state", timer.getId(), roomId);
             publishTimerEvent(roomId, timer, "TIMER_WARNING");
+            return true;
         }
+        return false;
     }
     
-    private void handleTimerCompletion(String roomId, Timer timer) {
-        timer.setState(TimerState.COMPLETED);
-        timer.setCompletedAt(LocalDateTime.now());
-        
+    // A completed timer with a successor in the room's sequence is announced together with the
+    // successor's start in one event
+    private void handleTimerCompletion(String roomId, Timer timer, Timer next) {
         stopTimerTicking(timer.getId());
         
         logger.info("Timer {} in room {} completed", timer.getId(), roomId);
-        publishTimerEvent(roomId, timer, "TIMER_COMPLETED");
+        if (next != null) {
+            startTimerTicking(roomId, next);
+            logger.info("Sequence in room {} moved on from timer {} to timer {}", roomId, timer.getId(), next.getId());
+            publishSequenceEvent(roomId, timer, next);
+        } else {
+            publishTimerEvent(roomId, timer, "TIMER_COMPLETED");
+        }
         
         if (timer.getSettings().getAutoReset()) {
             logger.info("Auto-resetting timer {} in room {}", timer.getId(), roomId);
@@ -309,6 +907,14 @@ public class TimerService {
         }
     }
     
+    private void publishRoomTick(String roomId, List<Timer> timers) {
+        try {
+            eventPublisher.publishEvent(new RoomTickEvent(roomId, timers));
+        } catch (Exception e) {
+            logger.error("Failed to publish room tick: {}", e.getMessage());
+        }
+    }
+    
     private void publishTimerEvent(String roomId, Timer timer, String eventType) {
         try {
             TimerEvent event = new TimerEvent(roomId, timer, eventType);
@@ -319,22 +925,113 @@ public class TimerService {
         }
     }
     
+    private void publishBulkControlEvent(String roomId, String eventType, List<Timer> timers) {
+        try {
+            eventPublisher.publishEvent(new BulkControlEvent(roomId, eventType, timers));
+        } catch (Exception e) {
+            logger.error("Failed to publish bulk control event: {}", e.getMessage());
+        }
+    }
+    
+    private void publishSequenceEvent(String roomId, Timer completed, Timer started) {
+        try {
+            eventPublisher.publishEvent(new SequenceEvent(roomId, completed, started));
+        } catch (Exception e) {
+            logger.error("Failed to publish sequence event: {}", e.getMessage());
+        }
+    }
+    
     public void stopAllTimersInRoom(String roomId) {
-        Optional<com.timerfy.model.Room> roomOpt = roomService.getRoomById(roomId);
+        controlTimers(roomId, TimerOperation.STOP, null, null)
+                .ifPresent(timers -> logger.info("Stopped all timers in room {}", roomId));
+    }
+    
+    private static class RoomTicker {
+        // Running timer ids mapped to whether they were in warning and critical state last tick
+        private final Map<String, boolean[]> timers = new ConcurrentHashMap<>();
+        // Null while the room's tick rate is 0
+        private volatile TimingWheel.Timeout timeout;
+        private volatile TimingWheel.Timeout deadline;
+        private volatile long deadlineAt = Long.MAX_VALUE;
+        private volatile int tickRate;
+        private volatile long lastChangeNanos = System.nanoTime();
+        private volatile long lastBroadcastNanos = System.nanoTime();
         
-        if (roomOpt.isEmpty()) {
-            return;
+        private boolean hasPendingDeadline() {
+            return deadline != null && !deadline.isCancelled();
         }
         
-        com.timerfy.model.Room room = roomOpt.get();
-        
-        for (Timer timer : room.getTimers()) {
-            if (timer.getState() == TimerState.RUNNING) {
-                stopTimer(roomId, timer.getId());
+        private void cancel() {
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            if (deadline != null) {
+                deadline.cancel();
             }
         }
+    }
+    
+    private static class Wakeup {
+        private TimingWheel.Timeout timeout;
+        private long startAtMillis = Long.MAX_VALUE;
+    }
+    
+    /**
+     * The running timers of one room after a tick, broadcast together as one frame.
+     */
+    public static class RoomTickEvent {
+        private final String roomId;
+        private final List<Timer> timers;
+        private final LocalDateTime timestamp;
+        
+        public RoomTickEvent(String roomId, List<Timer> timers) {
+            this.roomId = roomId;
+            this.timers = timers;
+            this.timestamp = LocalDateTime.now();
+        }
         
-        logger.info("Stopped all timers in room {}", roomId);
+        public String getRoomId() { return roomId; }
+        public List<Timer> getTimers() { return timers; }
+        public LocalDateTime getTimestamp() { return timestamp; }
+    }
+    
+    /**
+     * A timer of a room's sequence completing and the next one starting in its place.
+     */
+    public static class SequenceEvent {
+        private final String roomId;
+        private final Timer completed;
+        private final Timer started;
+        
+        public SequenceEvent(String roomId, Timer completed, Timer started) {
+            this.roomId = roomId;
+            this.completed = completed;
+            this.started = started;
+        }
+        
+        public String getRoomId() { return roomId; }
+        public Timer getCompleted() { return completed; }
+        public Timer getStarted() { return started; }
+    }
+    
+    /**
+     * Several timers of one room changed by the same control operation in one write. Each timer
+     * carries the {@code eventType} it would have had if controlled on its own.
+     */
+    public static class BulkControlEvent {
+        private final String roomId;
+        private final String eventType;
+        private final List<Timer> timers;
+        
+        public BulkControlEvent(String roomId, String eventType, List<Timer> timers) {
+            this.roomId = roomId;
+            this.eventType = eventType;
+            this.timers = timers;
+        }
+        
+        public String getRoomId() { return roomId; }
+        public String getEventType() { return eventType; }
+        public List<Timer> getTimers() { return timers; }
     }
     
     public static class TimerEvent {
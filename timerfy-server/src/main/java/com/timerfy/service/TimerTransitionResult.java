@@ -0,0 +1,48 @@
+package com.timerfy.service;
+
+import com.timerfy.model.Timer;
+import com.timerfy.model.TimerState;
+
+public class TimerTransitionResult {
+    
+    public enum Status {
+        APPLIED,
+        ROOM_NOT_FOUND,
+        TIMER_NOT_FOUND,
+        INVALID_STATE
+    }
+    
+    private final Status status;
+    private final Timer timer;
+    private final TimerState currentState;
+    
+    private TimerTransitionResult(Status status, Timer timer, TimerState currentState) {
+        this.status = status;
+        this.timer = timer;
+        this.currentState = currentState;
+    }
+    
+    public static TimerTransitionResult applied(Timer timer) {
+        return new TimerTransitionResult(Status.APPLIED, timer, timer.getState());
+    }
+    
+    public static TimerTransitionResult roomNotFound() {
+        return new TimerTransitionResult(Status.ROOM_NOT_FOUND, null, null);
+    }
+    
+    public static TimerTransitionResult timerNotFound() {
+        return new TimerTransitionResult(Status.TIMER_NOT_FOUND, null, null);
+    }
+    
+    public static TimerTransitionResult invalidState(TimerState currentState) {
+        return new TimerTransitionResult(Status.INVALID_STATE, null, currentState);
+    }
+    
+    public boolean isApplied() {
+        return status == Status.APPLIED;
+    }
+    
+    public Status getStatus() { return status; }
+    public Timer getTimer() { return timer; }
+    public TimerState getCurrentState() { return currentState; }
+}
\ No newline at end of file
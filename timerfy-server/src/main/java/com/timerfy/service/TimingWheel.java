@@ -0,0 +1,439 @@
+package com.timerfy.service;
+
+import com.timerfy.model.TimerClock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel that drives every periodic and one-shot task from one ticker thread. Scheduling and
+ * cancelling only enqueue the task; the ticker links it into or out of its bucket on the next
+ * tick, so both are O(1) regardless of how many tasks are scheduled. Due tasks run on one of a
+ * fixed set of single-threaded shards picked by the task's shard key, so all tasks for one key
+ * run on the same thread, one at a time, and are rescheduled once they finish.
+ * Aligned tasks fire on a shared {@link TimerClock} grid; how late they actually fire is recorded
+ * as {@code timerfy.ticker.phase.error}. How late every run starts against its deadline is recorded
+ * as {@code timerfy.ticker.lag}, and the worst of the last second is available from
+ * {@link #getLagMillis()} so callers can shed optional work while the wheel is behind.
+ */
+@Component
+public class TimingWheel {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${timerfy.ticker.resolution-ms:10}")
+    private long resolutionMillis = 10;
+    
+    @Value("${timerfy.ticker.wheel-size:512}")
+    private int wheelSize = 512;
+    
+    @Value("${timerfy.ticker.shards:0}")
+    private int shardCount;
+    
+    private final Queue<Timeout> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduled = new AtomicInteger();
+    // Worst lag seen since the last sample
+    private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0);
+    
+    private Bucket[] wheel;
+    private int mask;
+    private long tickNanos;
+    private long startNanos;
+    private long tick;
+    private Shard[] shards;
+    private long lastSampleNanos;
+    private volatile long lagNanos;
+    private Timer phaseError;
+    private Timer lag;
+    private Counter skippedRuns;
+    private Thread ticker;
+    private volatile boolean running;
+    
+    @PostConstruct
+    public void start() {
+        int size = Integer.highestOneBit(Math.max(wheelSize - 1, 1)) << 1;
+        wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = size - 1;
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(resolutionMillis);
+        
+        shards = new Shard[shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i);
+        }
+        meterRegistry.gauge("timerfy.ticker.scheduled", scheduled);
+        phaseError = Timer.builder("timerfy.ticker.phase.error")
+                .description("Delay between an aligned task's grid point and when it ran")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        lag = Timer.builder("timerfy.ticker.lag")
+                .description("Delay between a task's deadline and when it started running")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        skippedRuns = Counter.builder("timerfy.ticker.skipped")
+                .description("Periodic runs skipped or coalesced because their task ran late")
+                .register(meterRegistry);
+        Gauge.builder("timerfy.ticker.lag.max", this, TimingWheel::getLagMillis)
+                .description("Worst task lag in the last second, in milliseconds")
+                .register(meterRegistry);
+        
+        startNanos = System.nanoTime();
+        lastSampleNanos = startNanos;
+        running = true;
+        ticker = new Thread(this::run, "timer-wheel");
+        ticker.setDaemon(true);
+        ticker.start();
+        logger.info("Started timing wheel with {} buckets of {} ms and {} shards", size, resolutionMillis, shards.length);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.interrupt();
+        }
+        if (shards != null) {
+            for (Shard shard : shards) {
+                shard.executor.shutdownNow();
+            }
+        }
+    }
+    
+    /**
+     * Runs {@code task} on the shard for {@code shardKey} after {@code initialDelay} and then every
+     * {@code period} until the returned handle is cancelled. A run that starts late is followed by
+     * at most one more run straight away; periods that passed entirely while it was late are
+     * coalesced into that run rather than caught up one by one.
+     */
+    public Timeout scheduleAtFixedRate(String shardKey, Runnable task, long initialDelay, long period, TimeUnit unit) {
+        Timeout timeout = new Timeout(shardFor(shardKey), task, elapsedNanos() + unit.toNanos(initialDelay), unit.toNanos(period), false);
+        scheduled.incrementAndGet();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+    
+    /**
+     * Runs {@code task} once on the shard for {@code shardKey} after {@code delay}.
+     */
+    public Timeout schedule(String shardKey, Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(shardFor(shardKey), task, elapsedNanos() + unit.toNanos(Math.max(delay, 0)), 0, false);
+        scheduled.incrementAndGet();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+    
+    /**
+     * Runs {@code task} on the shard for {@code shardKey} at every whole multiple of
+     * {@code period} on the {@link TimerClock}, so all tasks with the same period fire together.
+     * Grid points that pass while a run is late or still busy are skipped rather than caught up.
+     */
+    public Timeout scheduleAligned(String shardKey, Runnable task, long period, TimeUnit unit) {
+        Timeout timeout = new Timeout(shardFor(shardKey), task, 0, unit.toNanos(period), true);
+        alignToNextGridPoint(timeout);
+        scheduled.incrementAndGet();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+    
+    public int getScheduledCount() {
+        return scheduled.get();
+    }
+    
+    /**
+     * The worst delay between a task's deadline and its run over the last second.
+     */
+    public long getLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lagNanos);
+    }
+    
+    public int getShardCount() {
+        return shards.length;
+    }
+    
+    int shardIndex(String shardKey) {
+        return Math.floorMod(shardKey.hashCode(), shards.length);
+    }
+    
+    private Shard shardFor(String shardKey) {
+        return shards[shardIndex(shardKey)];
+    }
+    
+    private void run() {
+        while (running) {
+            long sleepNanos = (tick + 1) * tickNanos - elapsedNanos();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(sleepNanos);
+                continue;
+            }
+            
+            processCancels();
+            processAdds();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+            sampleUtilization();
+        }
+    }
+    
+    private void sampleUtilization() {
+        long now = System.nanoTime();
+        long interval = now - lastSampleNanos;
+        if (interval < TimeUnit.SECONDS.toNanos(1)) {
+            return;
+        }
+        
+        for (Shard shard : shards) {
+            long busy = shard.busyNanos.sumThenReset();
+            shard.utilization = Math.min(1.0, (double) busy / interval);
+        }
+        lagNanos = maxLagNanos.getThenReset();
+        lastSampleNanos = now;
+    }
+    
+    private void processCancels() {
+        Timeout timeout;
+        while ((timeout = pendingCancels.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+    
+    private void processAdds() {
+        Timeout timeout;
+        while ((timeout = pendingAdds.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            
+            long dueTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = Math.max(dueTick - tick, 0) / wheel.length;
+            wheel[(int) (Math.max(dueTick, tick) & mask)].add(timeout);
+        }
+    }
+    
+    private void dispatch(Timeout timeout) {
+        try {
+            timeout.shard.executor.execute(timeout.dispatch);
+        } catch (RuntimeException e) {
+            if (running) {
+                logger.error("Failed to dispatch timing wheel task: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private void runTask(Timeout timeout) {
+        if (timeout.isCancelled()) {
+            return;
+        }
+        long lateNanos = Math.max(0, elapsedNanos() - timeout.deadline);
+        lag.record(lateNanos, TimeUnit.NANOSECONDS);
+        maxLagNanos.accumulate(lateNanos);
+        if (timeout.aligned) {
+            long lateMillis = Math.max(0, TimerClock.currentTimeMillis() - timeout.gridMillis);
+            phaseError.record(lateMillis, TimeUnit.MILLISECONDS);
+        }
+        
+        try {
+            timeout.task.run();
+        } catch (Throwable e) {
+            logger.error("Timing wheel task failed: {}", e.getMessage());
+        }
+        
+        if (timeout.period == 0) {
+            // One-shot tasks are done after their run
+            if (timeout.cancelled.compareAndSet(false, true)) {
+                scheduled.decrementAndGet();
+            }
+        } else if (!timeout.isCancelled()) {
+            if (timeout.aligned) {
+                long previousGridMillis = timeout.gridMillis;
+                alignToNextGridPoint(timeout);
+                long skipped = (timeout.gridMillis - previousGridMillis) / timeout.periodMillis() - 1;
+                if (skipped > 0) {
+                    skippedRuns.increment(skipped);
+                }
+            } else {
+                timeout.deadline += timeout.period;
+                long missed = (elapsedNanos() - timeout.deadline) / timeout.period;
+                if (missed > 0) {
+                    timeout.deadline += missed * timeout.period;
+                    skippedRuns.increment(missed);
+                }
+            }
+            pendingAdds.add(timeout);
+        }
+    }
+    
+    private void alignToNextGridPoint(Timeout timeout) {
+        long periodMillis = timeout.periodMillis();
+        long nowMillis = TimerClock.currentTimeMillis();
+        timeout.gridMillis = nextGridPoint(nowMillis, periodMillis);
+        timeout.deadline = elapsedNanos() + TimeUnit.MILLISECONDS.toNanos(timeout.gridMillis - nowMillis);
+    }
+    
+    // The first multiple of the period strictly after now, shared by every task with that period
+    static long nextGridPoint(long nowMillis, long periodMillis) {
+        return (nowMillis / periodMillis + 1) * periodMillis;
+    }
+    
+    private long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+    
+    public final class Timeout {
+        
+        private final Shard shard;
+        private final Runnable task;
+        private final long period;
+        private final boolean aligned;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        // Created once so dispatching a run allocates nothing, which matters for high tick rates
+        private final Runnable dispatch;
+        private long deadline;
+        private long gridMillis;
+        
+        // Owned by the ticker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+        
+        private Timeout(Shard shard, Runnable task, long deadline, long period, boolean aligned) {
+            this.shard = shard;
+            this.dispatch = () -> shard.run(this);
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+            this.aligned = aligned;
+        }
+        
+        private long periodMillis() {
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(period));
+        }
+        
+        /**
+         * Stops further runs. A run that already started is allowed to finish.
+         */
+        public void cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                scheduled.decrementAndGet();
+                pendingCancels.add(this);
+            }
+        }
+        
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+    }
+    
+    // One thread per shard, so tasks sharing a shard key never run concurrently
+    private final class Shard {
+        
+        private final ThreadPoolExecutor executor;
+        private final LongAdder busyNanos = new LongAdder();
+        private volatile double utilization;
+        
+        Shard(int index) {
+            executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "timer-wheel-shard-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+            
+            Tags tags = Tags.of("shard", String.valueOf(index));
+            Gauge.builder("timerfy.ticker.shard.queue", executor, shardExecutor -> shardExecutor.getQueue().size())
+                    .description("Due tasks waiting for the shard's thread")
+                    .tags(tags)
+                    .register(meterRegistry);
+            Gauge.builder("timerfy.ticker.shard.utilization", this, shard -> shard.utilization)
+                    .description("Share of the last second the shard's thread spent running tasks")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+        
+        void run(Timeout timeout) {
+            long started = System.nanoTime();
+            try {
+                runTask(timeout);
+            } finally {
+                busyNanos.add(System.nanoTime() - started);
+            }
+        }
+    }
+    
+    private final class Bucket {
+        
+        private Timeout head;
+        private Timeout tail;
+        
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+        
+        void remove(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+        
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    dispatch(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
\ No newline at end of file
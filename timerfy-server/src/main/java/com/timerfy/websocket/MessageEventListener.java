@@ -9,7 +9,6 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
 
 @Component
 public class MessageEventListener {
@@ -87,28 +86,11 @@ public class MessageEventListener {
     
     public void checkAndHideExpiredMessages(String roomId) {
         try {
-            Optional<com.timerfy.model.Room> roomOpt = roomService.getRoomById(roomId);
-            if (roomOpt.isEmpty()) {
-                return;
-            }
-            
-            com.timerfy.model.Room room = roomOpt.get();
-            boolean roomUpdated = false;
-            
-            for (Message message : room.getMessages()) {
-                if (message.getVisible() && message.shouldAutoHide()) {
-                    message.hide();
-                    roomUpdated = true;
-                    
-                    // Broadcast the auto-hide event
-                    handleMessageVisibilityChanged(roomId, message.getId(), false);
-                    
-                    logger.info("Auto-hid message {} in room {} after timeout", message.getId(), roomId);
-                }
-            }
-            
-            if (roomUpdated) {
-                roomService.saveRoom(room);
+            for (Message message : roomService.hideExpiredMessages(roomId)) {
+                // Broadcast the auto-hide event
+                handleMessageVisibilityChanged(roomId, message.getId(), false);
+                
+                logger.info("Auto-hid message {} in room {} after timeout", message.getId(), roomId);
             }
         } catch (Exception e) {
             logger.error("Error checking auto-hide messages for room {}: {}", roomId, e.getMessage());
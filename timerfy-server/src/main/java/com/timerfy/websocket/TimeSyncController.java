@@ -0,0 +1,28 @@
+package com.timerfy.websocket;
+
+import com.timerfy.model.TimerClock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Answers clients syncing their clock over {@code /app/time-sync} and keeps the round trips they
+ * report, which size the lead of synchronized starts.
+ */
+@Controller
+public class TimeSyncController {
+    
+    @Autowired
+    private WebSocketEventHandler webSocketEventHandler;
+    
+    @MessageMapping("/time-sync")
+    @SendToUser(destinations = "/queue/time-sync", broadcast = false)
+    public TimeSyncMessage sync(TimeSyncMessage request, SimpMessageHeaderAccessor headerAccessor) {
+        if (request.getRoundTripMillis() != null) {
+            webSocketEventHandler.recordRoundTrip(headerAccessor.getSessionId(), request.getRoundTripMillis());
+        }
+        return new TimeSyncMessage(request.getClientTime(), TimerClock.currentTimeMillis());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.timerfy.websocket;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One round of a client syncing its clock with the server. The client sends its own clock as
+ * clientTime, along with the round trip it measured last time, and gets clientTime back with the
+ * server clock as serverTime. Half the round trip is the client's broadcast latency, and
+ * serverTime minus the midpoint of the round trip is its clock offset.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimeSyncMessage {
+    
+    private long clientTime;
+    private Long serverTime;
+    private Long roundTripMillis;
+    
+    public TimeSyncMessage() {}
+    
+    public TimeSyncMessage(long clientTime, long serverTime) {
+        this.clientTime = clientTime;
+        this.serverTime = serverTime;
+    }
+    
+    public long getClientTime() { return clientTime; }
+    public void setClientTime(long clientTime) { this.clientTime = clientTime; }
+    
+    public Long getServerTime() { return serverTime; }
+    public void setServerTime(Long serverTime) { this.serverTime = serverTime; }
+    
+    public Long getRoundTripMillis() { return roundTripMillis; }
+    public void setRoundTripMillis(Long roundTripMillis) { this.roundTripMillis = roundTripMillis; }
+}
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.timerfy.websocket;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.timerfy.model.Timer;
 import com.timerfy.model.TimerState;
 import com.timerfy.model.TimerType;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class TimerEventDto {
     
@@ -81,11 +83,13 @@ public class TimerEventDto {
 class TimerTickEventDto {
     private String timerId;
     private long currentTime;
+    private long currentTimeMillis;
     private TimerState state;
     
-    public TimerTickEventDto(String timerId, long currentTime, TimerState state) {
+    public TimerTickEventDto(String timerId, long currentTime, long currentTimeMillis, TimerState state) {
         this.timerId = timerId;
         this.currentTime = currentTime;
+        this.currentTimeMillis = currentTimeMillis;
         this.state = state;
     }
     
@@ -95,23 +99,47 @@ class TimerTickEventDto {
     public long getCurrentTime() { return currentTime; }
     public void setCurrentTime(long currentTime) { this.currentTime = currentTime; }
     
+    public long getCurrentTimeMillis() { return currentTimeMillis; }
+    public void setCurrentTimeMillis(long currentTimeMillis) { this.currentTimeMillis = currentTimeMillis; }
+    
     public TimerState getState() { return state; }
     public void setState(TimerState state) { this.state = state; }
 }
 
+// DTO for the one frame a room's tick sends for all of its running timers
+class RoomTickEventDto {
+    private List<TimerTickEventDto> timers;
+    
+    public RoomTickEventDto(List<TimerTickEventDto> timers) {
+        this.timers = timers;
+    }
+    
+    public List<TimerTickEventDto> getTimers() { return timers; }
+    public void setTimers(List<TimerTickEventDto> timers) { this.timers = timers; }
+}
+
 // DTO for timer control events (start, stop, pause, reset)
 class TimerControlEventDto {
     private String timerId;
     private TimerState state;
     private long currentTime;
+    private long currentTimeMillis;
+    // Server clock millis at which currentTimeMillis was read, so clients can interpolate a running
+    // timer until the next event instead of waiting for ticks
+    private long serverTime;
+    // Server clock millis a scheduled timer starts at; timestamp only has whole seconds
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long startsAt;
     
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
     private LocalDateTime timestamp;
     
-    public TimerControlEventDto(String timerId, TimerState state, long currentTime, LocalDateTime timestamp) {
+    public TimerControlEventDto(String timerId, TimerState state, long currentTime, long currentTimeMillis, long serverTime, LocalDateTime timestamp) {
         this.timerId = timerId;
         this.state = state;
         this.currentTime = currentTime;
+        this.currentTimeMillis = currentTimeMillis;
+        this.serverTime = serverTime;
         this.timestamp = timestamp;
     }
     
@@ -124,6 +152,15 @@ class TimerControlEventDto {
     public long getCurrentTime() { return currentTime; }
     public void setCurrentTime(long currentTime) { this.currentTime = currentTime; }
     
+    public long getCurrentTimeMillis() { return currentTimeMillis; }
+    public void setCurrentTimeMillis(long currentTimeMillis) { this.currentTimeMillis = currentTimeMillis; }
+    
+    public long getServerTime() { return serverTime; }
+    public void setServerTime(long serverTime) { this.serverTime = serverTime; }
+    
+    public Long getStartsAt() { return startsAt; }
+    public void setStartsAt(Long startsAt) { this.startsAt = startsAt; }
+    
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
 }
@@ -184,6 +221,40 @@ class TimerAlertEventDto {
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
 }
 
+// DTO for a sequence handing over from a completed timer to the next, sent as one message
+class TimerSequenceEventDto {
+    private TimerCompletedEventDto completed;
+    private TimerControlEventDto started;
+    
+    public TimerSequenceEventDto(TimerCompletedEventDto completed, TimerControlEventDto started) {
+        this.completed = completed;
+        this.started = started;
+    }
+    
+    public TimerCompletedEventDto getCompleted() { return completed; }
+    public void setCompleted(TimerCompletedEventDto completed) { this.completed = completed; }
+    
+    public TimerControlEventDto getStarted() { return started; }
+    public void setStarted(TimerControlEventDto started) { this.started = started; }
+}
+
+// DTO for several timers changed by one control operation, sent as one message
+class TimerBulkControlEventDto {
+    private String eventType;
+    private List<TimerControlEventDto> timers;
+    
+    public TimerBulkControlEventDto(String eventType, List<TimerControlEventDto> timers) {
+        this.eventType = eventType;
+        this.timers = timers;
+    }
+    
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+    
+    public List<TimerControlEventDto> getTimers() { return timers; }
+    public void setTimers(List<TimerControlEventDto> timers) { this.timers = timers; }
+}
+
 // DTO for timer completion events
 class TimerCompletedEventDto {
     private String timerId;
@@ -1,6 +1,7 @@
 package com.timerfy.websocket;
 
 import com.timerfy.model.Timer;
+import com.timerfy.model.TimerClock;
 import com.timerfy.service.TimerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +10,10 @@ import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -52,6 +57,9 @@ public class TimerEventListener {
                 case "TIMER_STARTED":
                     handleTimerStarted(roomId, timer);
                     break;
+                case "TIMER_SCHEDULED":
+                    handleTimerScheduled(roomId, timer);
+                    break;
                 case "TIMER_STOPPED":
                     handleTimerStopped(roomId, timer);
                     break;
@@ -85,6 +93,80 @@ public class TimerEventListener {
         }
     }
     
+    @Async
+    @EventListener
+    public void handleRoomTick(TimerService.RoomTickEvent event) {
+        String roomId = event.getRoomId();
+        if (shouldRateLimit(roomId)) {
+            return;
+        }
+        
+        // Only send essential data for tick events to minimize bandwidth
+        List<TimerTickEventDto> timers = event.getTimers().stream()
+                .map(timer -> new TimerTickEventDto(timer.getId(), timer.getCurrentTime(), timer.getCurrentTimeMillis(), timer.getState()))
+                .toList();
+        
+        WebSocketMessage message = new WebSocketMessage("ROOM_TICK", new RoomTickEventDto(timers));
+        broadcastToRoom(roomId, message);
+    }
+    
+    @Async
+    @EventListener
+    public void handleSequenceEvent(TimerService.SequenceEvent event) {
+        Timer completed = event.getCompleted();
+        Timer started = event.getStarted();
+        long now = TimerClock.currentTimeMillis();
+        TimerSequenceEventDto eventDto = new TimerSequenceEventDto(
+            new TimerCompletedEventDto(
+                completed.getId(),
+                completed.getName(),
+                completed.getCompletedAt(),
+                completed.getSettings().getPlaySound(),
+                completed.getSettings().getAutoReset()
+            ),
+            new TimerControlEventDto(
+                started.getId(),
+                started.getState(),
+                started.currentTimeAt(now),
+                started.currentTimeMillisAt(now),
+                now,
+                started.getStartedAt()
+            )
+        );
+        
+        WebSocketMessage message = new WebSocketMessage("TIMER_SEQUENCE_ADVANCED", eventDto);
+        broadcastToRoom(event.getRoomId(), message);
+        
+        logger.info("Broadcasted sequence advancing from timer {} to timer {} in room {}",
+                   completed.getId(), started.getId(), event.getRoomId());
+    }
+    
+    @Async
+    @EventListener
+    public void handleBulkControlEvent(TimerService.BulkControlEvent event) {
+        String eventType = event.getEventType();
+        long now = TimerClock.currentTimeMillis();
+        List<TimerControlEventDto> timers = event.getTimers().stream()
+                .map(timer -> new TimerControlEventDto(
+                    timer.getId(),
+                    timer.getState(),
+                    timer.currentTimeAt(now),
+                    timer.currentTimeMillisAt(now),
+                    now,
+                    switch (eventType) {
+                        case "TIMER_STARTED", "TIMER_ADJUSTED" -> timer.getStartedAt();
+                        case "TIMER_PAUSED" -> timer.getPausedAt();
+                        default -> null;
+                    }
+                ))
+                .toList();
+        
+        WebSocketMessage message = new WebSocketMessage("TIMERS_CONTROLLED", new TimerBulkControlEventDto(eventType, timers));
+        broadcastToRoom(event.getRoomId(), message);
+        
+        logger.debug("Broadcasted {} for {} timers in room {}", eventType, timers.size(), event.getRoomId());
+    }
+    
     private void handleTimerCreated(String roomId, Timer timer) {
         TimerEventDto eventDto = new TimerEventDto(
             timer.getId(),
@@ -135,10 +217,13 @@ public class TimerEventListener {
     }
     
     private void handleTimerStarted(String roomId, Timer timer) {
+        long now = TimerClock.currentTimeMillis();
         TimerControlEventDto eventDto = new TimerControlEventDto(
             timer.getId(),
             timer.getState(),
-            timer.getCurrentTime(),
+            timer.currentTimeAt(now),
+            timer.currentTimeMillisAt(now),
+            now,
             timer.getStartedAt()
         );
         
@@ -148,11 +233,32 @@ public class TimerEventListener {
         logger.debug("Broadcasted timer started event for timer {} in room {}", timer.getId(), roomId);
     }
     
+    private void handleTimerScheduled(String roomId, Timer timer) {
+        long now = TimerClock.currentTimeMillis();
+        TimerControlEventDto eventDto = new TimerControlEventDto(
+            timer.getId(),
+            timer.getState(),
+            timer.currentTimeAt(now),
+            timer.currentTimeMillisAt(now),
+            now,
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(timer.getScheduledStartMillis()), ZoneId.systemDefault())
+        );
+        eventDto.setStartsAt(timer.getScheduledStartMillis());
+        
+        WebSocketMessage message = new WebSocketMessage("TIMER_SCHEDULED", eventDto);
+        broadcastToRoom(roomId, message);
+        
+        logger.debug("Broadcasted timer scheduled event for timer {} in room {}", timer.getId(), roomId);
+    }
+    
     private void handleTimerStopped(String roomId, Timer timer) {
+        long now = TimerClock.currentTimeMillis();
         TimerControlEventDto eventDto = new TimerControlEventDto(
             timer.getId(),
             timer.getState(),
-            timer.getCurrentTime(),
+            timer.currentTimeAt(now),
+            timer.currentTimeMillisAt(now),
+            now,
             null
         );
         
@@ -163,10 +269,13 @@ public class TimerEventListener {
     }
     
     private void handleTimerPaused(String roomId, Timer timer) {
+        long now = TimerClock.currentTimeMillis();
         TimerControlEventDto eventDto = new TimerControlEventDto(
             timer.getId(),
             timer.getState(),
-            timer.getCurrentTime(),
+            timer.currentTimeAt(now),
+            timer.currentTimeMillisAt(now),
+            now,
             timer.getPausedAt()
         );
         
@@ -177,10 +286,13 @@ public class TimerEventListener {
     }
     
     private void handleTimerReset(String roomId, Timer timer) {
+        long now = TimerClock.currentTimeMillis();
         TimerControlEventDto eventDto = new TimerControlEventDto(
             timer.getId(),
             timer.getState(),
-            timer.getCurrentTime(),
+            timer.currentTimeAt(now),
+            timer.currentTimeMillisAt(now),
+            now,
             null
         );
         
@@ -191,10 +303,13 @@ public class TimerEventListener {
     }
     
     private void handleTimerAdjusted(String roomId, Timer timer) {
+        long now = TimerClock.currentTimeMillis();
         TimerControlEventDto eventDto = new TimerControlEventDto(
             timer.getId(),
             timer.getState(),
-            timer.getCurrentTime(),
+            timer.currentTimeAt(now),
+            timer.currentTimeMillisAt(now),
+            now,
             timer.getStartedAt()
         );
         
@@ -209,6 +324,7 @@ public class TimerEventListener {
         TimerTickEventDto eventDto = new TimerTickEventDto(
             timer.getId(),
             timer.getCurrentTime(),
+            timer.getCurrentTimeMillis(),
             timer.getState()
         );
         
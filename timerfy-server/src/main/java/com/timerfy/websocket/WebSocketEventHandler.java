@@ -1,10 +1,12 @@
 package com.timerfy.websocket;
 
 import com.timerfy.model.UserRole;
+import com.timerfy.repository.BroadcastLatencyRepository;
 import com.timerfy.service.RoomService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
@@ -16,6 +18,7 @@ import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Component
@@ -35,6 +38,15 @@ public class WebSocketEventHandler {
     @Autowired
     private RoomService roomService;
     
+    @Autowired
+    private BroadcastLatencyRepository broadcastLatencyRepository;
+    
+    @Value("${timerfy.sync-start.latency-ttl-ms:60000}")
+    private long latencyTtlMillis = 60000;
+    
+    // Identifies the latency samples this node publishes for its sessions
+    private final String nodeId = UUID.randomUUID().toString();
+    
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
@@ -61,6 +73,7 @@ public class WebSocketEventHandler {
             // Remove from room subscriptions
             String roomId = connectionInfo.getRoomId();
             removeFromRoomSubscriptions(roomId, sessionId);
+            publishBroadcastLatency(roomId);
             
             // Update room statistics
             updateRoomStatistics(roomId);
@@ -129,6 +142,7 @@ public class WebSocketEventHandler {
             
             // Remove from room subscriptions
             removeFromRoomSubscriptions(roomId, sessionId);
+            publishBroadcastLatency(roomId);
             
             // Clear room info from connection
             connectionInfo.setRoomId(null);
@@ -270,6 +284,52 @@ public class WebSocketEventHandler {
         return roomSubs != null ? roomSubs.size() : 0;
     }
     
+    /**
+     * Records the round trip a session measured with its last time sync and publishes the room's
+     * latency on this node for the other nodes to see.
+     */
+    public void recordRoundTrip(String sessionId, long roundTripMillis) {
+        ConnectionInfo connectionInfo = activeConnections.get(sessionId);
+        if (connectionInfo != null && roundTripMillis >= 0) {
+            connectionInfo.setRoundTripMillis(roundTripMillis);
+            String roomId = connectionInfo.getRoomId();
+            if (roomId != null) {
+                publishBroadcastLatency(roomId);
+            }
+        }
+    }
+    
+    /**
+     * The longest one-way delay, half the round trip, reported by a session in the room on any
+     * node, or -1 when none of them has synced its clock yet. Samples from other nodes last
+     * timerfy.sync-start.latency-ttl-ms after their clients last synced.
+     */
+    public long getBroadcastLatencyMillis(String roomId) {
+        return Math.max(getLocalBroadcastLatencyMillis(roomId), broadcastLatencyRepository.longest(roomId));
+    }
+    
+    private void publishBroadcastLatency(String roomId) {
+        long latencyMillis = getLocalBroadcastLatencyMillis(roomId);
+        if (latencyMillis >= 0) {
+            broadcastLatencyRepository.record(roomId, nodeId, latencyMillis, latencyTtlMillis);
+        } else {
+            broadcastLatencyRepository.withdraw(roomId, nodeId);
+        }
+    }
+    
+    private long getLocalBroadcastLatencyMillis(String roomId) {
+        ConcurrentHashMap<String, ConnectionInfo> roomSubs = roomSubscriptions.get(roomId);
+        if (roomSubs == null) {
+            return -1;
+        }
+        return roomSubs.values().stream()
+                .mapToLong(ConnectionInfo::getRoundTripMillis)
+                .filter(roundTrip -> roundTrip >= 0)
+                .map(roundTrip -> roundTrip / 2)
+                .max()
+                .orElse(-1);
+    }
+    
     public void broadcastToRoom(String roomId, Object message) {
         messagingTemplate.convertAndSend("/topic/room/" + roomId, message);
     }
@@ -281,6 +341,7 @@ public class WebSocketEventHandler {
         private String roomId;
         private UserRole role = UserRole.VIEWER;
         private String clientInfo;
+        private volatile long roundTripMillis = -1;
         
         public ConnectionInfo(String sessionId, LocalDateTime connectedAt) {
             this.sessionId = sessionId;
@@ -296,6 +357,8 @@ public class WebSocketEventHandler {
         public void setRole(UserRole role) { this.role = role; }
         public String getClientInfo() { return clientInfo; }
         public void setClientInfo(String clientInfo) { this.clientInfo = clientInfo; }
+        public long getRoundTripMillis() { return roundTripMillis; }
+        public void setRoundTripMillis(long roundTripMillis) { this.roundTripMillis = roundTripMillis; }
     }
     
     public static class UserCountUpdate {
@@ -0,0 +1,20 @@
+-- Returns the longest latency among the live samples nodes published for a room, dropping the
+-- samples that expired.
+--
+-- KEYS[1]  room latency hash
+-- ARGV[1]  current time in TimerClock milliseconds
+--
+-- Returns the latency in milliseconds, or -1 when no node has a live sample.
+
+local now = tonumber(ARGV[1])
+local longest = -1
+local samples = redis.call('HGETALL', KEYS[1])
+for i = 1, #samples, 2 do
+    local latency, expiresAt = string.match(samples[i + 1], '^(%d+):(%d+)$')
+    if latency and tonumber(expiresAt) > now then
+        longest = math.max(longest, tonumber(latency))
+    else
+        redis.call('HDEL', KEYS[1], samples[i])
+    end
+end
+return longest
\ No newline at end of file
@@ -0,0 +1,16 @@
+-- Publishes one node's broadcast latency for a room, replacing the node's earlier sample.
+--
+-- KEYS[1]  room latency hash
+-- ARGV[1]  node id
+-- ARGV[2]  latency in milliseconds
+-- ARGV[3]  current time in TimerClock milliseconds
+-- ARGV[4]  sample TTL in milliseconds
+--
+-- Returns 1. The hash's own expiry is only ever pushed out, so it outlives every sample in it.
+
+local ttl = tonumber(ARGV[4])
+redis.call('HSET', KEYS[1], ARGV[1], ARGV[2] .. ':' .. (tonumber(ARGV[3]) + ttl))
+if redis.call('PTTL', KEYS[1]) < ttl then
+    redis.call('PEXPIRE', KEYS[1], ttl)
+end
+return 1
\ No newline at end of file
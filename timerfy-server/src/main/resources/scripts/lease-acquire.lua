@@ -0,0 +1,24 @@
+-- Takes or extends a room's tick lease and records the room as running. The room is recorded
+-- even when another node holds the lease: the caller has just started a timer in it, and the
+-- index must keep the room visible to adoption should the holder go away or let go of it.
+--
+-- KEYS[1]  lease key
+-- KEYS[2]  running rooms index
+-- ARGV[1]  node id
+-- ARGV[2]  lease TTL in milliseconds
+-- ARGV[3]  room id
+--
+-- Returns 1 when the node holds the lease and 0 when another node does.
+
+redis.call('SADD', KEYS[2], ARGV[3])
+
+local holder = redis.call('GET', KEYS[1])
+if holder == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], tonumber(ARGV[2]))
+elseif holder then
+    return 0
+else
+    redis.call('SET', KEYS[1], ARGV[1], 'PX', tonumber(ARGV[2]))
+end
+
+return 1
\ No newline at end of file
@@ -0,0 +1,15 @@
+-- Takes the tick leases no node holds.
+--
+-- KEYS     lease keys
+-- ARGV[1]  node id
+-- ARGV[2]  lease TTL in milliseconds
+--
+-- Returns the 1-based positions of the keys whose lease was taken.
+
+local claimed = {}
+for i, key in ipairs(KEYS) do
+    if redis.call('SET', key, ARGV[1], 'NX', 'PX', tonumber(ARGV[2])) then
+        claimed[#claimed + 1] = i
+    end
+end
+return claimed
\ No newline at end of file
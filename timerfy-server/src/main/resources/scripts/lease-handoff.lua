@@ -0,0 +1,16 @@
+-- Drops the tick leases a node holds without touching the running index, so the rooms can be
+-- claimed by another node straight away.
+--
+-- KEYS     lease keys
+-- ARGV[1]  node id
+--
+-- Returns the 1-based positions of the keys whose lease was dropped.
+
+local dropped = {}
+for i, key in ipairs(KEYS) do
+    if redis.call('GET', key) == ARGV[1] then
+        redis.call('DEL', key)
+        dropped[#dropped + 1] = i
+    end
+end
+return dropped
\ No newline at end of file
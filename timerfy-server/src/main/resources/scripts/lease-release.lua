@@ -0,0 +1,17 @@
+-- Gives up a room's tick lease and drops it from the running index, unless another node holds it.
+--
+-- KEYS[1]  lease key
+-- KEYS[2]  running rooms index
+-- ARGV[1]  node id
+-- ARGV[2]  room id
+--
+-- Returns 1 when released and 0 when another node holds the lease.
+
+local holder = redis.call('GET', KEYS[1])
+if holder and holder ~= ARGV[1] then
+    return 0
+end
+
+redis.call('DEL', KEYS[1])
+redis.call('SREM', KEYS[2], ARGV[2])
+return 1
\ No newline at end of file
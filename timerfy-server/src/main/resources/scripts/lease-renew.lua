@@ -0,0 +1,17 @@
+-- Extends the tick leases a node still holds.
+--
+-- KEYS     lease keys
+-- ARGV[1]  node id
+-- ARGV[2]  lease TTL in milliseconds
+--
+-- Returns the 1-based positions of the keys whose lease the node no longer holds.
+
+local lost = {}
+for i, key in ipairs(KEYS) do
+    if redis.call('GET', key) == ARGV[1] then
+        redis.call('PEXPIRE', key, tonumber(ARGV[2]))
+    else
+        lost[#lost + 1] = i
+    end
+end
+return lost
\ No newline at end of file
@@ -0,0 +1,33 @@
+-- Deletes a room together with everything kept about it outside its hash: its stats, its place in
+-- the expiry index, its tick lease and running index entry, the scheduled starts of its timers and
+-- its latency samples.
+--
+-- KEYS[1]  room hash key
+-- KEYS[2]  room stats key
+-- KEYS[3]  sorted set of room ids scored by expiresAt
+-- KEYS[4]  tick lease key
+-- KEYS[5]  running rooms index
+-- KEYS[6]  scheduled starts sorted set, members roomId:timerId
+-- KEYS[7]  latency samples hash
+-- ARGV[1]  room id
+--
+-- Returns 1 when the room existed and 0 otherwise. Publishes "roomId" on rooms:invalidations.
+
+local roomId = ARGV[1]
+
+-- Legacy string rooms predate scheduled starts
+if redis.call('TYPE', KEYS[1]).ok == 'hash' then
+    for _, field in ipairs(redis.call('HKEYS', KEYS[1])) do
+        local timerId = string.match(field, '^timer:(.+)$')
+        if timerId then
+            redis.call('ZREM', KEYS[6], roomId .. ':' .. timerId)
+        end
+    end
+end
+
+local deleted = redis.call('DEL', KEYS[1])
+redis.call('DEL', KEYS[2], KEYS[4], KEYS[7])
+redis.call('ZREM', KEYS[3], roomId)
+redis.call('SREM', KEYS[5], roomId)
+redis.call('PUBLISH', 'rooms:invalidations', roomId)
+return deleted
\ No newline at end of file
@@ -0,0 +1,51 @@
+-- Deletes one bounded batch of expired rooms from the expiry index in one round trip, together
+-- with their stats, tick leases, running index entries, scheduled starts and latency samples.
+--
+-- KEYS[1]  sorted set of room ids scored by expiresAt in epoch seconds
+-- KEYS[2]  legacy set of active room ids
+-- KEYS[3]  running rooms index
+-- KEYS[4]  scheduled starts sorted set, members roomId:timerId
+-- ARGV[1]  current time in epoch seconds
+-- ARGV[2]  maximum number of rooms to migrate and to delete
+-- ARGV[3]  room TTL in seconds, used for legacy rooms whose key never expires
+--
+-- Returns {migrated, deleted}. Deleted rooms publish "roomId" on rooms:invalidations.
+
+local expiryKey = KEYS[1]
+local legacyKey = KEYS[2]
+local runningKey = KEYS[3]
+local scheduledKey = KEYS[4]
+local now = tonumber(ARGV[1])
+local limit = tonumber(ARGV[2])
+local ttl = tonumber(ARGV[3])
+
+-- Rooms created before the index existed are only in the legacy set; score them by when their key expires
+local legacy = redis.call('SPOP', legacyKey, limit)
+for _, roomId in ipairs(legacy) do
+    local remaining = redis.call('TTL', 'room:' .. roomId)
+    if remaining >= 0 then
+        redis.call('ZADD', expiryKey, now + remaining, roomId)
+    elseif remaining == -1 then
+        redis.call('ZADD', expiryKey, now + ttl, roomId)
+    end
+end
+
+local expired = redis.call('ZRANGEBYSCORE', expiryKey, '-inf', now, 'LIMIT', 0, limit)
+for _, roomId in ipairs(expired) do
+    local roomKey = 'room:' .. roomId
+    -- Legacy string rooms predate scheduled starts
+    if redis.call('TYPE', roomKey).ok == 'hash' then
+        for _, field in ipairs(redis.call('HKEYS', roomKey)) do
+            local timerId = string.match(field, '^timer:(.+)$')
+            if timerId then
+                redis.call('ZREM', scheduledKey, roomId .. ':' .. timerId)
+            end
+        end
+    end
+    redis.call('DEL', roomKey, 'room:stats:' .. roomId, 'lease:room:' .. roomId, 'latency:room:' .. roomId)
+    redis.call('SREM', runningKey, roomId)
+    redis.call('ZREM', expiryKey, roomId)
+    redis.call('PUBLISH', 'rooms:invalidations', roomId)
+end
+
+return {#legacy, #expired}
\ No newline at end of file
@@ -0,0 +1,17 @@
+-- Records room activity and refreshes the TTL without touching the room document or its version.
+--
+-- KEYS[1]  room hash key
+-- ARGV[1]  activity time as yyyy-MM-ddTHH:mm:ssZ
+-- ARGV[2]  TTL in seconds
+--
+-- Returns 1 when the room was touched and 0 when it is missing or still stored as a JSON string.
+
+local key = KEYS[1]
+
+if redis.call('TYPE', key).ok ~= 'hash' then
+    return 0
+end
+
+redis.call('HSET', key, 'activity', ARGV[1])
+redis.call('EXPIRE', key, tonumber(ARGV[2]))
+return 1
\ No newline at end of file
@@ -0,0 +1,55 @@
+-- Applies a field-level patch to a room hash and refreshes its TTL in one round trip.
+--
+-- KEYS[1]  room hash key
+-- ARGV[1]  TTL in seconds
+-- ARGV[2]  "1" to replace the whole hash, "0" to patch an existing one
+-- ARGV[3]  expected room version, "0" to create the room only if the key is free, or "-1" to
+--          write unconditionally
+-- ARGV[4]  number of fields to set, followed by that many field/value pairs
+-- ARGV[..] remaining arguments are fields to delete
+--
+-- Returns the new room version when written, 0 when a patch targets a room that no longer
+-- exists and -1 when the stored version does not match the expected one or the key is taken.
+-- Successful writes publish "roomId version" on rooms:invalidations for the near caches of
+-- other nodes.
+
+local key = KEYS[1]
+local ttl = tonumber(ARGV[1])
+local replace = ARGV[2] == '1'
+local expected = tonumber(ARGV[3])
+local setCount = tonumber(ARGV[4])
+
+local current = 0
+local keyType = redis.call('TYPE', key).ok
+if keyType == 'hash' then
+    current = tonumber(redis.call('HGET', key, 'version')) or 0
+elseif not replace then
+    return 0
+elseif keyType ~= 'none' and expected >= 0 then
+    -- A legacy string room still holds the key
+    return -1
+end
+
+if expected >= 0 and expected ~= current then
+    return -1
+end
+
+if replace then
+    redis.call('DEL', key)
+end
+
+local index = 5
+for _ = 1, setCount do
+    redis.call('HSET', key, ARGV[index], ARGV[index + 1])
+    index = index + 2
+end
+
+for i = index, #ARGV do
+    redis.call('HDEL', key, ARGV[i])
+end
+
+local version = current + 1
+redis.call('HSET', key, 'version', version)
+redis.call('EXPIRE', key, ttl)
+redis.call('PUBLISH', 'rooms:invalidations', string.match(key, ':(.+)$') .. ' ' .. version)
+return version
\ No newline at end of file
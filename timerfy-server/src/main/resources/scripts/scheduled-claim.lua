@@ -0,0 +1,13 @@
+-- Removes and returns the scheduled starts that are due.
+--
+-- KEYS[1]  scheduled starts sorted set
+-- ARGV[1]  current time in TimerClock milliseconds
+-- ARGV[2]  maximum number of entries to claim
+--
+-- Returns {member, score, member, score, ...}, earliest first.
+
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, tonumber(ARGV[2]))
+for i = 1, #due, 2 do
+    redis.call('ZREM', KEYS[1], due[i])
+end
+return due
\ No newline at end of file
@@ -0,0 +1,215 @@
+-- Validates and applies a timer control operation inside the room hash in one round trip.
+--
+-- KEYS[1]  room hash key
+-- ARGV[1]  timer id
+-- ARGV[2]  operation: start, start_scheduled, schedule, pause, stop, reset, adjust or complete
+-- ARGV[3]  current time as yyyy-MM-ddTHH:mm:ssZ
+-- ARGV[4]  operand: custom start time for start and start_scheduled, TimerClock milliseconds to
+--          start at for schedule, new duration in milliseconds for reset, milliseconds to add
+--          for adjust
+-- ARGV[5]  TTL in seconds
+-- ARGV[6]  current time in TimerClock milliseconds, used for the running timer's anchor
+--
+-- Returns {'APPLIED', encodedTimer, version}, {'INVALID_STATE', state}, {'TIMER_NOT_FOUND'},
+-- {'ROOM_NOT_FOUND'} or {'LEGACY'} when the room is still stored as a JSON string.
+-- Applied transitions publish "roomId version" on rooms:invalidations. Field values are JSON or
+-- MessagePack behind a 0x01 format byte (see RoomCodec); the timer is written back in the format
+-- it was read in. Times are kept in milliseconds next to whole-second views (see Timer); timers
+-- stored before millisecond precision only have the seconds.
+
+local key = KEYS[1]
+local timerId = ARGV[1]
+local operation = ARGV[2]
+local now = ARGV[3]
+local operand = ARGV[4]
+local ttl = tonumber(ARGV[5])
+local nowMillis = tonumber(ARGV[6])
+
+local MSGPACK_V1 = '\1'
+
+local function decode(raw)
+    if string.sub(raw, 1, 1) == MSGPACK_V1 then
+        return cmsgpack.unpack(string.sub(raw, 2)), true
+    end
+    return cjson.decode(raw), false
+end
+
+local function encode(value, binary)
+    if binary then
+        return MSGPACK_V1 .. cmsgpack.pack(value)
+    end
+    return cjson.encode(value)
+end
+
+local keyType = redis.call('TYPE', key).ok
+if keyType == 'string' then
+    return {'LEGACY'}
+elseif keyType ~= 'hash' then
+    return {'ROOM_NOT_FOUND'}
+end
+
+local rawMeta = redis.call('HGET', key, 'meta')
+if not rawMeta then
+    return {'ROOM_NOT_FOUND'}
+end
+-- Timestamps share one fixed-width format, so they order lexicographically
+local expiresAt = decode(rawMeta).expiresAt
+if type(expiresAt) == 'string' and expiresAt < now then
+    return {'ROOM_NOT_FOUND'}
+end
+
+local field = 'timer:' .. timerId
+local rawTimer = redis.call('HGET', key, field)
+if not rawTimer then
+    return {'TIMER_NOT_FOUND'}
+end
+
+local timer, binary = decode(rawTimer)
+
+local function isSet(value)
+    return value ~= nil and value ~= cjson.null
+end
+
+local function toSeconds(stamp)
+    local y, m, d, hh, mm, ss = string.match(stamp, '^(%d+)-(%d+)-(%d+)T(%d+):(%d+):(%d+)')
+    y, m, d = tonumber(y), tonumber(m), tonumber(d)
+    if m <= 2 then
+        y = y - 1
+    end
+    local era = math.floor(y / 400)
+    local yoe = y - era * 400
+    local doy = math.floor((153 * ((m + 9) % 12) + 2) / 5) + d - 1
+    local doe = yoe * 365 + math.floor(yoe / 4) - math.floor(yoe / 100) + doy
+    local days = era * 146097 + doe - 719468
+    return days * 86400 + tonumber(hh) * 3600 + tonumber(mm) * 60 + tonumber(ss)
+end
+
+local function millis(name)
+    local value = tonumber(timer[name .. 'Millis'])
+    if value then
+        return value
+    end
+    return (tonumber(timer[name]) or 0) * 1000
+end
+
+-- Mirrors Timer.toSeconds: countdowns round up, stopwatches round down
+local function wholeSeconds(value)
+    if timer.type == 'COUNTDOWN' then
+        return math.floor((value + 999) / 1000)
+    end
+    return math.floor(value / 1000)
+end
+
+local function setCurrentTime(value)
+    timer.currentTimeMillis = value
+    timer.currentTime = wholeSeconds(value)
+end
+
+local function setDuration(value)
+    timer.durationMillis = value
+    timer.duration = math.floor((value + 999) / 1000)
+end
+
+local function setAnchorTime(value)
+    timer.anchorTimeMillis = value
+    timer.anchorTime = nil
+end
+
+-- Mirrors Timer.currentTimeMillisAt: a running timer advances from the value it had at anchoredAt
+local function isAnchored()
+    return timer.state == 'RUNNING' and (tonumber(timer.anchoredAt) or 0) > 0
+end
+
+local function currentTime()
+    if not isAnchored() then
+        return millis('currentTime')
+    end
+    local elapsed = math.max(0, nowMillis - timer.anchoredAt)
+    if timer.type == 'COUNTDOWN' then
+        return math.max(0, millis('anchorTime') - elapsed)
+    end
+    return math.max(0, millis('anchorTime') + elapsed)
+end
+
+local function stop()
+    timer.state = 'STOPPED'
+    timer.startedAt = cjson.null
+    timer.pausedAt = cjson.null
+    timer.pausedDuration = 0
+    timer.anchoredAt = 0
+    timer.scheduledStartMillis = 0
+    setAnchorTime(0)
+    setDuration(millis('duration'))
+    setCurrentTime(timer.type == 'COUNTDOWN' and timer.durationMillis or 0)
+end
+
+local function start(anchoredAt)
+    timer.state = 'RUNNING'
+    timer.startedAt = operand ~= '' and operand or now
+    if isSet(timer.pausedAt) then
+        timer.pausedDuration = (tonumber(timer.pausedDuration) or 0) + toSeconds(now) - toSeconds(timer.pausedAt)
+        timer.pausedAt = cjson.null
+    end
+    timer.anchoredAt = anchoredAt
+    timer.scheduledStartMillis = 0
+    setAnchorTime(millis('currentTime'))
+end
+
+if operation == 'start' then
+    if timer.state ~= 'STOPPED' and timer.state ~= 'PAUSED' and timer.state ~= 'SCHEDULED' then
+        return {'INVALID_STATE', timer.state}
+    end
+    start(nowMillis)
+elseif operation == 'start_scheduled' then
+    if timer.state ~= 'SCHEDULED' then
+        return {'INVALID_STATE', timer.state}
+    end
+    -- Count from the time it was armed for, not from whenever the dispatcher got to it
+    local armedAt = tonumber(timer.scheduledStartMillis) or 0
+    start(armedAt > 0 and math.min(armedAt, nowMillis) or nowMillis)
+elseif operation == 'schedule' then
+    if timer.state ~= 'STOPPED' and timer.state ~= 'PAUSED' and timer.state ~= 'SCHEDULED' then
+        return {'INVALID_STATE', timer.state}
+    end
+    timer.state = 'SCHEDULED'
+    timer.scheduledStartMillis = tonumber(operand)
+elseif operation == 'pause' then
+    if timer.state ~= 'RUNNING' then
+        return {'INVALID_STATE', timer.state}
+    end
+    setCurrentTime(currentTime())
+    timer.anchoredAt = 0
+    timer.state = 'PAUSED'
+    timer.pausedAt = now
+elseif operation == 'stop' then
+    stop()
+elseif operation == 'reset' then
+    if operand ~= '' then
+        setDuration(tonumber(operand))
+    end
+    stop()
+elseif operation == 'adjust' then
+    local current = currentTime()
+    local adjustment = tonumber(operand)
+    if isAnchored() then
+        setAnchorTime(millis('anchorTime') + math.max(adjustment, -current))
+    end
+    setCurrentTime(math.max(0, current + adjustment))
+elseif operation == 'complete' then
+    if timer.state ~= 'RUNNING' then
+        return {'INVALID_STATE', timer.state}
+    end
+    setCurrentTime(timer.type == 'COUNTDOWN' and 0 or currentTime())
+    timer.anchoredAt = 0
+    timer.state = 'COMPLETED'
+    timer.completedAt = now
+else
+    return redis.error_reply('unknown timer operation ' .. operation)
+end
+
+local encoded = encode(timer, binary)
+redis.call('HSET', key, field, encoded)
+local version = redis.call('HINCRBY', key, 'version', 1)
+redis.call('EXPIRE', key, ttl)
+redis.call('PUBLISH', 'rooms:invalidations', string.match(key, ':(.+)$') .. ' ' .. version)
+return {'APPLIED', encoded, tostring(version)}
\ No newline at end of file
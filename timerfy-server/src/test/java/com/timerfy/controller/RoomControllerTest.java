@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.timerfy.dto.RoomSettingsRequest;
 import com.timerfy.model.Room;
 import com.timerfy.service.RoomService;
+import com.timerfy.service.TimerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +15,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -32,6 +34,9 @@ class RoomControllerTest {
     @MockBean
     private RoomService roomService;
 
+    @MockBean
+    private TimerService timerService;
+
     private Room testRoom;
     private final String TEST_ROOM_ID = "ABC123";
 
@@ -42,6 +47,14 @@ class RoomControllerTest {
         testRoom.setLastActivity(LocalDateTime.now());
     }
 
+    private void givenSettingsUpdate() {
+        when(roomService.updateSettings(eq(TEST_ROOM_ID), any())).thenAnswer(invocation -> {
+            Consumer<Room.RoomSettings> change = invocation.getArgument(1);
+            change.accept(testRoom.getSettings());
+            return Optional.of(testRoom);
+        });
+    }
+
     @Test
     void createRoom_ShouldReturnCreatedRoom() throws Exception {
         // Given
@@ -192,7 +205,7 @@ class RoomControllerTest {
         settingsRequest.setBackgroundColor("#FFFFFF");
         settingsRequest.setFontFamily("Arial");
 
-        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        givenSettingsUpdate();
 
         // When & Then
         mockMvc.perform(put("/api/v1/rooms/{roomId}/settings", TEST_ROOM_ID)
@@ -207,8 +220,7 @@ class RoomControllerTest {
                 .andExpect(jsonPath("$.data.settings.backgroundColor").value("#FFFFFF"))
                 .andExpect(jsonPath("$.data.settings.fontFamily").value("Arial"));
 
-        verify(roomService).getRoomById(TEST_ROOM_ID);
-        verify(roomService).saveRoom(any(Room.class));
+        verify(roomService).updateSettings(eq(TEST_ROOM_ID), any());
     }
 
     @Test
@@ -217,7 +229,7 @@ class RoomControllerTest {
         RoomSettingsRequest settingsRequest = new RoomSettingsRequest();
         settingsRequest.setMaxTimers(15);
 
-        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.empty());
+        when(roomService.updateSettings(eq(TEST_ROOM_ID), any())).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(put("/api/v1/rooms/{roomId}/settings", TEST_ROOM_ID)
@@ -227,8 +239,7 @@ class RoomControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.error.code").value("ROOM_NOT_FOUND"));
 
-        verify(roomService).getRoomById(TEST_ROOM_ID);
-        verify(roomService, never()).saveRoom(any(Room.class));
+        verify(roomService).updateSettings(eq(TEST_ROOM_ID), any());
     }
 
     @Test
@@ -237,7 +248,7 @@ class RoomControllerTest {
         RoomSettingsRequest settingsRequest = new RoomSettingsRequest();
         settingsRequest.setMaxTimers(20); // Only update max timers
 
-        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        givenSettingsUpdate();
 
         // When & Then
         mockMvc.perform(put("/api/v1/rooms/{roomId}/settings", TEST_ROOM_ID)
@@ -247,8 +258,27 @@ class RoomControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.settings.maxTimers").value(20));
 
-        verify(roomService).getRoomById(TEST_ROOM_ID);
-        verify(roomService).saveRoom(any(Room.class));
+        verify(roomService).updateSettings(eq(TEST_ROOM_ID), any());
+    }
+
+    @Test
+    void updateRoomSettings_ShouldApplyStoredTickRate() throws Exception {
+        // Given
+        RoomSettingsRequest settingsRequest = new RoomSettingsRequest();
+        settingsRequest.setTickRate(4);
+        Room stored = new Room(TEST_ROOM_ID);
+        stored.getSettings().setTickRate(2); // a concurrent update won
+
+        when(roomService.updateSettings(eq(TEST_ROOM_ID), any())).thenReturn(Optional.of(stored));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/rooms/{roomId}/settings", TEST_ROOM_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(settingsRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.settings.tickRate").value(2));
+
+        verify(timerService).applyTickRate(TEST_ROOM_ID, 2);
     }
 
     @Test
@@ -262,8 +292,7 @@ class RoomControllerTest {
                 .content(invalidJson))
                 .andExpect(status().isBadRequest());
 
-        verify(roomService, never()).getRoomById(anyString());
-        verify(roomService, never()).saveRoom(any(Room.class));
+        verify(roomService, never()).updateSettings(anyString(), any());
     }
 
     @Test
@@ -278,8 +307,7 @@ class RoomControllerTest {
                 .content(objectMapper.writeValueAsString(settingsRequest)))
                 .andExpect(status().isBadRequest());
 
-        verify(roomService, never()).getRoomById(anyString());
-        verify(roomService, never()).saveRoom(any(Room.class));
+        verify(roomService, never()).updateSettings(anyString(), any());
     }
 
     @Test
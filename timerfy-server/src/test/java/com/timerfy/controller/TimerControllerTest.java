@@ -1,13 +1,18 @@
 package com.timerfy.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timerfy.dto.BulkTimerControlRequest;
 import com.timerfy.dto.CreateTimerRequest;
 import com.timerfy.dto.TimerControlRequest;
 import com.timerfy.dto.UpdateTimerRequest;
 import com.timerfy.model.Timer;
+import com.timerfy.model.TimerState;
 import com.timerfy.model.TimerType;
 import com.timerfy.service.RoomService;
+import com.timerfy.service.TimerOperation;
 import com.timerfy.service.TimerService;
+import com.timerfy.service.TimerTransitionResult;
+import com.timerfy.websocket.WebSocketEventHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +22,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -39,6 +45,9 @@ class TimerControllerTest {
     @MockBean
     private TimerService timerService;
 
+    @MockBean
+    private WebSocketEventHandler webSocketEventHandler;
+
     private Timer testTimer;
     private final String TEST_ROOM_ID = "ABC123";
     private final String TEST_TIMER_ID = "timer-1";
@@ -55,7 +64,7 @@ class TimerControllerTest {
         // Given
         CreateTimerRequest request = new CreateTimerRequest();
         request.setName("New Timer");
-        request.setDuration(120000L);
+        request.setDurationMillis(120000L);
         request.setType(TimerType.COUNTDOWN);
 
         when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
@@ -82,7 +91,7 @@ class TimerControllerTest {
         // Given
         CreateTimerRequest request = new CreateTimerRequest();
         request.setName("New Timer");
-        request.setDuration(120000L);
+        request.setDurationMillis(120000L);
         request.setType(TimerType.COUNTDOWN);
 
         when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(false);
@@ -104,7 +113,7 @@ class TimerControllerTest {
         // Given
         CreateTimerRequest request = new CreateTimerRequest();
         request.setName("New Timer");
-        request.setDuration(120000L);
+        request.setDurationMillis(120000L);
         request.setType(TimerType.COUNTDOWN);
 
         when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
@@ -144,7 +153,7 @@ class TimerControllerTest {
         // Given
         UpdateTimerRequest request = new UpdateTimerRequest();
         request.setName("Updated Timer");
-        request.setDuration(180000L);
+        request.setDurationMillis(180000L);
 
         when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
         when(timerService.updateTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), eq("Updated Timer"), eq(180000L), any())).thenReturn(true);
@@ -254,9 +263,7 @@ class TimerControllerTest {
     @Test
     void startTimer_ShouldStartTimerSuccessfully() throws Exception {
         // Given
-        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
-        when(timerService.startTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any())).thenReturn(true);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
+        when(timerService.startTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any())).thenReturn(TimerTransitionResult.applied(testTimer));
 
         // When & Then
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/start", TEST_ROOM_ID, TEST_TIMER_ID))
@@ -264,9 +271,8 @@ class TimerControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.id").value(TEST_TIMER_ID));
 
-        verify(roomService).roomExists(TEST_ROOM_ID);
         verify(timerService).startTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any());
-        verify(roomService).getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID);
+        verifyNoInteractions(roomService);
     }
 
     @Test
@@ -275,9 +281,7 @@ class TimerControllerTest {
         TimerControlRequest request = new TimerControlRequest();
         request.setStartTime(LocalDateTime.now().minusMinutes(5));
 
-        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
-        when(timerService.startTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any(LocalDateTime.class))).thenReturn(true);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
+        when(timerService.startTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any(LocalDateTime.class))).thenReturn(TimerTransitionResult.applied(testTimer));
 
         // When & Then
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/start", TEST_ROOM_ID, TEST_TIMER_ID)
@@ -289,12 +293,40 @@ class TimerControllerTest {
         verify(timerService).startTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any(LocalDateTime.class));
     }
 
+    @Test
+    void startTimer_SyncStart_UsesRoomBroadcastLatency() throws Exception {
+        // Given
+        TimerControlRequest request = new TimerControlRequest();
+        request.setSyncStart(true);
+        when(webSocketEventHandler.getBroadcastLatencyMillis(TEST_ROOM_ID)).thenReturn(120L);
+        when(timerService.startTimerInSync(TEST_ROOM_ID, TEST_TIMER_ID, 120L)).thenReturn(TimerTransitionResult.applied(testTimer));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/start", TEST_ROOM_ID, TEST_TIMER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(timerService, never()).startTimer(any(), any(), any());
+    }
+
+    @Test
+    void startTimer_ShouldReturn400WhenTimerAlreadyRunning() throws Exception {
+        // Given
+        when(timerService.startTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any()))
+                .thenReturn(TimerTransitionResult.invalidState(TimerState.RUNNING));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/start", TEST_ROOM_ID, TEST_TIMER_ID))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("INVALID_TIMER_STATE"));
+    }
+
     @Test
     void pauseTimer_ShouldPauseTimerSuccessfully() throws Exception {
         // Given
-        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
-        when(timerService.pauseTimer(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(true);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
+        when(timerService.pauseTimer(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(TimerTransitionResult.applied(testTimer));
 
         // When & Then
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/pause", TEST_ROOM_ID, TEST_TIMER_ID))
@@ -302,17 +334,14 @@ class TimerControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.id").value(TEST_TIMER_ID));
 
-        verify(roomService).roomExists(TEST_ROOM_ID);
         verify(timerService).pauseTimer(TEST_ROOM_ID, TEST_TIMER_ID);
-        verify(roomService).getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID);
+        verifyNoInteractions(roomService);
     }
 
     @Test
     void stopTimer_ShouldStopTimerSuccessfully() throws Exception {
         // Given
-        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
-        when(timerService.stopTimer(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(true);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
+        when(timerService.stopTimer(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(TimerTransitionResult.applied(testTimer));
 
         // When & Then
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/stop", TEST_ROOM_ID, TEST_TIMER_ID))
@@ -320,17 +349,14 @@ class TimerControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.id").value(TEST_TIMER_ID));
 
-        verify(roomService).roomExists(TEST_ROOM_ID);
         verify(timerService).stopTimer(TEST_ROOM_ID, TEST_TIMER_ID);
-        verify(roomService).getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID);
+        verifyNoInteractions(roomService);
     }
 
     @Test
     void resetTimer_ShouldResetTimerSuccessfully() throws Exception {
         // Given
-        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
-        when(timerService.resetTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any())).thenReturn(true);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
+        when(timerService.resetTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any())).thenReturn(TimerTransitionResult.applied(testTimer));
 
         // When & Then
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/reset", TEST_ROOM_ID, TEST_TIMER_ID))
@@ -338,20 +364,17 @@ class TimerControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.id").value(TEST_TIMER_ID));
 
-        verify(roomService).roomExists(TEST_ROOM_ID);
         verify(timerService).resetTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any());
-        verify(roomService).getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID);
+        verifyNoInteractions(roomService);
     }
 
     @Test
     void resetTimer_ShouldResetWithNewDuration() throws Exception {
         // Given
         TimerControlRequest request = new TimerControlRequest();
-        request.setNewDuration(300000L);
+        request.setNewDurationMillis(300000L);
 
-        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
-        when(timerService.resetTimer(TEST_ROOM_ID, TEST_TIMER_ID, 300000L)).thenReturn(true);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
+        when(timerService.resetTimer(TEST_ROOM_ID, TEST_TIMER_ID, 300000L)).thenReturn(TimerTransitionResult.applied(testTimer));
 
         // When & Then
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/reset", TEST_ROOM_ID, TEST_TIMER_ID)
@@ -367,11 +390,9 @@ class TimerControllerTest {
     void adjustTimer_ShouldAdjustTimerSuccessfully() throws Exception {
         // Given
         TimerControlRequest request = new TimerControlRequest();
-        request.setAdjustment(10000L);
+        request.setAdjustmentMillis(10000L);
 
-        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
-        when(timerService.adjustTimer(TEST_ROOM_ID, TEST_TIMER_ID, 10000L)).thenReturn(true);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
+        when(timerService.adjustTimer(TEST_ROOM_ID, TEST_TIMER_ID, 10000L)).thenReturn(TimerTransitionResult.applied(testTimer));
 
         // When & Then
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/adjust", TEST_ROOM_ID, TEST_TIMER_ID)
@@ -381,9 +402,77 @@ class TimerControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.id").value(TEST_TIMER_ID));
 
-        verify(roomService).roomExists(TEST_ROOM_ID);
         verify(timerService).adjustTimer(TEST_ROOM_ID, TEST_TIMER_ID, 10000L);
-        verify(roomService).getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID);
+        verifyNoInteractions(roomService);
+    }
+
+    @Test
+    void createTimer_ShouldFallBackToDurationInSeconds() throws Exception {
+        // Given
+        CreateTimerRequest request = new CreateTimerRequest("New Timer", 90, TimerType.COUNTDOWN);
+
+        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
+        when(roomService.canAddTimer(TEST_ROOM_ID)).thenReturn(true);
+        when(timerService.createTimer(TEST_ROOM_ID, "New Timer", 90000L, TimerType.COUNTDOWN)).thenReturn(testTimer);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/rooms/{roomId}/timers", TEST_ROOM_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        verify(timerService).createTimer(TEST_ROOM_ID, "New Timer", 90000L, TimerType.COUNTDOWN);
+    }
+
+    @Test
+    void createTimer_ShouldRequireDuration() throws Exception {
+        // Given
+        CreateTimerRequest request = new CreateTimerRequest();
+        request.setName("New Timer");
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/rooms/{roomId}/timers", TEST_ROOM_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.message").value("Timer duration is required"));
+
+        verify(timerService, never()).createTimer(anyString(), anyString(), anyLong(), any(TimerType.class));
+    }
+
+    @Test
+    void resetTimer_ShouldFallBackToNewDurationInSeconds() throws Exception {
+        // Given
+        TimerControlRequest request = new TimerControlRequest();
+        request.setNewDuration(300L);
+
+        when(timerService.resetTimer(TEST_ROOM_ID, TEST_TIMER_ID, 300000L)).thenReturn(TimerTransitionResult.applied(testTimer));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/reset", TEST_ROOM_ID, TEST_TIMER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        verify(timerService).resetTimer(TEST_ROOM_ID, TEST_TIMER_ID, 300000L);
+    }
+
+    @Test
+    void adjustTimer_ShouldPreferMillisecondsOverSeconds() throws Exception {
+        // Given
+        TimerControlRequest request = new TimerControlRequest();
+        request.setAdjustment(1L);
+        request.setAdjustmentMillis(-1500L);
+
+        when(timerService.adjustTimer(TEST_ROOM_ID, TEST_TIMER_ID, -1500L)).thenReturn(TimerTransitionResult.applied(testTimer));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/adjust", TEST_ROOM_ID, TEST_TIMER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        verify(timerService).adjustTimer(TEST_ROOM_ID, TEST_TIMER_ID, -1500L);
     }
 
     @Test
@@ -392,8 +481,6 @@ class TimerControllerTest {
         TimerControlRequest request = new TimerControlRequest();
         // No adjustment value provided
 
-        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
-
         // When & Then
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/adjust", TEST_ROOM_ID, TEST_TIMER_ID)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -402,14 +489,16 @@ class TimerControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.error.message").value("Adjustment value is required"));
 
-        verify(roomService).roomExists(TEST_ROOM_ID);
         verify(timerService, never()).adjustTimer(anyString(), anyString(), anyLong());
     }
 
     @Test
     void timerControlOperations_ShouldReturn404WhenRoomNotFound() throws Exception {
         // Given
-        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(false);
+        when(timerService.startTimer(any(), any(), any())).thenReturn(TimerTransitionResult.roomNotFound());
+        when(timerService.pauseTimer(any(), any())).thenReturn(TimerTransitionResult.roomNotFound());
+        when(timerService.stopTimer(any(), any())).thenReturn(TimerTransitionResult.roomNotFound());
+        when(timerService.resetTimer(any(), any(), any())).thenReturn(TimerTransitionResult.roomNotFound());
 
         // When & Then - Test all control operations
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/start", TEST_ROOM_ID, TEST_TIMER_ID))
@@ -427,18 +516,62 @@ class TimerControllerTest {
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/reset", TEST_ROOM_ID, TEST_TIMER_ID))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error.code").value("ROOM_NOT_FOUND"));
+    }
 
-        verify(roomService, times(4)).roomExists(TEST_ROOM_ID);
+    @Test
+    void controlTimers_ShouldApplyActionToListedTimers() throws Exception {
+        // Given
+        BulkTimerControlRequest request = new BulkTimerControlRequest();
+        request.setAction(BulkTimerControlRequest.Action.ADJUST);
+        request.setTimerIds(List.of(TEST_TIMER_ID));
+        request.setAdjustment(-30L);
+        when(timerService.controlTimers(TEST_ROOM_ID, TimerOperation.ADJUST, List.of(TEST_TIMER_ID), -30000L))
+                .thenReturn(Optional.of(List.of(testTimer)));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/bulk", TEST_ROOM_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(TEST_TIMER_ID));
+    }
+
+    @Test
+    void controlTimers_ShouldPassResetDurationInMilliseconds() throws Exception {
+        // Given
+        BulkTimerControlRequest request = new BulkTimerControlRequest();
+        request.setAction(BulkTimerControlRequest.Action.RESET);
+        request.setNewDurationMillis(24500L);
+        when(timerService.controlTimers(TEST_ROOM_ID, TimerOperation.RESET, null, 24500L))
+                .thenReturn(Optional.of(List.of(testTimer)));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/bulk", TEST_ROOM_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(TEST_TIMER_ID));
+    }
+
+    @Test
+    void controlTimers_ShouldReturn404WhenRoomNotFound() throws Exception {
+        // Given
+        BulkTimerControlRequest request = new BulkTimerControlRequest();
+        request.setAction(BulkTimerControlRequest.Action.STOP);
+        when(timerService.controlTimers(TEST_ROOM_ID, TimerOperation.STOP, null, null)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/bulk", TEST_ROOM_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error.code").value("ROOM_NOT_FOUND"));
     }
 
     @Test
     void timerControlOperations_ShouldReturn404WhenTimerNotFound() throws Exception {
         // Given
-        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
-        when(timerService.startTimer(any(), any(), any())).thenReturn(false);
-        when(timerService.pauseTimer(any(), any())).thenReturn(false);
-        when(timerService.stopTimer(any(), any())).thenReturn(false);
-        when(timerService.resetTimer(any(), any(), any())).thenReturn(false);
+        when(timerService.startTimer(any(), any(), any())).thenReturn(TimerTransitionResult.timerNotFound());
 
         // When & Then
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/start", TEST_ROOM_ID, TEST_TIMER_ID))
@@ -449,9 +582,7 @@ class TimerControllerTest {
     @Test
     void allEndpoints_ShouldHandleCorsHeaders() throws Exception {
         // Given
-        when(roomService.roomExists(TEST_ROOM_ID)).thenReturn(true);
-        when(timerService.startTimer(any(), any(), any())).thenReturn(true);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
+        when(timerService.startTimer(any(), any(), any())).thenReturn(TimerTransitionResult.applied(testTimer));
 
         // When & Then
         mockMvc.perform(post("/api/v1/rooms/{roomId}/timers/{timerId}/start", TEST_ROOM_ID, TEST_TIMER_ID)
@@ -0,0 +1,316 @@
+package com.timerfy.repository;
+
+import com.timerfy.model.Message;
+import com.timerfy.model.MessagePriority;
+import com.timerfy.model.Room;
+import com.timerfy.model.Timer;
+import com.timerfy.model.TimerClock;
+import com.timerfy.model.TimerState;
+import com.timerfy.model.TimerType;
+import com.timerfy.service.TimerOperation;
+import com.timerfy.service.TimerTransitionResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRoomRepositoryTest {
+
+    private InMemoryRoomRepository roomRepository;
+    private Room testRoom;
+    private Timer testTimer;
+    private final String TEST_ROOM_ID = "ABC123";
+
+    @BeforeEach
+    void setUp() {
+        roomRepository = new InMemoryRoomRepository();
+
+        testRoom = new Room(TEST_ROOM_ID);
+        testRoom.setExpiresAt(LocalDateTime.now().plusHours(1));
+        testTimer = new Timer("Test Timer", 60, TimerType.COUNTDOWN);
+        testRoom.addTimer(testTimer);
+    }
+
+    @Test
+    void findById_ReturnsCopyOfStoredRoom() {
+        roomRepository.create(testRoom);
+
+        Room found = roomRepository.findById(TEST_ROOM_ID).orElseThrow();
+        found.getTimers().clear();
+
+        assertEquals(1, roomRepository.findById(TEST_ROOM_ID).orElseThrow().getTimers().size());
+        assertEquals(1, testRoom.getVersion());
+    }
+
+    @Test
+    void findById_UnknownRoom_ReturnsEmpty() {
+        assertTrue(roomRepository.findById("XYZ789").isEmpty());
+    }
+
+    @Test
+    void create_TakenId_ReturnsFalseAndKeepsExistingRoom() {
+        assertTrue(roomRepository.create(testRoom));
+        assertEquals(1, testRoom.getVersion());
+
+        assertFalse(roomRepository.create(new Room(TEST_ROOM_ID)));
+
+        assertEquals(1, roomRepository.findById(TEST_ROOM_ID).orElseThrow().getTimers().size());
+    }
+
+    @Test
+    void create_DoesNotKeepCallerReference() {
+        roomRepository.create(testRoom);
+
+        testRoom.getTimers().clear();
+
+        assertEquals(1, roomRepository.findById(TEST_ROOM_ID).orElseThrow().getTimers().size());
+    }
+
+    @Test
+    void update_AppliesMutationAndBumpsVersion() {
+        roomRepository.create(testRoom);
+        Message message = new Message("Hello", MessagePriority.NORMAL, "#FF0000");
+
+        boolean updated = roomRepository.update(TEST_ROOM_ID, room -> {
+            room.addMessage(message);
+            return RoomPatch.fields().message(message).meta();
+        });
+
+        assertTrue(updated);
+        Room stored = roomRepository.findById(TEST_ROOM_ID).orElseThrow();
+        assertEquals(1, stored.getMessages().size());
+        assertEquals(2, stored.getVersion());
+
+        message.setText("Changed afterwards");
+        assertEquals("Hello", roomRepository.findById(TEST_ROOM_ID).orElseThrow().getMessages().get(0).getText());
+    }
+
+    @Test
+    void update_NullPatch_LeavesVersion() {
+        roomRepository.create(testRoom);
+
+        assertFalse(roomRepository.update(TEST_ROOM_ID, room -> null));
+        assertEquals(1, roomRepository.findById(TEST_ROOM_ID).orElseThrow().getVersion());
+    }
+
+    @Test
+    void update_NullPatchAfterChanges_LeavesRoomUnchanged() {
+        roomRepository.create(testRoom);
+
+        assertFalse(roomRepository.update(TEST_ROOM_ID, room -> {
+            room.getTimers().clear();
+            room.getSettings().setMaxTimers(1);
+            return null;
+        }));
+
+        Room stored = roomRepository.findById(TEST_ROOM_ID).orElseThrow();
+        assertEquals(1, stored.getTimers().size());
+        assertEquals(testRoom.getSettings().getMaxTimers(), stored.getSettings().getMaxTimers());
+    }
+
+    @Test
+    void update_MutationThrows_LeavesRoomUnchanged() {
+        roomRepository.create(testRoom);
+
+        assertThrows(IllegalStateException.class, () -> roomRepository.update(TEST_ROOM_ID, room -> {
+            room.getTimer(testTimer.getId()).setName("Half written");
+            throw new IllegalStateException("Rejected");
+        }));
+
+        Room stored = roomRepository.findById(TEST_ROOM_ID).orElseThrow();
+        assertEquals("Test Timer", stored.getTimer(testTimer.getId()).getName());
+        assertEquals(1, stored.getVersion());
+    }
+
+    @Test
+    void update_RoomKeptByMutation_IsDetachedFromStore() {
+        roomRepository.create(testRoom);
+        Room[] written = new Room[1];
+
+        assertTrue(roomRepository.update(TEST_ROOM_ID, room -> {
+            room.getTimer(testTimer.getId()).setName("Renamed");
+            written[0] = room;
+            return RoomPatch.fields().timer(room.getTimer(testTimer.getId()));
+        }));
+        written[0].getTimers().clear();
+
+        Room stored = roomRepository.findById(TEST_ROOM_ID).orElseThrow();
+        assertEquals("Renamed", stored.getTimer(testTimer.getId()).getName());
+        assertEquals(2, written[0].getVersion());
+    }
+
+    @Test
+    void update_UnknownRoom_ReturnsFalse() {
+        assertFalse(roomRepository.update("XYZ789", room -> RoomPatch.fields().meta()));
+    }
+
+    @Test
+    void update_ConcurrentWriters_LoseNoUpdates() throws Exception {
+        roomRepository.create(testRoom);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 500; i++) {
+            String text = "Message " + i;
+            executor.submit(() -> roomRepository.update(TEST_ROOM_ID, room -> {
+                Message message = new Message(text, MessagePriority.NORMAL, "#FF0000");
+                room.addMessage(message);
+                return RoomPatch.fields().message(message);
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Room stored = roomRepository.findById(TEST_ROOM_ID).orElseThrow();
+        assertEquals(500, stored.getMessages().size());
+        assertEquals(501, stored.getVersion());
+    }
+
+    @Test
+    void transitionTimer_StartStoppedTimer_Applies() {
+        roomRepository.create(testRoom);
+
+        TimerTransitionResult result = roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.START, null);
+
+        assertTrue(result.isApplied());
+        assertEquals(TimerState.RUNNING, result.getTimer().getState());
+        assertEquals(TimerState.RUNNING, roomRepository.findById(TEST_ROOM_ID).orElseThrow().getTimer(testTimer.getId()).getState());
+    }
+
+    @Test
+    void transitionTimer_PauseStoppedTimer_ReportsInvalidState() {
+        roomRepository.create(testRoom);
+
+        TimerTransitionResult result = roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.PAUSE, null);
+
+        assertEquals(TimerTransitionResult.Status.INVALID_STATE, result.getStatus());
+        assertEquals(TimerState.STOPPED, result.getCurrentState());
+        assertEquals(1, roomRepository.findById(TEST_ROOM_ID).orElseThrow().getVersion());
+    }
+
+    @Test
+    void transitionTimer_ResetAndAdjust_UseOperand() {
+        roomRepository.create(testRoom);
+
+        roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.RESET, "120000");
+        TimerTransitionResult result = roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.ADJUST, "-200000");
+
+        assertEquals(120, result.getTimer().getDuration());
+        assertEquals(0, result.getTimer().getCurrentTime());
+    }
+
+    @Test
+    void transitionTimer_ResetAndAdjust_KeepSubSecondOperands() {
+        roomRepository.create(testRoom);
+
+        roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.RESET, "24500");
+        TimerTransitionResult result = roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.ADJUST, "-250");
+
+        assertEquals(24500, result.getTimer().getDurationMillis());
+        assertEquals(24250, result.getTimer().getCurrentTimeMillis());
+    }
+
+    @Test
+    void transitionTimer_CompleteRunningTimer_FreezesAtZero() {
+        roomRepository.create(testRoom);
+        roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.START, null);
+
+        TimerTransitionResult result = roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.COMPLETE, null);
+
+        assertEquals(TimerState.COMPLETED, result.getTimer().getState());
+        assertEquals(0, result.getTimer().getCurrentTime());
+        assertFalse(result.getTimer().isAnchored());
+        assertEquals(TimerTransitionResult.Status.INVALID_STATE,
+                roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.COMPLETE, null).getStatus());
+    }
+
+    @Test
+    void transitionTimer_StartScheduled_CountsFromArmedTime() {
+        roomRepository.create(testRoom);
+        long armedAt = TimerClock.currentTimeMillis() - 2000;
+
+        roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.SCHEDULE, String.valueOf(armedAt));
+        assertEquals(TimerTransitionResult.Status.INVALID_STATE,
+                roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.PAUSE, null).getStatus());
+        TimerTransitionResult result = roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.START_SCHEDULED, null);
+
+        assertEquals(TimerState.RUNNING, result.getTimer().getState());
+        assertEquals(armedAt, result.getTimer().getAnchoredAt());
+        assertEquals(0, result.getTimer().getScheduledStartMillis());
+        assertEquals(58, result.getTimer().getCurrentTime());
+        assertEquals(TimerTransitionResult.Status.INVALID_STATE,
+                roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.START_SCHEDULED, null).getStatus());
+    }
+
+    @Test
+    void transitionTimer_StopScheduledTimer_ClearsSchedule() {
+        roomRepository.create(testRoom);
+        roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.SCHEDULE, "1700000000000");
+
+        TimerTransitionResult result = roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.STOP, null);
+
+        assertEquals(TimerState.STOPPED, result.getTimer().getState());
+        assertEquals(0, result.getTimer().getScheduledStartMillis());
+    }
+
+    @Test
+    void transitionTimer_UnknownTimerOrExpiredRoom_ReportsNotFound() {
+        testRoom.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        roomRepository.create(testRoom);
+
+        assertEquals(TimerTransitionResult.Status.ROOM_NOT_FOUND,
+                roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.START, null).getStatus());
+
+        roomRepository.update(TEST_ROOM_ID, room -> {
+            room.setExpiresAt(LocalDateTime.now().plusHours(1));
+            return RoomPatch.fields().meta();
+        });
+
+        assertEquals(TimerTransitionResult.Status.TIMER_NOT_FOUND,
+                roomRepository.transitionTimer(TEST_ROOM_ID, "missing", TimerOperation.START, null).getStatus());
+    }
+
+    @Test
+    void delete_RemovesRoom() {
+        roomRepository.create(testRoom);
+
+        assertTrue(roomRepository.delete(TEST_ROOM_ID));
+        assertFalse(roomRepository.delete(TEST_ROOM_ID));
+
+        assertTrue(roomRepository.findById(TEST_ROOM_ID).isEmpty());
+    }
+
+    @Test
+    void deleteExpired_RemovesOnlyExpiredRooms() {
+        Room expiredRoom = new Room("XYZ789");
+        expiredRoom.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        roomRepository.create(testRoom);
+        roomRepository.create(expiredRoom);
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(1, roomRepository.countActive(now));
+
+        assertEquals(1, roomRepository.deleteExpired(now));
+
+        assertTrue(roomRepository.findById("XYZ789").isEmpty());
+        assertTrue(roomRepository.findById(TEST_ROOM_ID).isPresent());
+        assertEquals(1, roomRepository.countActive(now));
+    }
+
+    @Test
+    void deleteExpired_RoomWithoutExpiry_IsKeptAndCountedActive() {
+        Room unexpiringRoom = new Room("XYZ789");
+        unexpiringRoom.setExpiresAt(null);
+        roomRepository.create(testRoom);
+        roomRepository.create(unexpiringRoom);
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(0, roomRepository.deleteExpired(now));
+
+        assertTrue(roomRepository.findById("XYZ789").isPresent());
+        assertEquals(2, roomRepository.countActive(now));
+    }
+}
\ No newline at end of file
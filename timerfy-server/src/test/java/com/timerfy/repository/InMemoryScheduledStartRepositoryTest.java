@@ -0,0 +1,54 @@
+package com.timerfy.repository;
+
+import com.timerfy.repository.ScheduledStartRepository.ScheduledStart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryScheduledStartRepositoryTest {
+
+    private InMemoryScheduledStartRepository scheduledStartRepository;
+
+    @BeforeEach
+    void setUp() {
+        scheduledStartRepository = new InMemoryScheduledStartRepository();
+    }
+
+    @Test
+    void claimDue_ReturnsOnlyDueEntriesEarliestFirstAndRemovesThem() {
+        scheduledStartRepository.schedule("ABC123", "timer-2", 2000);
+        scheduledStartRepository.schedule("ABC123", "timer-1", 1000);
+        scheduledStartRepository.schedule("XYZ789", "timer-3", 5000);
+
+        List<ScheduledStart> due = scheduledStartRepository.claimDue(2000, 10);
+
+        assertEquals(List.of("timer-1", "timer-2"), due.stream().map(ScheduledStart::getTimerId).toList());
+        assertTrue(scheduledStartRepository.claimDue(2000, 10).isEmpty());
+        assertEquals(5000, scheduledStartRepository.nextStartAt());
+    }
+
+    @Test
+    void schedule_SameTimerAgain_ReplacesEarlierEntry() {
+        scheduledStartRepository.schedule("ABC123", "timer-1", 1000);
+        scheduledStartRepository.schedule("ABC123", "timer-1", 3000);
+
+        assertTrue(scheduledStartRepository.claimDue(2000, 10).isEmpty());
+        assertEquals(3000, scheduledStartRepository.nextStartAt());
+
+        scheduledStartRepository.cancel("ABC123", "timer-1");
+        assertEquals(-1, scheduledStartRepository.nextStartAt());
+    }
+
+    @Test
+    void claimDue_StopsAtLimit() {
+        for (int i = 0; i < 5; i++) {
+            scheduledStartRepository.schedule("ABC123", "timer-" + i, 1000 + i);
+        }
+
+        assertEquals(2, scheduledStartRepository.claimDue(5000, 2).size());
+        assertEquals(1002, scheduledStartRepository.nextStartAt());
+    }
+}
\ No newline at end of file
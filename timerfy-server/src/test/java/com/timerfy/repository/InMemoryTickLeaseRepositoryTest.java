@@ -0,0 +1,53 @@
+package com.timerfy.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTickLeaseRepositoryTest {
+
+    private InMemoryTickLeaseRepository leaseRepository;
+
+    @BeforeEach
+    void setUp() {
+        leaseRepository = new InMemoryTickLeaseRepository();
+    }
+
+    @Test
+    void acquire_HeldByAnotherNode_ReturnsFalseUntilReleased() {
+        assertTrue(leaseRepository.acquire("ABC123", "node-a", 15000));
+        assertTrue(leaseRepository.acquire("ABC123", "node-a", 15000));
+        assertFalse(leaseRepository.acquire("ABC123", "node-b", 15000));
+
+        leaseRepository.release("ABC123", "node-b");
+        assertFalse(leaseRepository.acquire("ABC123", "node-b", 15000));
+
+        leaseRepository.release("ABC123", "node-a");
+        assertTrue(leaseRepository.acquire("ABC123", "node-b", 15000));
+    }
+
+    @Test
+    void renew_ReportsRoomsNotHeld() {
+        leaseRepository.acquire("ABC123", "node-a", 15000);
+        leaseRepository.acquire("XYZ789", "node-b", 15000);
+
+        assertEquals(Set.of("XYZ789", "DEF456"), leaseRepository.renew(List.of("ABC123", "XYZ789", "DEF456"), "node-a", 15000));
+        assertTrue(leaseRepository.claimUnleased("node-a", 15000, 10).isEmpty());
+        leaseRepository.claimAllUnleased("node-a", 15000, 10, claimed -> fail("claimed " + claimed));
+    }
+
+    @Test
+    void handOff_DropsOnlyOwnLeases() {
+        leaseRepository.acquire("ABC123", "node-a", 15000);
+        leaseRepository.acquire("XYZ789", "node-b", 15000);
+
+        leaseRepository.handOff(List.of("ABC123", "XYZ789"), "node-a");
+
+        assertTrue(leaseRepository.acquire("ABC123", "node-c", 15000));
+        assertFalse(leaseRepository.acquire("XYZ789", "node-c", 15000));
+    }
+}
@@ -0,0 +1,51 @@
+package com.timerfy.repository;
+
+import com.timerfy.testutil.RedisScriptTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisBroadcastLatencyRepositoryTest extends RedisScriptTestSupport {
+
+    private RedisBroadcastLatencyRepository latencyRepository;
+
+    @BeforeEach
+    void setUp() {
+        latencyRepository = new RedisBroadcastLatencyRepository();
+        ReflectionTestUtils.setField(latencyRepository, "redisTemplate", redisTemplate);
+    }
+
+    @Test
+    void longest_SamplesFromSeveralNodes_ReturnsSlowest() {
+        latencyRepository.record("ABC123", "node-a", 40, 60000);
+        latencyRepository.record("ABC123", "node-b", 180, 60000);
+        latencyRepository.record("XYZ789", "node-a", 900, 60000);
+
+        assertEquals(180, latencyRepository.longest("ABC123"));
+
+        latencyRepository.record("ABC123", "node-b", 20, 60000);
+        assertEquals(40, latencyRepository.longest("ABC123"));
+    }
+
+    @Test
+    void longest_ExpiredSample_IsIgnoredAndDropped() throws Exception {
+        latencyRepository.record("ABC123", "node-a", 40, 60000);
+        latencyRepository.record("ABC123", "node-b", 180, 50);
+        Thread.sleep(100);
+
+        assertEquals(40, latencyRepository.longest("ABC123"));
+        assertFalse(redisTemplate.opsForHash().hasKey("latency:room:ABC123", "node-b"));
+    }
+
+    @Test
+    void withdraw_LastSample_LeavesRoomUnmeasured() {
+        latencyRepository.record("ABC123", "node-a", 40, 60000);
+
+        latencyRepository.withdraw("ABC123", "node-a");
+
+        assertEquals(-1, latencyRepository.longest("ABC123"));
+        assertEquals(-1, latencyRepository.longest("XYZ789"));
+    }
+}
\ No newline at end of file
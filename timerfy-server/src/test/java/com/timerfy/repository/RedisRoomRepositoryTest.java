@@ -0,0 +1,148 @@
+package com.timerfy.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timerfy.config.JsonConfig;
+import com.timerfy.config.RedisConfig;
+import com.timerfy.model.Room;
+import com.timerfy.model.Timer;
+import com.timerfy.model.TimerClock;
+import com.timerfy.model.TimerType;
+import com.timerfy.service.TimerOperation;
+import com.timerfy.service.TimerTransitionResult;
+import com.timerfy.testutil.RedisScriptTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisRoomRepositoryTest extends RedisScriptTestSupport {
+
+    private final String TEST_ROOM_ID = "ABC123";
+
+    private RedisRoomRepository roomRepository;
+    private Room testRoom;
+    private Timer testTimer;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new JsonConfig().objectMapper();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        RoomCodec roomCodec = new RoomCodec();
+        ReflectionTestUtils.setField(roomCodec, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(roomCodec, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(roomCodec, "codec", RoomCodec.JSON);
+        ReflectionTestUtils.setField(roomCodec, "compressionThreshold", 512);
+        roomCodec.init();
+        RoomHashMapper roomHashMapper = new RoomHashMapper();
+        ReflectionTestUtils.setField(roomHashMapper, "roomCodec", roomCodec);
+        RoomCache roomCache = new RoomCache();
+        ReflectionTestUtils.setField(roomCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(roomCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(roomCache, "ttlSeconds", 60L);
+        roomCache.init();
+        RedisTemplate<String, byte[]> roomRedisTemplate =
+                new RedisConfig().roomRedisTemplate(redisTemplate.getRequiredConnectionFactory());
+        roomRedisTemplate.afterPropertiesSet();
+
+        roomRepository = new RedisRoomRepository();
+        ReflectionTestUtils.setField(roomRepository, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(roomRepository, "roomRedisTemplate", roomRedisTemplate);
+        ReflectionTestUtils.setField(roomRepository, "roomCodec", roomCodec);
+        ReflectionTestUtils.setField(roomRepository, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(roomRepository, "roomHashMapper", roomHashMapper);
+        ReflectionTestUtils.setField(roomRepository, "roomCache", roomCache);
+        ReflectionTestUtils.setField(roomRepository, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(roomRepository, "roomExpirationSeconds", 86400L);
+        ReflectionTestUtils.setField(roomRepository, "maxWriteAttempts", 3);
+        ReflectionTestUtils.setField(roomRepository, "cleanupBatchSize", 100);
+
+        testRoom = new Room(TEST_ROOM_ID);
+        testRoom.setExpiresAt(LocalDateTime.now().plusHours(1));
+        testTimer = new Timer("Test Timer", 60, TimerType.COUNTDOWN);
+        testRoom.addTimer(testTimer);
+    }
+
+    @Test
+    void delete_RunningRoom_RemovesLeaseScheduledStartsAndLatency() {
+        assertTrue(roomRepository.create(testRoom));
+        Room otherRoom = new Room("XYZ789");
+        Timer otherTimer = new Timer("Other Timer", 60, TimerType.COUNTDOWN);
+        otherRoom.addTimer(otherTimer);
+        assertTrue(roomRepository.create(otherRoom));
+        givenRunningAndScheduled(TEST_ROOM_ID, testTimer);
+        givenRunningAndScheduled("XYZ789", otherTimer);
+
+        assertTrue(roomRepository.delete(TEST_ROOM_ID));
+
+        assertRemoved(TEST_ROOM_ID, testTimer);
+        assertTrue(redisTemplate.hasKey("lease:room:XYZ789"));
+        assertEquals(1L, redisTemplate.opsForZSet().zCard("timers:scheduled"));
+        assertFalse(roomRepository.delete(TEST_ROOM_ID));
+    }
+
+    @Test
+    void deleteExpired_RunningRoom_RemovesLeaseScheduledStartsAndLatency() {
+        testRoom.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        assertTrue(roomRepository.create(testRoom));
+        givenRunningAndScheduled(TEST_ROOM_ID, testTimer);
+
+        assertEquals(1, roomRepository.deleteExpired(LocalDateTime.now()));
+
+        assertRemoved(TEST_ROOM_ID, testTimer);
+    }
+
+    @Test
+    void transitionTimer_ResetAndAdjust_UseMillisecondOperands() {
+        assertTrue(roomRepository.create(testRoom));
+
+        roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.RESET, "24500");
+        TimerTransitionResult result = roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.ADJUST, "-250");
+
+        assertEquals(TimerTransitionResult.Status.APPLIED, result.getStatus());
+        assertEquals(24500, result.getTimer().getDurationMillis());
+        assertEquals(25, result.getTimer().getDuration());
+        assertEquals(24250, result.getTimer().getCurrentTimeMillis());
+        Timer stored = roomRepository.findLatest(TEST_ROOM_ID).orElseThrow().getTimers().get(0);
+        assertEquals(24500, stored.getDurationMillis());
+        assertEquals(24250, stored.getCurrentTimeMillis());
+    }
+
+    @Test
+    void transitionTimer_AdjustRunningTimer_ShiftsAnchorByMilliseconds() {
+        assertTrue(roomRepository.create(testRoom));
+        roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.START, null);
+
+        TimerTransitionResult result = roomRepository.transitionTimer(TEST_ROOM_ID, testTimer.getId(), TimerOperation.ADJUST, "1500");
+
+        assertEquals(TimerTransitionResult.Status.APPLIED, result.getStatus());
+        assertEquals(61500, result.getTimer().getAnchorTimeMillis());
+    }
+
+    private void givenRunningAndScheduled(String roomId, Timer timer) {
+        RedisTickLeaseRepository leaseRepository = new RedisTickLeaseRepository();
+        ReflectionTestUtils.setField(leaseRepository, "redisTemplate", redisTemplate);
+        RedisScheduledStartRepository scheduledStartRepository = new RedisScheduledStartRepository();
+        ReflectionTestUtils.setField(scheduledStartRepository, "redisTemplate", redisTemplate);
+        RedisBroadcastLatencyRepository latencyRepository = new RedisBroadcastLatencyRepository();
+        ReflectionTestUtils.setField(latencyRepository, "redisTemplate", redisTemplate);
+
+        assertTrue(leaseRepository.acquire(roomId, "node-a", 15000));
+        scheduledStartRepository.schedule(roomId, timer.getId(), TimerClock.currentTimeMillis() + 60000);
+        latencyRepository.record(roomId, "node-a", 40, 60000);
+    }
+
+    private void assertRemoved(String roomId, Timer timer) {
+        assertFalse(redisTemplate.hasKey("room:" + roomId));
+        assertFalse(redisTemplate.hasKey("lease:room:" + roomId));
+        assertFalse(redisTemplate.hasKey("latency:room:" + roomId));
+        assertFalse(redisTemplate.opsForSet().isMember("rooms:running", roomId));
+        assertNull(redisTemplate.opsForZSet().score("timers:scheduled", roomId + ":" + timer.getId()));
+        assertNull(redisTemplate.opsForZSet().score("rooms:expiry", roomId));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.timerfy.repository;
+
+import com.timerfy.testutil.RedisScriptTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisTickLeaseRepositoryTest extends RedisScriptTestSupport {
+
+    private RedisTickLeaseRepository leaseRepository;
+
+    @BeforeEach
+    void setUp() {
+        leaseRepository = new RedisTickLeaseRepository();
+        ReflectionTestUtils.setField(leaseRepository, "redisTemplate", redisTemplate);
+    }
+
+    @Test
+    void acquire_HeldByAnotherNode_StillRecordsRoomAsRunning() {
+        assertTrue(leaseRepository.acquire("ABC123", "node-b", 15000));
+        redisTemplate.opsForSet().remove("rooms:running", "ABC123");
+
+        assertFalse(leaseRepository.acquire("ABC123", "node-a", 15000));
+
+        assertTrue(redisTemplate.opsForSet().isMember("rooms:running", "ABC123"));
+    }
+
+    @Test
+    void release_AfterFailedAcquire_LeavesRoomClaimableOnceReacquired() {
+        assertTrue(leaseRepository.acquire("ABC123", "node-b", 15000));
+        assertFalse(leaseRepository.acquire("ABC123", "node-a", 15000));
+
+        leaseRepository.release("ABC123", "node-b");
+        assertFalse(redisTemplate.opsForSet().isMember("rooms:running", "ABC123"));
+
+        // The releasing node finds the timer node-a started and takes the room back
+        assertTrue(leaseRepository.acquire("ABC123", "node-b", 15000));
+        assertTrue(redisTemplate.opsForSet().isMember("rooms:running", "ABC123"));
+        leaseRepository.handOff(List.of("ABC123"), "node-b");
+        assertEquals(List.of("ABC123"), leaseRepository.claimUnleased("node-a", 15000, 10));
+    }
+
+    @Test
+    void claimAllUnleased_ManyRooms_ClaimsEachOnceInOnePass() {
+        for (int i = 0; i < 1200; i++) {
+            leaseRepository.acquire("ROOM" + i, "node-b", 15000);
+        }
+        for (int i = 0; i < 1200; i += 3) {
+            leaseRepository.release("ROOM" + i, "node-b");
+            redisTemplate.opsForSet().add("rooms:running", "ROOM" + i);
+        }
+        leaseRepository.handOff(List.of("ROOM1", "ROOM2"), "node-b");
+
+        List<String> claimed = new ArrayList<>();
+        leaseRepository.claimAllUnleased("node-a", 15000, 100, claimed::addAll);
+
+        assertEquals(402, claimed.size());
+        assertEquals(402, claimed.stream().distinct().count());
+    }
+}
\ No newline at end of file
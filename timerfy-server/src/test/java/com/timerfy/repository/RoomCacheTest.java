@@ -0,0 +1,166 @@
+package com.timerfy.repository;
+
+import com.timerfy.model.Room;
+import com.timerfy.model.Timer;
+import com.timerfy.model.TimerState;
+import com.timerfy.model.TimerType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomCacheTest {
+
+    private RoomCache roomCache;
+    private SimpleMeterRegistry meterRegistry;
+    private Room testRoom;
+    private final String TEST_ROOM_ID = "ABC123";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        roomCache = new RoomCache();
+        ReflectionTestUtils.setField(roomCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(roomCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(roomCache, "ttlSeconds", 60L);
+        roomCache.init();
+
+        testRoom = new Room(TEST_ROOM_ID);
+        testRoom.setVersion(5);
+    }
+
+    private void publish(String payload) {
+        roomCache.onMessage(new DefaultMessage(RoomCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                payload.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    @Test
+    void put_ShouldStoreCopy() {
+        // Given
+        roomCache.put(testRoom);
+
+        // When
+        testRoom.getSettings().setMaxTimers(1);
+
+        // Then
+        assertEquals(10, roomCache.get(TEST_ROOM_ID).get().getSettings().getMaxTimers());
+    }
+
+    @Test
+    void put_ShouldKeepNewerVersion() {
+        // Given
+        roomCache.put(testRoom);
+        Room older = testRoom.copy();
+        older.setVersion(4);
+
+        // When
+        roomCache.put(older);
+
+        // Then
+        assertEquals(5, roomCache.get(TEST_ROOM_ID).get().getVersion());
+    }
+
+    @Test
+    void onMessage_ShouldDropEntriesOlderThanPublishedVersion() {
+        // Given
+        roomCache.put(testRoom);
+
+        // When
+        publish(TEST_ROOM_ID + " 6");
+
+        // Then
+        assertTrue(roomCache.get(TEST_ROOM_ID).isEmpty());
+        assertEquals(1.0, meterRegistry.counter("timerfy.room.cache.invalidations").count());
+    }
+
+    @Test
+    void onMessage_ShouldKeepEntryAlreadyAtPublishedVersion() {
+        // Given
+        roomCache.put(testRoom);
+
+        // When
+        publish(TEST_ROOM_ID + " 5");
+
+        // Then
+        assertTrue(roomCache.get(TEST_ROOM_ID).isPresent());
+    }
+
+    @Test
+    void onMessage_ShouldDropEntryWhenNoVersionPublished() {
+        // Given
+        roomCache.put(testRoom);
+
+        // When
+        publish(TEST_ROOM_ID);
+
+        // Then
+        assertTrue(roomCache.get(TEST_ROOM_ID).isEmpty());
+    }
+
+    @Test
+    void put_ShouldRejectCopyOlderThanAnnouncedVersion() {
+        // Given
+        publish(TEST_ROOM_ID + " 6");
+
+        // When
+        roomCache.put(testRoom);
+
+        // Then
+        assertTrue(roomCache.get(TEST_ROOM_ID).isEmpty());
+    }
+
+    @Test
+    void putTimer_ShouldPatchCachedRoomWhenVersionsLineUp() {
+        // Given
+        Timer timer = new Timer("Timer", 60, TimerType.COUNTDOWN);
+        testRoom.addTimer(timer);
+        roomCache.put(testRoom);
+        Timer started = timer.copy();
+        started.setState(TimerState.RUNNING);
+
+        // When
+        roomCache.putTimer(TEST_ROOM_ID, started, 6);
+
+        // Then
+        Room cached = roomCache.get(TEST_ROOM_ID).get();
+        assertEquals(6, cached.getVersion());
+        assertEquals(TimerState.RUNNING, cached.getTimer(timer.getId()).getState());
+    }
+
+    @Test
+    void putTimer_ShouldDropCachedRoomWhenVersionsSkip() {
+        // Given
+        Timer timer = new Timer("Timer", 60, TimerType.COUNTDOWN);
+        testRoom.addTimer(timer);
+        roomCache.put(testRoom);
+
+        // When
+        roomCache.putTimer(TEST_ROOM_ID, timer, 8);
+
+        // Then
+        assertTrue(roomCache.get(TEST_ROOM_ID).isEmpty());
+    }
+
+    @Test
+    void touch_ShouldAdvanceLastActivityWithoutChangingVersion() {
+        // Given
+        testRoom.setLastActivity(LocalDateTime.now().minusHours(1));
+        roomCache.put(testRoom);
+        LocalDateTime activity = LocalDateTime.now();
+
+        // When
+        roomCache.touch(TEST_ROOM_ID, activity);
+        roomCache.touch(TEST_ROOM_ID, activity.minusMinutes(5));
+
+        // Then
+        Room cached = roomCache.get(TEST_ROOM_ID).get();
+        assertEquals(activity, cached.getLastActivity());
+        assertEquals(5, cached.getVersion());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.timerfy.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timerfy.config.JsonConfig;
+import com.timerfy.model.Message;
+import com.timerfy.model.MessagePriority;
+import com.timerfy.model.Timer;
+import com.timerfy.model.TimerState;
+import com.timerfy.model.TimerType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomCodecTest {
+
+    private final ObjectMapper objectMapper = new JsonConfig().objectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private Timer testTimer;
+    private Message largeMessage;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        testTimer = new Timer("Keynote", 1800, TimerType.COUNTDOWN);
+        testTimer.setState(TimerState.PAUSED);
+        testTimer.setCurrentTime(1200);
+        testTimer.setStartedAt(LocalDateTime.of(2024, 5, 1, 9, 30, 0));
+        testTimer.setPausedAt(LocalDateTime.of(2024, 5, 1, 9, 40, 0));
+        largeMessage = new Message("Doors open in ten minutes, please take your seats. ".repeat(9),
+                MessagePriority.HIGH, "#FF0000");
+    }
+
+    private RoomCodec codec(String format) {
+        RoomCodec codec = new RoomCodec();
+        ReflectionTestUtils.setField(codec, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(codec, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(codec, "codec", format);
+        ReflectionTestUtils.setField(codec, "compressionThreshold", 512);
+        codec.init();
+        return codec;
+    }
+
+    private void assertSameTimer(Timer expected, Timer actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getDuration(), actual.getDuration());
+        assertEquals(expected.getCurrentTime(), actual.getCurrentTime());
+        assertEquals(expected.getState(), actual.getState());
+        assertEquals(expected.getStartedAt(), actual.getStartedAt());
+        assertEquals(expected.getPausedAt(), actual.getPausedAt());
+        assertNull(actual.getCompletedAt());
+        assertEquals(expected.getSettings().getWarningTime(), actual.getSettings().getWarningTime());
+    }
+
+    @Test
+    void msgpack_ShouldRoundTripBehindFormatByte() throws Exception {
+        RoomCodec codec = codec(RoomCodec.MSGPACK);
+
+        byte[] encoded = codec.encode(testTimer);
+
+        assertEquals(RoomCodec.MSGPACK_V1, encoded[0]);
+        assertSameTimer(testTimer, codec.decode(encoded, Timer.class));
+    }
+
+    @Test
+    void msgpack_ShouldBeSmallerThanJson() throws Exception {
+        byte[] binary = codec(RoomCodec.MSGPACK).encode(testTimer);
+        byte[] json = codec(RoomCodec.JSON).encode(testTimer);
+
+        assertTrue(binary.length < json.length);
+    }
+
+    @Test
+    void json_ShouldWritePlainJson() throws Exception {
+        byte[] encoded = codec(RoomCodec.JSON).encode(testTimer);
+
+        assertEquals('{', encoded[0]);
+        assertSameTimer(testTimer, objectMapper.readValue(encoded, Timer.class));
+    }
+
+    @Test
+    void decode_ShouldReadEitherFormatWhateverIsConfigured() throws Exception {
+        byte[] binary = codec(RoomCodec.MSGPACK).encode(testTimer);
+        byte[] json = codec(RoomCodec.JSON).encode(testTimer);
+
+        assertSameTimer(testTimer, codec(RoomCodec.JSON).decode(binary, Timer.class));
+        assertSameTimer(testTimer, codec(RoomCodec.MSGPACK).decode(json, Timer.class));
+    }
+
+    @Test
+    void decode_ShouldKeepMilliseconds() throws Exception {
+        testTimer.setCurrentTimeMillis(1_199_250);
+
+        for (String format : new String[]{RoomCodec.JSON, RoomCodec.MSGPACK}) {
+            Timer decoded = codec(format).decode(codec(format).encode(testTimer), Timer.class);
+
+            assertEquals(1_199_250, decoded.getCurrentTimeMillis());
+            assertEquals(1200, decoded.getCurrentTime());
+        }
+    }
+
+    @Test
+    void decode_ShouldReadTimersStoredInWholeSeconds() throws Exception {
+        String stored = "{\"id\":\"timer-1\",\"name\":\"Keynote\",\"duration\":1800,\"currentTime\":1200,"
+                + "\"state\":\"PAUSED\",\"type\":\"COUNTDOWN\",\"settings\":{}}";
+
+        Timer decoded = codec(RoomCodec.MSGPACK).decode(stored.getBytes(StandardCharsets.UTF_8), Timer.class);
+
+        assertEquals(1_800_000, decoded.getDurationMillis());
+        assertEquals(1_200_000, decoded.getCurrentTimeMillis());
+    }
+
+    @Test
+    void init_ShouldRejectUnknownCodec() {
+        assertThrows(IllegalStateException.class, () -> codec("xml"));
+    }
+
+    @Test
+    void encodeCompressible_ShouldDeflateLargeValues() throws Exception {
+        RoomCodec codec = codec(RoomCodec.MSGPACK);
+
+        byte[] encoded = codec.encodeCompressible(largeMessage);
+
+        assertEquals(RoomCodec.DEFLATE_V1, encoded[0]);
+        assertTrue(encoded.length < codec.encode(largeMessage).length);
+        assertEquals(largeMessage.getText(), codec.decode(encoded, Message.class).getText());
+        assertEquals(1, meterRegistry.get("timerfy.room.compression.ratio").summary().count());
+        assertEquals(1, meterRegistry.get("timerfy.room.compression.time").tag("operation", "decompress").timer().count());
+    }
+
+    @Test
+    void encodeCompressible_ShouldLeaveSmallValuesAlone() throws Exception {
+        RoomCodec codec = codec(RoomCodec.JSON);
+        Message smallMessage = new Message("Break", MessagePriority.NORMAL, "#00FF00");
+
+        byte[] encoded = codec.encodeCompressible(smallMessage);
+
+        assertEquals('{', encoded[0]);
+        assertEquals(0, meterRegistry.get("timerfy.room.compression.ratio").summary().count());
+    }
+
+    @Test
+    void decode_ShouldInflateWhateverFormatIsInside() throws Exception {
+        byte[] compressedJson = codec(RoomCodec.JSON).encodeCompressible(largeMessage);
+
+        assertEquals(RoomCodec.DEFLATE_V1, compressedJson[0]);
+        assertEquals(largeMessage.getText(), codec(RoomCodec.MSGPACK).decode(compressedJson, Message.class).getText());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.timerfy.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomIdGeneratorTest {
+
+    private RoomIdGenerator roomIdGenerator;
+
+    @BeforeEach
+    void setUp() {
+        roomIdGenerator = new RoomIdGenerator();
+        ReflectionTestUtils.setField(roomIdGenerator, "sampleSize", 100);
+        roomIdGenerator.init();
+    }
+
+    @Test
+    void generateRoomId_UsesConfiguredLength() {
+        String roomId = roomIdGenerator.generateRoomId();
+
+        assertEquals(6, roomId.length());
+        assertTrue(roomIdGenerator.isValidRoomId(roomId));
+    }
+
+    @Test
+    void recordAttempt_CollisionRateAboveThreshold_GrowsIdLength() {
+        for (int i = 0; i < 100; i++) {
+            roomIdGenerator.recordAttempt(i < 2);
+        }
+
+        assertEquals(7, roomIdGenerator.getIdLength());
+        assertTrue(roomIdGenerator.isValidRoomId(roomIdGenerator.generateRoomId()));
+    }
+
+    @Test
+    void recordAttempt_CollisionRateAtThreshold_KeepsIdLength() {
+        for (int i = 0; i < 100; i++) {
+            roomIdGenerator.recordAttempt(i < 1);
+        }
+
+        assertEquals(6, roomIdGenerator.getIdLength());
+    }
+
+    @Test
+    void isValidRoomId_RejectsWrongLengthOrCharacters() {
+        assertFalse(roomIdGenerator.isValidRoomId("ABC12"));
+        assertFalse(roomIdGenerator.isValidRoomId("ABCDEFGHIJKLM"));
+        assertFalse(roomIdGenerator.isValidRoomId("abc123"));
+        assertTrue(roomIdGenerator.isValidRoomId("ABCDEF123456"));
+    }
+}
@@ -0,0 +1,191 @@
+package com.timerfy.service;
+
+import com.timerfy.model.Message;
+import com.timerfy.model.MessagePriority;
+import com.timerfy.model.Room;
+import com.timerfy.model.Timer;
+import com.timerfy.model.TimerType;
+import com.timerfy.repository.InMemoryRoomRepository;
+import com.timerfy.repository.RoomPatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomMailboxTest {
+
+    private static final String TEST_ROOM_ID = "ABC123";
+
+    private RoomMailbox roomMailbox;
+    private InMemoryRoomRepository roomRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService submitters;
+
+    @BeforeEach
+    void setUp() {
+        roomRepository = new InMemoryRoomRepository();
+        meterRegistry = new SimpleMeterRegistry();
+        roomMailbox = new RoomMailbox();
+        ReflectionTestUtils.setField(roomMailbox, "roomRepository", roomRepository);
+        ReflectionTestUtils.setField(roomMailbox, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(roomMailbox, "threadCount", 4);
+        roomMailbox.start();
+        submitters = Executors.newFixedThreadPool(8);
+
+        Room room = new Room(TEST_ROOM_ID);
+        room.setExpiresAt(LocalDateTime.now().plusHours(1));
+        roomRepository.create(room);
+    }
+
+    @AfterEach
+    void tearDown() {
+        submitters.shutdownNow();
+        roomMailbox.stop();
+    }
+
+    private RoomPatch addMessage(Room room, String text) {
+        Message message = new Message(text, MessagePriority.NORMAL, "#FF0000");
+        room.addMessage(message);
+        return RoomPatch.fields().message(message);
+    }
+
+    @Test
+    void update_ConcurrentSubmitters_RunOneAtATimePerRoom() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            String text = "Message " + i;
+            results.add(submitters.submit(() -> roomMailbox.update(TEST_ROOM_ID, room -> {
+                if (running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                RoomPatch patch = addMessage(room, text);
+                running.decrementAndGet();
+                return patch;
+            })));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(0, overlaps.get());
+        assertEquals(200, roomRepository.findById(TEST_ROOM_ID).orElseThrow().getMessages().size());
+        assertEquals(0, roomMailbox.getDepth());
+        assertEquals(200, meterRegistry.timer("timerfy.mailbox.command.latency").count());
+    }
+
+    @Test
+    void update_QueuedBehindCall_WrittenTogether() throws Exception {
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> call = submitters.submit(() -> roomMailbox.call(TEST_ROOM_ID, () -> {
+            blocking.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(blocking.await(5, TimeUnit.SECONDS));
+
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String text = "Message " + i;
+            results.add(submitters.submit(() -> roomMailbox.update(TEST_ROOM_ID, room -> addMessage(room, text))));
+        }
+        while (roomMailbox.getDepth() < 3) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        call.get(5, TimeUnit.SECONDS);
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS));
+        }
+
+        Room stored = roomRepository.findById(TEST_ROOM_ID).orElseThrow();
+        assertEquals(3, stored.getMessages().size());
+        assertEquals(2, stored.getVersion());
+        assertEquals(3.0, meterRegistry.summary("timerfy.mailbox.batch.size").max());
+    }
+
+    @Test
+    void update_FailingMutation_OnlyFailsItsOwnCommand() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        submitters.submit(() -> roomMailbox.call(TEST_ROOM_ID, () -> await(release)));
+        Future<Boolean> failing = submitters.submit(() -> roomMailbox.update(TEST_ROOM_ID, room -> {
+            throw new IllegalStateException("Room is full");
+        }));
+        Future<Boolean> passing = submitters.submit(() -> roomMailbox.update(TEST_ROOM_ID, room -> addMessage(room, "Hello")));
+        while (roomMailbox.getDepth() < 2) {
+            Thread.sleep(1);
+        }
+
+        release.countDown();
+
+        Exception e = assertThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertTrue(passing.get(5, TimeUnit.SECONDS));
+        assertEquals(1, roomRepository.findById(TEST_ROOM_ID).orElseThrow().getMessages().size());
+    }
+
+    @Test
+    void update_FailingMutationBatchedOnSameTimer_LeavesNoPartialChanges() throws Exception {
+        Timer timer = new Timer("Round 1", 60, TimerType.COUNTDOWN);
+        roomMailbox.update(TEST_ROOM_ID, room -> {
+            room.addTimer(timer);
+            return RoomPatch.fields().timer(timer).meta();
+        });
+        CountDownLatch release = new CountDownLatch(1);
+        submitters.submit(() -> roomMailbox.call(TEST_ROOM_ID, () -> await(release)));
+        Future<Boolean> failing = submitters.submit(() -> roomMailbox.update(TEST_ROOM_ID, room -> {
+            room.getTimer(timer.getId()).setName("Half written");
+            throw new IllegalStateException("Rejected");
+        }));
+        while (roomMailbox.getDepth() < 1) {
+            Thread.sleep(1);
+        }
+        Future<Boolean> passing = submitters.submit(() -> roomMailbox.update(TEST_ROOM_ID, room -> {
+            Timer written = room.getTimer(timer.getId());
+            written.adjustTimeMillis(-500);
+            return RoomPatch.fields().timer(written);
+        }));
+        while (roomMailbox.getDepth() < 2) {
+            Thread.sleep(1);
+        }
+
+        release.countDown();
+
+        Exception e = assertThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertTrue(passing.get(5, TimeUnit.SECONDS));
+        Timer stored = roomRepository.findById(TEST_ROOM_ID).orElseThrow().getTimer(timer.getId());
+        assertEquals("Round 1", stored.getName());
+        assertEquals(59500, stored.getCurrentTimeMillis());
+    }
+
+    @Test
+    void update_UnknownRoom_ReturnsFalse() {
+        assertFalse(roomMailbox.update("XYZ789", room -> RoomPatch.fields().meta()));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
\ No newline at end of file
@@ -1,26 +1,51 @@
 package com.timerfy.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timerfy.config.JsonConfig;
+import com.timerfy.exception.RoomUpdateConflictException;
+import com.timerfy.exception.TimerNotFoundException;
 import com.timerfy.model.Room;
 import com.timerfy.model.Timer;
+import com.timerfy.model.TimerClock;
 import com.timerfy.model.Message;
+import com.timerfy.model.TimerState;
 import com.timerfy.model.TimerType;
 import com.timerfy.model.MessagePriority;
+import com.timerfy.repository.RedisRoomRepository;
+import com.timerfy.repository.RoomCache;
+import com.timerfy.repository.RoomCodec;
+import com.timerfy.repository.RoomHashMapper;
+import com.timerfy.repository.RoomPatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -32,32 +57,93 @@ class RoomServiceTest {
     @Mock
     private RedisTemplate<String, String> redisTemplate;
 
+    @Mock
+    private RedisTemplate<String, byte[]> roomRedisTemplate;
+
     @Mock
     private ValueOperations<String, String> valueOperations;
 
+    @Mock
+    private HashOperations<String, String, byte[]> hashOperations;
+
     @Mock
     private SetOperations<String, String> setOperations;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Spy
+    private ObjectMapper objectMapper = new JsonConfig().objectMapper();
+
+    @Spy
+    private RoomCodec roomCodec = new RoomCodec();
+
+    @Spy
+    private RoomHashMapper roomHashMapper = new RoomHashMapper();
 
     @Mock
     private RoomIdGenerator roomIdGenerator;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private RoomCache roomCache = new RoomCache();
+
     @InjectMocks
     private RoomService roomService;
 
+    private RedisRoomRepository roomRepository;
+
+    private RoomMailbox roomMailbox;
+
     private Room testRoom;
     private Timer testTimer;
     private Message testMessage;
     private final String TEST_ROOM_ID = "ABC123";
     private final String TEST_TIMER_ID = "timer-1";
     private final String TEST_MESSAGE_ID = "message-1";
+    private final List<String> DELETE_KEYS = List.of("room:" + TEST_ROOM_ID, "room:stats:" + TEST_ROOM_ID, "rooms:expiry",
+            "lease:room:" + TEST_ROOM_ID, "rooms:running", "timers:scheduled", "latency:room:" + TEST_ROOM_ID);
+    private final List<String> SWEEP_KEYS = List.of("rooms:expiry", "rooms:active", "rooms:running", "timers:scheduled");
 
     @BeforeEach
     void setUp() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(roomRedisTemplate.<String, byte[]>opsForHash()).thenReturn(hashOperations);
+        lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+        lenient().when(roomRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+        ReflectionTestUtils.setField(roomCodec, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(roomCodec, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(roomCodec, "codec", RoomCodec.JSON);
+        ReflectionTestUtils.setField(roomCodec, "compressionThreshold", 512);
+        roomCodec.init();
+        ReflectionTestUtils.setField(roomHashMapper, "roomCodec", roomCodec);
+        ReflectionTestUtils.setField(roomCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(roomCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(roomCache, "ttlSeconds", 60L);
+        roomCache.init();
+
+        roomRepository = new RedisRoomRepository();
+        ReflectionTestUtils.setField(roomRepository, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(roomRepository, "roomRedisTemplate", roomRedisTemplate);
+        ReflectionTestUtils.setField(roomRepository, "roomCodec", roomCodec);
+        ReflectionTestUtils.setField(roomRepository, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(roomRepository, "roomHashMapper", roomHashMapper);
+        ReflectionTestUtils.setField(roomRepository, "roomCache", roomCache);
+        ReflectionTestUtils.setField(roomRepository, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(roomRepository, "roomExpirationSeconds", 86400L);
+        ReflectionTestUtils.setField(roomRepository, "maxWriteAttempts", 3);
+        ReflectionTestUtils.setField(roomRepository, "cleanupBatchSize", 2);
+        ReflectionTestUtils.setField(roomService, "roomRepository", roomRepository);
+        roomMailbox = new RoomMailbox();
+        ReflectionTestUtils.setField(roomMailbox, "roomRepository", roomRepository);
+        ReflectionTestUtils.setField(roomMailbox, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(roomMailbox, "threadCount", 2);
+        roomMailbox.start();
+        ReflectionTestUtils.setField(roomService, "roomMailbox", roomMailbox);
 
         // Set up test data
         testRoom = new Room(TEST_ROOM_ID);
@@ -72,13 +158,30 @@ class RoomServiceTest {
         ReflectionTestUtils.setField(roomService, "maxUsersPerRoom", 50);
     }
 
+    @AfterEach
+    void tearDown() {
+        roomMailbox.stop();
+    }
+
+    private void givenStoredRoom(Room room) throws Exception {
+        Map<String, byte[]> roomHash = roomHashMapper.toHash(room);
+        roomHash.put(RoomHashMapper.VERSION_FIELD, String.valueOf(room.getVersion()).getBytes(StandardCharsets.UTF_8));
+        when(roomIdGenerator.isValidRoomId(room.getId())).thenReturn(true);
+        when(hashOperations.entries("room:" + room.getId())).thenReturn(roomHash);
+    }
+
+    private List<Object> capturedWriteArgs() {
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(roomRedisTemplate).execute(any(RedisScript.class), eq(List.of("room:" + TEST_ROOM_ID)), args.capture());
+        return Arrays.stream(args.getValue())
+                .map(arg -> arg instanceof byte[] ? new String((byte[]) arg, StandardCharsets.UTF_8) : arg)
+                .toList();
+    }
+
     @Test
     void createRoom_ShouldCreateRoomWithUniqueId() throws Exception {
         // Given
         when(roomIdGenerator.generateRoomId()).thenReturn(TEST_ROOM_ID);
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn(null);
-        when(objectMapper.writeValueAsString(any(Room.class))).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
 
         // When
         Room createdRoom = roomService.createRoom();
@@ -88,8 +191,16 @@ class RoomServiceTest {
         assertEquals(TEST_ROOM_ID, createdRoom.getId());
         assertEquals(10, createdRoom.getSettings().getMaxTimers());
         assertNotNull(createdRoom.getExpiresAt());
-        verify(valueOperations).set(eq("room:" + TEST_ROOM_ID), anyString(), eq(86400L), eq(TimeUnit.SECONDS));
-        verify(setOperations).add("rooms:active", TEST_ROOM_ID);
+        assertEquals(1, createdRoom.getVersion());
+        List<Object> args = capturedWriteArgs();
+        assertEquals("86400", args.get(0));
+        assertEquals("1", args.get(1));
+        assertEquals("0", args.get(2));
+        assertTrue(args.contains(RoomHashMapper.META_FIELD));
+        long expiresAt = createdRoom.getExpiresAt().atZone(ZoneId.systemDefault()).toEpochSecond();
+        verify(zSetOperations).add("rooms:expiry", TEST_ROOM_ID, (double) expiresAt);
+        verify(roomIdGenerator).recordAttempt(false);
+        verify(hashOperations, never()).entries(anyString());
     }
 
     @Test
@@ -97,10 +208,8 @@ class RoomServiceTest {
         // Given
         String duplicateId = "DUP123";
         when(roomIdGenerator.generateRoomId()).thenReturn(duplicateId).thenReturn(TEST_ROOM_ID);
-        when(roomIdGenerator.isValidRoomId(anyString())).thenReturn(true);
-        when(valueOperations.get("room:" + duplicateId)).thenReturn("{\"id\":\"" + duplicateId + "\"}");
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn(null);
-        when(objectMapper.writeValueAsString(any(Room.class))).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
+        when(roomRedisTemplate.execute(any(RedisScript.class), eq(List.of("room:" + duplicateId)), any(Object[].class)))
+                .thenReturn(-1L);
 
         // When
         Room createdRoom = roomService.createRoom();
@@ -108,26 +217,29 @@ class RoomServiceTest {
         // Then
         assertEquals(TEST_ROOM_ID, createdRoom.getId());
         verify(roomIdGenerator, times(2)).generateRoomId();
+        verify(roomIdGenerator).recordAttempt(true);
+        verify(roomIdGenerator).recordAttempt(false);
+        verify(zSetOperations, never()).add(eq("rooms:expiry"), eq(duplicateId), anyDouble());
     }
 
     @Test
-    void createRoom_ShouldThrowExceptionAfterMaxAttempts() {
+    void createRoom_ShouldThrowExceptionAfterMaxAttempts() throws Exception {
         // Given
         when(roomIdGenerator.generateRoomId()).thenReturn(TEST_ROOM_ID);
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
+        when(roomRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(-1L);
 
         // When & Then
         assertThrows(RuntimeException.class, () -> roomService.createRoom());
         verify(roomIdGenerator, times(10)).generateRoomId();
+        verify(roomIdGenerator, times(10)).recordAttempt(true);
     }
 
     @Test
     void getRoomById_ShouldReturnRoomWhenExists() throws Exception {
         // Given
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
+        testRoom.addTimer(testTimer);
+        testRoom.addMessage(testMessage);
+        givenStoredRoom(testRoom);
 
         // When
         Optional<Room> result = roomService.getRoomById(TEST_ROOM_ID);
@@ -135,14 +247,16 @@ class RoomServiceTest {
         // Then
         assertTrue(result.isPresent());
         assertEquals(TEST_ROOM_ID, result.get().getId());
-        verify(valueOperations).get("room:" + TEST_ROOM_ID);
+        assertEquals(TEST_TIMER_ID, result.get().getTimers().get(0).getId());
+        assertEquals(TEST_MESSAGE_ID, result.get().getMessages().get(0).getId());
+        verify(hashOperations).entries("room:" + TEST_ROOM_ID);
     }
 
     @Test
     void getRoomById_ShouldReturnEmptyWhenNotExists() {
         // Given
         when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn(null);
+        when(hashOperations.entries("room:" + TEST_ROOM_ID)).thenReturn(Map.of());
 
         // When
         Optional<Room> result = roomService.getRoomById(TEST_ROOM_ID);
@@ -161,7 +275,7 @@ class RoomServiceTest {
 
         // Then
         assertFalse(result.isPresent());
-        verify(valueOperations, never()).get(anyString());
+        verify(hashOperations, never()).entries(anyString());
     }
 
     @Test
@@ -169,28 +283,69 @@ class RoomServiceTest {
         // Given
         Room expiredRoom = new Room(TEST_ROOM_ID);
         expiredRoom.setExpiresAt(LocalDateTime.now().minusHours(1));
-        
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(expiredRoom);
-        when(redisTemplate.delete("room:" + TEST_ROOM_ID)).thenReturn(true);
+        givenStoredRoom(expiredRoom);
 
         // When
         Optional<Room> result = roomService.getRoomById(TEST_ROOM_ID);
 
         // Then
         assertFalse(result.isPresent());
-        verify(redisTemplate).delete("room:" + TEST_ROOM_ID);
-        verify(redisTemplate).delete("room:stats:" + TEST_ROOM_ID);
-        verify(setOperations).remove("rooms:active", TEST_ROOM_ID);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(DELETE_KEYS), eq(TEST_ROOM_ID));
     }
 
     @Test
-    void roomExists_ShouldReturnTrueWhenRoomExists() throws Exception {
+    void getRoomById_ShouldMigrateLegacyJsonRoom() throws Exception {
         // Given
+        testRoom.addTimer(testTimer);
+        String legacyJson = objectMapper.writeValueAsString(testRoom);
         when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
+        when(hashOperations.entries("room:" + TEST_ROOM_ID))
+                .thenThrow(new RedisSystemException("WRONGTYPE", new IllegalStateException()));
+        when(redisTemplate.type("room:" + TEST_ROOM_ID)).thenReturn(DataType.STRING);
+        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn(legacyJson);
+
+        // When
+        Optional<Room> result = roomService.getRoomById(TEST_ROOM_ID);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(TEST_TIMER_ID, result.get().getTimers().get(0).getId());
+        List<Object> args = capturedWriteArgs();
+        assertEquals("1", args.get(1));
+        assertTrue(args.contains(RoomHashMapper.timerField(TEST_TIMER_ID)));
+    }
+
+    @Test
+    void getRoomById_ShouldServeRepeatedReadsFromCache() throws Exception {
+        // Given
+        givenStoredRoom(testRoom);
+
+        // When
+        roomService.getRoomById(TEST_ROOM_ID);
+        Optional<Room> result = roomService.getRoomById(TEST_ROOM_ID);
+
+        // Then
+        assertTrue(result.isPresent());
+        verify(hashOperations, times(1)).entries("room:" + TEST_ROOM_ID);
+    }
+
+    @Test
+    void getRoomById_ShouldNotExposeCachedInstance() throws Exception {
+        // Given
+        givenStoredRoom(testRoom);
+        roomService.getRoomById(TEST_ROOM_ID).get().getSettings().setPrimaryColor("#FFFFFF");
+
+        // When
+        Room result = roomService.getRoomById(TEST_ROOM_ID).get();
+
+        // Then
+        assertEquals("#3B82F6", result.getSettings().getPrimaryColor());
+    }
+
+    @Test
+    void roomExists_ShouldReturnTrueWhenRoomExists() throws Exception {
+        // Given
+        givenStoredRoom(testRoom);
 
         // When
         boolean exists = roomService.roomExists(TEST_ROOM_ID);
@@ -203,7 +358,7 @@ class RoomServiceTest {
     void roomExists_ShouldReturnFalseWhenRoomNotExists() {
         // Given
         when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn(null);
+        when(hashOperations.entries("room:" + TEST_ROOM_ID)).thenReturn(Map.of());
 
         // When
         boolean exists = roomService.roomExists(TEST_ROOM_ID);
@@ -213,46 +368,107 @@ class RoomServiceTest {
     }
 
     @Test
-    void saveRoom_ShouldSerializeAndSaveRoom() throws Exception {
+    void updateSettings_ShouldWriteOnlySettingsAtStoredVersion() throws Exception {
+        // Given
+        testRoom.addTimer(testTimer);
+        testRoom.setVersion(4);
+        givenStoredRoom(testRoom);
+
+        // When
+        Optional<Room> updated = roomService.updateSettings(TEST_ROOM_ID, settings -> settings.setMaxTimers(15));
+
+        // Then
+        assertTrue(updated.isPresent());
+        assertEquals(15, updated.get().getSettings().getMaxTimers());
+        List<Object> args = capturedWriteArgs();
+        assertEquals("0", args.get(1));
+        assertEquals("4", args.get(2));
+        assertEquals("1", args.get(3));
+        assertEquals(RoomHashMapper.SETTINGS_FIELD, args.get(4));
+        assertFalse(args.contains(RoomHashMapper.timerField(TEST_TIMER_ID)));
+    }
+
+    @Test
+    void updateSettings_ShouldReturnEmptyWhenRoomNotFound() {
         // Given
-        when(objectMapper.writeValueAsString(testRoom)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
+        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
+        when(hashOperations.entries("room:" + TEST_ROOM_ID)).thenReturn(Map.of());
 
         // When
-        roomService.saveRoom(testRoom);
+        Optional<Room> updated = roomService.updateSettings(TEST_ROOM_ID, settings -> settings.setMaxTimers(15));
 
         // Then
-        verify(objectMapper).writeValueAsString(testRoom);
-        verify(valueOperations).set("room:" + TEST_ROOM_ID, "{\"id\":\"" + TEST_ROOM_ID + "\"}", 86400L, TimeUnit.SECONDS);
+        assertTrue(updated.isEmpty());
+        verify(roomRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
     }
 
     @Test
-    void saveRoom_ShouldThrowExceptionOnSerializationError() throws Exception {
+    void updateSettings_ShouldThrowExceptionOnSerializationError() throws Exception {
         // Given
-        when(objectMapper.writeValueAsString(testRoom)).thenThrow(new RuntimeException("Serialization error"));
+        givenStoredRoom(testRoom);
+        doThrow(new RuntimeException("Serialization error")).when(roomHashMapper).encode(any(Room.class), any(RoomPatch.class));
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> roomService.saveRoom(testRoom));
+        assertThrows(RuntimeException.class, () -> roomService.updateSettings(TEST_ROOM_ID, settings -> settings.setMaxTimers(15)));
+    }
+
+    @Test
+    void hideExpiredMessages_ShouldWriteOnlyHiddenMessages() throws Exception {
+        // Given
+        testMessage.setAutoHideAt(LocalDateTime.now().minusSeconds(1));
+        Message pinned = new Message("Pinned", MessagePriority.NORMAL, "#00FF00");
+        pinned.setId("message-2");
+        pinned.show();
+        testMessage.show();
+        testRoom.addMessage(testMessage);
+        testRoom.addMessage(pinned);
+        testRoom.addTimer(testTimer);
+        givenStoredRoom(testRoom);
+
+        // When
+        List<Message> hidden = roomService.hideExpiredMessages(TEST_ROOM_ID);
+
+        // Then
+        assertEquals(List.of(TEST_MESSAGE_ID), hidden.stream().map(Message::getId).toList());
+        assertFalse(hidden.get(0).getVisible());
+        List<Object> args = capturedWriteArgs();
+        assertEquals("0", args.get(1));
+        assertEquals("1", args.get(3));
+        assertEquals(RoomHashMapper.messageField(TEST_MESSAGE_ID), args.get(4));
+    }
+
+    @Test
+    void hideExpiredMessages_ShouldNotWriteWhenNothingExpired() throws Exception {
+        // Given
+        testMessage.show();
+        testRoom.addMessage(testMessage);
+        givenStoredRoom(testRoom);
+
+        // When
+        List<Message> hidden = roomService.hideExpiredMessages(TEST_ROOM_ID);
+
+        // Then
+        assertTrue(hidden.isEmpty());
+        verify(roomRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
     }
 
     @Test
     void deleteRoom_ShouldDeleteRoomAndCleanup() {
         // Given
-        when(redisTemplate.delete("room:" + TEST_ROOM_ID)).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), eq(DELETE_KEYS), eq(TEST_ROOM_ID))).thenReturn(1L);
 
         // When
         boolean result = roomService.deleteRoom(TEST_ROOM_ID);
 
         // Then
         assertTrue(result);
-        verify(redisTemplate).delete("room:" + TEST_ROOM_ID);
-        verify(redisTemplate).delete("room:stats:" + TEST_ROOM_ID);
-        verify(setOperations).remove("rooms:active", TEST_ROOM_ID);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(DELETE_KEYS), eq(TEST_ROOM_ID));
     }
 
     @Test
     void deleteRoom_ShouldReturnFalseWhenNotExists() {
         // Given
-        when(redisTemplate.delete("room:" + TEST_ROOM_ID)).thenReturn(false);
+        when(redisTemplate.execute(any(RedisScript.class), eq(DELETE_KEYS), eq(TEST_ROOM_ID))).thenReturn(0L);
 
         // When
         boolean result = roomService.deleteRoom(TEST_ROOM_ID);
@@ -262,26 +478,28 @@ class RoomServiceTest {
     }
 
     @Test
-    void addTimerToRoom_ShouldAddTimerWhenRoomExists() throws Exception {
+    void addTimerToRoom_ShouldWriteOnlyTimerAndMetaFields() throws Exception {
         // Given
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
-        when(objectMapper.writeValueAsString(any(Room.class))).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
+        givenStoredRoom(testRoom);
 
         // When
         boolean result = roomService.addTimerToRoom(TEST_ROOM_ID, testTimer);
 
         // Then
         assertTrue(result);
-        verify(valueOperations).set(eq("room:" + TEST_ROOM_ID), anyString(), eq(86400L), eq(TimeUnit.SECONDS));
+        List<Object> args = capturedWriteArgs();
+        assertEquals("0", args.get(1));
+        assertEquals("2", args.get(3));
+        assertTrue(args.contains(RoomHashMapper.timerField(TEST_TIMER_ID)));
+        assertTrue(args.contains(RoomHashMapper.META_FIELD));
+        assertFalse(args.contains(RoomHashMapper.SETTINGS_FIELD));
     }
 
     @Test
     void addTimerToRoom_ShouldReturnFalseWhenRoomNotExists() {
         // Given
         when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn(null);
+        when(hashOperations.entries("room:" + TEST_ROOM_ID)).thenReturn(Map.of());
 
         // When
         boolean result = roomService.addTimerToRoom(TEST_ROOM_ID, testTimer);
@@ -291,29 +509,93 @@ class RoomServiceTest {
     }
 
     @Test
-    void removeTimerFromRoom_ShouldRemoveTimerWhenExists() throws Exception {
+    void addTimerToRoom_ShouldReturnFalseWhenRoomDisappearsBeforeWrite() throws Exception {
+        // Given
+        givenStoredRoom(testRoom);
+        when(roomRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+
+        // When
+        boolean result = roomService.addTimerToRoom(TEST_ROOM_ID, testTimer);
+
+        // Then
+        assertFalse(result);
+    }
+
+    @Test
+    void addTimerToRoom_ShouldSendStoredVersionAsExpected() throws Exception {
+        // Given
+        testRoom.setVersion(7);
+        givenStoredRoom(testRoom);
+
+        // When
+        roomService.addTimerToRoom(TEST_ROOM_ID, testTimer);
+
+        // Then
+        assertEquals("7", capturedWriteArgs().get(2));
+    }
+
+    @Test
+    void addTimerToRoom_ShouldRetryOnVersionConflict() throws Exception {
+        // Given
+        givenStoredRoom(testRoom);
+        when(roomRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(-1L).thenReturn(2L);
+
+        // When
+        boolean result = roomService.addTimerToRoom(TEST_ROOM_ID, testTimer);
+
+        // Then
+        assertTrue(result);
+        verify(hashOperations, times(2)).entries("room:" + TEST_ROOM_ID);
+        assertEquals(1.0, meterRegistry.counter("timerfy.room.write.conflicts").count());
+    }
+
+    @Test
+    void addTimerToRoom_ShouldRefreshCacheAfterWrite() throws Exception {
+        // Given
+        givenStoredRoom(testRoom);
+        when(roomRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+
+        // When
+        roomService.addTimerToRoom(TEST_ROOM_ID, testTimer);
+        Optional<Timer> cachedTimer = roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID);
+
+        // Then
+        assertTrue(cachedTimer.isPresent());
+        verify(hashOperations, times(1)).entries("room:" + TEST_ROOM_ID);
+    }
+
+    @Test
+    void addTimerToRoom_ShouldThrowWhenConflictsExhaustAttempts() throws Exception {
+        // Given
+        givenStoredRoom(testRoom);
+        when(roomRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(-1L);
+
+        // When & Then
+        assertThrows(RoomUpdateConflictException.class, () -> roomService.addTimerToRoom(TEST_ROOM_ID, testTimer));
+        assertEquals(3.0, meterRegistry.counter("timerfy.room.write.conflicts").count());
+        assertEquals(1.0, meterRegistry.counter("timerfy.room.write.exhausted").count());
+    }
+
+    @Test
+    void removeTimerFromRoom_ShouldDeleteTimerField() throws Exception {
         // Given
         testRoom.addTimer(testTimer);
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
-        when(objectMapper.writeValueAsString(any(Room.class))).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
+        givenStoredRoom(testRoom);
 
         // When
         boolean result = roomService.removeTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID);
 
         // Then
         assertTrue(result);
-        assertNull(testRoom.getTimer(TEST_TIMER_ID));
+        List<Object> args = capturedWriteArgs();
+        assertEquals(RoomHashMapper.timerField(TEST_TIMER_ID), args.get(args.size() - 1));
     }
 
     @Test
     void getTimerFromRoom_ShouldReturnTimerWhenExists() throws Exception {
         // Given
         testRoom.addTimer(testTimer);
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
+        givenStoredRoom(testRoom);
 
         // When
         Optional<Timer> result = roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID);
@@ -323,72 +605,230 @@ class RoomServiceTest {
         assertEquals(TEST_TIMER_ID, result.get().getId());
     }
 
+    @Test
+    void updateTimerInRoom_ShouldWriteOnlyTimerField() throws Exception {
+        // Given
+        testRoom.addTimer(testTimer);
+        testRoom.addMessage(testMessage);
+        givenStoredRoom(testRoom);
+        testTimer.setCurrentTime(42);
+
+        // When
+        boolean result = roomService.updateTimerInRoom(TEST_ROOM_ID, testTimer);
+
+        // Then
+        assertTrue(result);
+        List<Object> args = capturedWriteArgs();
+        assertEquals("1", args.get(3));
+        assertEquals(RoomHashMapper.timerField(TEST_TIMER_ID), args.get(4));
+        assertFalse(args.contains(RoomHashMapper.messageField(TEST_MESSAGE_ID)));
+        assertFalse(args.contains(RoomHashMapper.META_FIELD));
+    }
+
+    @Test
+    void persistRunningTimers_ShouldWriteRunningTimersInOneUpdate() throws Exception {
+        // Given
+        Timer pausedTimer = new Timer("Paused Timer", 30, TimerType.COUNTDOWN);
+        Timer secondTimer = new Timer("Second Timer", 30, TimerType.STOPWATCH);
+        testTimer.setState(TimerState.RUNNING);
+        secondTimer.start();
+        testRoom.addTimer(testTimer);
+        testRoom.addTimer(secondTimer);
+        testRoom.addTimer(pausedTimer);
+        givenStoredRoom(testRoom);
+
+        // When
+        Optional<Room> result = roomService.persistRunningTimers(TEST_ROOM_ID,
+                List.of(TEST_TIMER_ID, secondTimer.getId(), pausedTimer.getId()));
+
+        // Then
+        assertTrue(result.isPresent());
+        assertTrue(result.get().getTimer(TEST_TIMER_ID).isAnchored());
+        List<Object> args = capturedWriteArgs();
+        assertEquals("2", args.get(3));
+        assertTrue(args.contains(RoomHashMapper.timerField(TEST_TIMER_ID)));
+        assertTrue(args.contains(RoomHashMapper.timerField(secondTimer.getId())));
+        assertFalse(args.contains(RoomHashMapper.timerField(pausedTimer.getId())));
+    }
+
     @Test
     void addMessageToRoom_ShouldAddMessageWhenRoomExists() throws Exception {
         // Given
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
-        when(objectMapper.writeValueAsString(any(Room.class))).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
+        givenStoredRoom(testRoom);
 
         // When
         boolean result = roomService.addMessageToRoom(TEST_ROOM_ID, testMessage);
 
         // Then
         assertTrue(result);
-        verify(valueOperations).set(eq("room:" + TEST_ROOM_ID), anyString(), eq(86400L), eq(TimeUnit.SECONDS));
+        assertTrue(capturedWriteArgs().contains(RoomHashMapper.messageField(TEST_MESSAGE_ID)));
+    }
+
+    @Test
+    void advanceSequence_StartsNextTimerFromCompletionInstant() throws Exception {
+        // Given
+        Timer first = new Timer("Intro", 5, TimerType.COUNTDOWN);
+        Timer next = new Timer("Talk", 25, TimerType.COUNTDOWN);
+        first.start();
+        long reachedZeroAt = TimerClock.currentTimeMillis() - 300;
+        first.setAnchoredAt(reachedZeroAt - 5000);
+        testRoom.addTimer(first);
+        testRoom.addTimer(next);
+        testRoom.setSequence(List.of(first.getId(), next.getId()));
+        givenStoredRoom(testRoom);
+
+        // When
+        List<Timer> written = roomService.advanceSequence(TEST_ROOM_ID, first.getId(), next.getId());
+
+        // Then
+        assertEquals(2, written.size());
+        assertEquals(TimerState.COMPLETED, written.get(0).getState());
+        assertEquals(TimerState.RUNNING, written.get(1).getState());
+        assertEquals(reachedZeroAt, written.get(1).getAnchoredAt());
+        assertTrue(written.get(1).getCurrentTimeMillis() <= 24700);
+        List<Object> args = capturedWriteArgs();
+        assertTrue(args.contains(RoomHashMapper.timerField(first.getId())));
+        assertTrue(args.contains(RoomHashMapper.timerField(next.getId())));
+    }
+
+    @Test
+    void advanceSequence_TimerStillRunning_WritesNothing() throws Exception {
+        // Given
+        Timer first = new Timer("Intro", 5, TimerType.COUNTDOWN);
+        Timer next = new Timer("Talk", 25, TimerType.COUNTDOWN);
+        first.start();
+        testRoom.addTimer(first);
+        testRoom.addTimer(next);
+        givenStoredRoom(testRoom);
+
+        // When
+        List<Timer> written = roomService.advanceSequence(TEST_ROOM_ID, first.getId(), next.getId());
+
+        // Then
+        assertTrue(written.isEmpty());
+        verify(roomRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void updateSequence_ShouldRejectUnknownAndRepeatedTimers() throws Exception {
+        // Given
+        testRoom.addTimer(testTimer);
+        givenStoredRoom(testRoom);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> roomService.updateSequence(TEST_ROOM_ID, List.of(TEST_TIMER_ID, TEST_TIMER_ID)));
+        assertThrows(TimerNotFoundException.class,
+                () -> roomService.updateSequence(TEST_ROOM_ID, List.of(TEST_TIMER_ID, "missing")));
+        assertEquals(List.of(TEST_TIMER_ID), roomService.updateSequence(TEST_ROOM_ID, List.of(TEST_TIMER_ID)).orElseThrow().getSequence());
+    }
+
+    @Test
+    void controlTimers_StartsStartableTimersInOneWriteWithOneAnchor() throws Exception {
+        // Given
+        Timer second = new Timer("Second", 30, TimerType.COUNTDOWN);
+        Timer running = new Timer("Running", 30, TimerType.COUNTDOWN);
+        running.start();
+        testRoom.addTimer(testTimer);
+        testRoom.addTimer(second);
+        testRoom.addTimer(running);
+        givenStoredRoom(testRoom);
+
+        // When
+        List<Timer> started = roomService.controlTimers(TEST_ROOM_ID, TimerOperation.START, null, null).orElseThrow();
+
+        // Then
+        assertEquals(Set.of(TEST_TIMER_ID, second.getId()), started.stream().map(Timer::getId).collect(Collectors.toSet()));
+        assertTrue(started.stream().allMatch(timer -> timer.getState() == TimerState.RUNNING));
+        assertEquals(started.get(0).getAnchoredAt(), started.get(1).getAnchoredAt());
+        List<Object> args = capturedWriteArgs();
+        assertTrue(args.contains(RoomHashMapper.timerField(TEST_TIMER_ID)));
+        assertTrue(args.contains(RoomHashMapper.timerField(second.getId())));
+        assertFalse(args.contains(RoomHashMapper.timerField(running.getId())));
+    }
+
+    @Test
+    void controlTimers_UnknownTimer_WritesNothing() throws Exception {
+        // Given
+        testRoom.addTimer(testTimer);
+        givenStoredRoom(testRoom);
+
+        // When & Then
+        assertThrows(TimerNotFoundException.class,
+                () -> roomService.controlTimers(TEST_ROOM_ID, TimerOperation.STOP, List.of(TEST_TIMER_ID, "missing"), null));
+        verify(roomRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
     }
 
     @Test
     void updateRoomStats_ShouldUpdateStatsWhenRoomExists() throws Exception {
         // Given
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
-        when(objectMapper.writeValueAsString(any(Room.class))).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
+        givenStoredRoom(testRoom);
 
         // When
         roomService.updateRoomStats(TEST_ROOM_ID, 5, 2, 3);
 
         // Then
-        assertEquals(5, testRoom.getStats().getConnectedUsers());
-        assertEquals(2, testRoom.getStats().getTotalControllers());
-        assertEquals(3, testRoom.getStats().getTotalViewers());
-        verify(valueOperations).set(eq("room:" + TEST_ROOM_ID), anyString(), eq(86400L), eq(TimeUnit.SECONDS));
+        List<Object> args = capturedWriteArgs();
+        assertEquals("1", args.get(3));
+        assertEquals(RoomHashMapper.STATS_FIELD, args.get(4));
+        Room.RoomStats stats = objectMapper.readValue((String) args.get(5), Room.RoomStats.class);
+        assertEquals(5, stats.getConnectedUsers());
+        assertEquals(2, stats.getTotalControllers());
+        assertEquals(3, stats.getTotalViewers());
     }
 
     @Test
-    void touchRoom_ShouldUpdateLastActivity() throws Exception {
+    void touchRoom_ShouldRecordActivityWithoutRewritingRoom() {
         // Given
-        LocalDateTime beforeTouch = testRoom.getLastActivity();
         when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
-        when(objectMapper.writeValueAsString(any(Room.class))).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
 
         // When
         roomService.touchRoom(TEST_ROOM_ID);
 
         // Then
-        assertTrue(testRoom.getLastActivity().isAfter(beforeTouch));
-        verify(valueOperations).set(eq("room:" + TEST_ROOM_ID), anyString(), eq(86400L), eq(TimeUnit.SECONDS));
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("room:" + TEST_ROOM_ID)), args.capture());
+        assertEquals(2, args.getValue().length);
+        assertEquals("86400", args.getValue()[1]);
+        verify(hashOperations, never()).entries(anyString());
+    }
+
+    @Test
+    void getRoomById_ShouldApplyRecordedActivity() throws Exception {
+        // Given
+        testRoom.setLastActivity(LocalDateTime.now().minusHours(1));
+        Map<String, byte[]> roomHash = roomHashMapper.toHash(testRoom);
+        LocalDateTime touched = LocalDateTime.now().withNano(0);
+        roomHash.put(RoomHashMapper.ACTIVITY_FIELD, touched.format(JsonConfig.DATE_TIME_FORMATTER).getBytes(StandardCharsets.UTF_8));
+        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
+        when(hashOperations.entries("room:" + TEST_ROOM_ID)).thenReturn(roomHash);
+
+        // When
+        Optional<Room> result = roomService.getRoomById(TEST_ROOM_ID);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(touched, result.get().getLastActivity());
     }
 
     @Test
-    void getActiveRoomsCount_ShouldReturnCount() {
+    void getActiveRoomsCount_ShouldCountOnlyUnexpiredRooms() {
         // Given
-        when(setOperations.size("rooms:active")).thenReturn(5L);
+        long now = LocalDateTime.now().atZone(ZoneId.systemDefault()).toEpochSecond();
+        when(zSetOperations.count(eq("rooms:expiry"), doubleThat(min -> min > now), eq(Double.POSITIVE_INFINITY))).thenReturn(5L);
+        when(setOperations.size("rooms:active")).thenReturn(2L);
 
         // When
         long count = roomService.getActiveRoomsCount();
 
         // Then
-        assertEquals(5L, count);
+        assertEquals(7L, count);
     }
 
     @Test
     void getActiveRoomsCount_ShouldReturnZeroWhenNull() {
         // Given
+        when(zSetOperations.count(eq("rooms:expiry"), anyDouble(), anyDouble())).thenReturn(null);
         when(setOperations.size("rooms:active")).thenReturn(null);
 
         // When
@@ -402,9 +842,7 @@ class RoomServiceTest {
     void isRoomAtCapacity_ShouldReturnTrueWhenAtCapacity() throws Exception {
         // Given
         testRoom.getStats().setConnectedUsers(50);
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
+        givenStoredRoom(testRoom);
 
         // When
         boolean atCapacity = roomService.isRoomAtCapacity(TEST_ROOM_ID);
@@ -417,9 +855,7 @@ class RoomServiceTest {
     void isRoomAtCapacity_ShouldReturnFalseWhenNotAtCapacity() throws Exception {
         // Given
         testRoom.getStats().setConnectedUsers(10);
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
+        givenStoredRoom(testRoom);
 
         // When
         boolean atCapacity = roomService.isRoomAtCapacity(TEST_ROOM_ID);
@@ -431,9 +867,7 @@ class RoomServiceTest {
     @Test
     void canAddTimer_ShouldReturnTrueWhenUnderLimit() throws Exception {
         // Given
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
+        givenStoredRoom(testRoom);
 
         // When
         boolean canAdd = roomService.canAddTimer(TEST_ROOM_ID);
@@ -447,9 +881,7 @@ class RoomServiceTest {
         // Given
         testRoom.getSettings().setMaxTimers(1);
         testRoom.addTimer(testTimer);
-        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn("{\"id\":\"" + TEST_ROOM_ID + "\"}");
-        when(objectMapper.readValue(anyString(), eq(Room.class))).thenReturn(testRoom);
+        givenStoredRoom(testRoom);
 
         // When
         boolean canAdd = roomService.canAddTimer(TEST_ROOM_ID);
@@ -459,18 +891,116 @@ class RoomServiceTest {
     }
 
     @Test
-    void cleanupExpiredRooms_ShouldRemoveExpiredRooms() {
+    void modifyTimerInRoom_ShouldApplyChangeToStoredTimer() throws Exception {
+        // Given
+        testRoom.addTimer(testTimer);
+        givenStoredRoom(testRoom);
+
+        // When
+        Optional<Timer> result = roomService.modifyTimerInRoom(TEST_ROOM_ID, TEST_TIMER_ID, timer -> {
+            timer.setName("Renamed");
+            return true;
+        });
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals("Renamed", result.get().getName());
+        assertTrue(capturedWriteArgs().contains(RoomHashMapper.timerField(TEST_TIMER_ID)));
+    }
+
+    @Test
+    void modifyTimerInRoom_ShouldNotWriteWhenChangeDeclines() throws Exception {
+        // Given
+        testRoom.addTimer(testTimer);
+        givenStoredRoom(testRoom);
+
+        // When
+        Optional<Timer> result = roomService.modifyTimerInRoom(TEST_ROOM_ID, TEST_TIMER_ID, timer -> false);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(roomRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    private void givenTransitionReply(String... reply) {
+        List<byte[]> encoded = Arrays.stream(reply).map(part -> part.getBytes(StandardCharsets.UTF_8)).toList();
+        doReturn(encoded).when(roomRedisTemplate)
+                .execute(argThat((RedisScript<?> script) -> script != null && script.getResultType() == List.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void transitionTimer_ShouldReturnTimerFromScript() throws Exception {
+        // Given
+        testTimer.setState(TimerState.RUNNING);
+        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
+        givenTransitionReply("APPLIED", objectMapper.writeValueAsString(testTimer), "3");
+
+        // When
+        TimerTransitionResult result = roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.START, null);
+
+        // Then
+        assertTrue(result.isApplied());
+        assertEquals(TEST_TIMER_ID, result.getTimer().getId());
+        assertEquals(TimerState.RUNNING, result.getTimer().getState());
+        verify(hashOperations, never()).entries(anyString());
+    }
+
+    @Test
+    void transitionTimer_ShouldReportInvalidState() {
+        // Given
+        when(roomIdGenerator.isValidRoomId(TEST_ROOM_ID)).thenReturn(true);
+        givenTransitionReply("INVALID_STATE", "STOPPED");
+
+        // When
+        TimerTransitionResult result = roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.PAUSE, null);
+
+        // Then
+        assertEquals(TimerTransitionResult.Status.INVALID_STATE, result.getStatus());
+        assertEquals(TimerState.STOPPED, result.getCurrentState());
+    }
+
+    @Test
+    void transitionTimer_ShouldReturnRoomNotFoundForInvalidRoomId() {
+        // Given
+        when(roomIdGenerator.isValidRoomId("bad")).thenReturn(false);
+
+        // When
+        TimerTransitionResult result = roomService.transitionTimer("bad", TEST_TIMER_ID, TimerOperation.STOP, null);
+
+        // Then
+        assertEquals(TimerTransitionResult.Status.ROOM_NOT_FOUND, result.getStatus());
+        verify(roomRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void cleanupExpiredRooms_ShouldSweepInBatchesUntilShortBatch() {
+        // Given
+        doReturn(List.of(0L, 2L), List.of(0L, 2L), List.of(0L, 1L)).when(redisTemplate)
+                .execute(argThat((RedisScript<?> script) -> script != null && script.getResultType() == List.class),
+                        eq(SWEEP_KEYS), any(Object[].class));
+
+        // When
+        roomService.cleanupExpiredRooms();
+
+        // Then
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate, times(3)).execute(any(RedisScript.class), eq(SWEEP_KEYS), args.capture());
+        assertEquals("2", args.getValue()[1]);
+        assertEquals("86400", args.getValue()[2]);
+        verify(hashOperations, never()).entries(anyString());
+    }
+
+    @Test
+    void cleanupExpiredRooms_ShouldKeepSweepingWhileMigratingLegacyRooms() {
         // Given
-        when(setOperations.members("rooms:active")).thenReturn(Set.of(TEST_ROOM_ID, "ROOM2"));
-        when(roomIdGenerator.isValidRoomId(anyString())).thenReturn(true);
-        when(valueOperations.get("room:" + TEST_ROOM_ID)).thenReturn(null);
-        when(valueOperations.get("room:ROOM2")).thenReturn(null);
+        doReturn(List.of(2L, 0L), List.of(1L, 0L)).when(redisTemplate)
+                .execute(argThat((RedisScript<?> script) -> script != null && script.getResultType() == List.class),
+                        eq(SWEEP_KEYS), any(Object[].class));
 
         // When
         roomService.cleanupExpiredRooms();
 
         // Then
-        verify(setOperations).remove("rooms:active", TEST_ROOM_ID);
-        verify(setOperations).remove("rooms:active", "ROOM2");
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), eq(SWEEP_KEYS), any(Object[].class));
     }
 }
\ No newline at end of file
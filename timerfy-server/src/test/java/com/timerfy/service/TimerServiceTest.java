@@ -1,20 +1,34 @@
 package com.timerfy.service;
 
 import com.timerfy.model.Timer;
+import com.timerfy.model.TimerClock;
 import com.timerfy.model.TimerState;
 import com.timerfy.model.TimerType;
 import com.timerfy.model.Room;
+import com.timerfy.repository.ScheduledStartRepository;
+import com.timerfy.repository.ScheduledStartRepository.ScheduledStart;
+import com.timerfy.repository.TickLeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ScheduledFuture;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,7 +44,19 @@ class TimerServiceTest {
     private ApplicationEventPublisher eventPublisher;
 
     @Mock
-    private ScheduledFuture<?> scheduledFuture;
+    private TimingWheel timingWheel;
+
+    @Mock
+    private TimingWheel.Timeout timeout;
+
+    @Mock
+    private TimingWheel.Timeout deadline;
+
+    @Mock
+    private TickLeaseRepository tickLeaseRepository;
+
+    @Mock
+    private ScheduledStartRepository scheduledStartRepository;
 
     @InjectMocks
     private TimerService timerService;
@@ -48,6 +74,11 @@ class TimerServiceTest {
         testTimer.setId(TEST_TIMER_ID);
         testRoom = new Room(TEST_ROOM_ID);
         testRoom.addTimer(testTimer);
+        lenient().when(timingWheel.scheduleAligned(anyString(), any(Runnable.class), anyLong(), any(TimeUnit.class)))
+                .thenReturn(timeout);
+        lenient().when(timingWheel.schedule(anyString(), any(Runnable.class), anyLong(), any(TimeUnit.class)))
+                .thenReturn(deadline);
+        lenient().when(tickLeaseRepository.acquire(anyString(), anyString(), anyLong())).thenReturn(true);
     }
 
     @Test
@@ -62,7 +93,8 @@ class TimerServiceTest {
         // Then
         assertNotNull(createdTimer);
         assertEquals(TIMER_NAME, createdTimer.getName());
-        assertEquals(TIMER_DURATION, createdTimer.getDuration());
+        assertEquals(TIMER_DURATION, createdTimer.getDurationMillis());
+        assertEquals(TIMER_DURATION, createdTimer.getCurrentTimeMillis());
         assertEquals(TimerType.COUNTDOWN, createdTimer.getType());
         assertEquals(TimerState.STOPPED, createdTimer.getState());
         verify(roomService).addTimerToRoom(eq(TEST_ROOM_ID), any(Timer.class));
@@ -92,188 +124,259 @@ class TimerServiceTest {
             timerService.createTimer(TEST_ROOM_ID, TIMER_NAME, TIMER_DURATION, TimerType.COUNTDOWN));
     }
 
+    private void givenModifiableTimer() {
+        when(roomService.modifyTimerInRoom(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any())).thenAnswer(invocation -> {
+            Predicate<Timer> change = invocation.getArgument(2);
+            return change.test(testTimer) ? Optional.of(testTimer) : Optional.empty();
+        });
+    }
+
+    private TimerTransitionResult appliedWithState(TimerState state) {
+        testTimer.setState(state);
+        return TimerTransitionResult.applied(testTimer);
+    }
+
     @Test
     void startTimer_ShouldStartTimerWhenTimerExists() {
         // Given
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
-        when(roomService.updateTimerInRoom(TEST_ROOM_ID, testTimer)).thenReturn(true);
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.START, null))
+                .thenReturn(appliedWithState(TimerState.RUNNING));
 
         // When
-        boolean result = timerService.startTimer(TEST_ROOM_ID, TEST_TIMER_ID, null);
+        TimerTransitionResult result = timerService.startTimer(TEST_ROOM_ID, TEST_TIMER_ID, null);
 
         // Then
-        assertTrue(result);
-        assertEquals(TimerState.RUNNING, testTimer.getState());
-        assertNotNull(testTimer.getStartedAt());
-        verify(roomService).updateTimerInRoom(TEST_ROOM_ID, testTimer);
+        assertTrue(result.isApplied());
+        assertEquals(TimerState.RUNNING, result.getTimer().getState());
         verify(eventPublisher).publishEvent(any(TimerService.TimerEvent.class));
     }
 
     @Test
-    void startTimer_ShouldSetCustomStartTime() {
+    void startTimer_ShouldPassCustomStartTimeToTransition() {
         // Given
-        LocalDateTime customStartTime = LocalDateTime.now().minusMinutes(5);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
-        when(roomService.updateTimerInRoom(TEST_ROOM_ID, testTimer)).thenReturn(true);
+        LocalDateTime customStartTime = LocalDateTime.of(2024, 3, 1, 9, 30, 0);
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.START, "2024-03-01T09:30:00Z"))
+                .thenReturn(appliedWithState(TimerState.RUNNING));
 
         // When
-        boolean result = timerService.startTimer(TEST_ROOM_ID, TEST_TIMER_ID, customStartTime);
+        TimerTransitionResult result = timerService.startTimer(TEST_ROOM_ID, TEST_TIMER_ID, customStartTime);
 
         // Then
-        assertTrue(result);
-        assertEquals(customStartTime, testTimer.getStartedAt());
+        assertTrue(result.isApplied());
     }
 
     @Test
-    void startTimer_ShouldReturnFalseWhenTimerNotFound() {
+    void startTimer_ShouldReturnNotFoundWhenTimerNotFound() {
         // Given
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.empty());
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.START, null))
+                .thenReturn(TimerTransitionResult.timerNotFound());
 
         // When
-        boolean result = timerService.startTimer(TEST_ROOM_ID, TEST_TIMER_ID, null);
+        TimerTransitionResult result = timerService.startTimer(TEST_ROOM_ID, TEST_TIMER_ID, null);
 
         // Then
-        assertFalse(result);
-        verify(roomService, never()).updateTimerInRoom(anyString(), any(Timer.class));
+        assertEquals(TimerTransitionResult.Status.TIMER_NOT_FOUND, result.getStatus());
         verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void startTimer_ShouldReturnFalseWhenTimerAlreadyRunning() {
+    void startTimer_ShouldReportInvalidStateWhenTimerAlreadyRunning() {
         // Given
-        testTimer.setState(TimerState.RUNNING);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.START, null))
+                .thenReturn(TimerTransitionResult.invalidState(TimerState.RUNNING));
 
         // When
-        boolean result = timerService.startTimer(TEST_ROOM_ID, TEST_TIMER_ID, null);
+        TimerTransitionResult result = timerService.startTimer(TEST_ROOM_ID, TEST_TIMER_ID, null);
 
         // Then
-        assertFalse(result);
-        verify(roomService, never()).updateTimerInRoom(anyString(), any(Timer.class));
+        assertEquals(TimerTransitionResult.Status.INVALID_STATE, result.getStatus());
+        assertEquals(TimerState.RUNNING, result.getCurrentState());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void startTimer_FutureStartTime_QueuesAndArmsTimer() {
+        // Given
+        LocalDateTime startTime = LocalDateTime.now().plusMinutes(10).withNano(0);
+        long startAtMillis = startTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.SCHEDULE, String.valueOf(startAtMillis)))
+                .thenReturn(appliedWithState(TimerState.SCHEDULED));
+
+        // When
+        TimerTransitionResult result = timerService.startTimer(TEST_ROOM_ID, TEST_TIMER_ID, startTime);
+
+        // Then
+        assertEquals(TimerState.SCHEDULED, result.getTimer().getState());
+        verify(scheduledStartRepository).schedule(TEST_ROOM_ID, TEST_TIMER_ID, startAtMillis);
+        verify(roomService, never()).transitionTimer(anyString(), anyString(), eq(TimerOperation.START), any());
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        verify(timingWheel).schedule(eq("scheduled-starts"), any(Runnable.class), delay.capture(), eq(TimeUnit.MILLISECONDS));
+        assertTrue(delay.getValue() > TimeUnit.MINUTES.toMillis(9));
+    }
+
+    @Test
+    void startTimerInSync_SchedulesStartAfterRoomLatency() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(timerService, "meterRegistry", meterRegistry);
+        when(roomService.transitionTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), eq(TimerOperation.SCHEDULE), anyString()))
+                .thenReturn(appliedWithState(TimerState.SCHEDULED));
+
+        // When
+        long before = TimerClock.currentTimeMillis();
+        timerService.startTimerInSync(TEST_ROOM_ID, TEST_TIMER_ID, 200);
+        timerService.startTimerInSync(TEST_ROOM_ID, TEST_TIMER_ID, -1);
+        timerService.startTimerInSync(TEST_ROOM_ID, TEST_TIMER_ID, 10_000);
+        long after = TimerClock.currentTimeMillis();
+
+        // Then
+        ArgumentCaptor<Long> startAt = ArgumentCaptor.forClass(Long.class);
+        verify(scheduledStartRepository, times(3)).schedule(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), startAt.capture());
+        long[] expectedLeads = {500, 1000, 3000};
+        for (int i = 0; i < expectedLeads.length; i++) {
+            long startAtMillis = startAt.getAllValues().get(i);
+            assertTrue(startAtMillis >= before + expectedLeads[i] && startAtMillis <= after + expectedLeads[i],
+                    "started " + (startAtMillis - before) + " ms ahead");
+        }
+        assertEquals(3, meterRegistry.timer("timerfy.sync-start.lead").count());
+    }
+
+    @Test
+    void startTimer_ScheduleRejected_DropsQueuedStart() {
+        // Given
+        when(roomService.transitionTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), eq(TimerOperation.SCHEDULE), anyString()))
+                .thenReturn(TimerTransitionResult.invalidState(TimerState.RUNNING));
+
+        // When
+        timerService.startTimer(TEST_ROOM_ID, TEST_TIMER_ID, LocalDateTime.now().plusMinutes(10));
+
+        // Then
+        verify(scheduledStartRepository).cancel(TEST_ROOM_ID, TEST_TIMER_ID);
         verify(eventPublisher, never()).publishEvent(any());
     }
 
+    @Test
+    void startDueTimers_StartsClaimedTimersOnTheirRoomShard() {
+        // Given
+        ReflectionTestUtils.setField(timerService, "meterRegistry", new SimpleMeterRegistry());
+        long startAtMillis = TimerClock.currentTimeMillis() - 5;
+        when(scheduledStartRepository.claimDue(anyLong(), anyInt()))
+                .thenReturn(List.of(new ScheduledStart(TEST_ROOM_ID, TEST_TIMER_ID, startAtMillis)));
+        when(scheduledStartRepository.nextStartAt()).thenReturn(-1L);
+        when(roomService.transitionTimer(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), eq(TimerOperation.START_SCHEDULED), anyString()))
+                .thenReturn(appliedWithState(TimerState.RUNNING));
+
+        // When
+        timerService.startDueTimers();
+        ArgumentCaptor<Runnable> start = ArgumentCaptor.forClass(Runnable.class);
+        verify(timingWheel).schedule(eq(TEST_ROOM_ID), start.capture(), eq(0L), eq(TimeUnit.MILLISECONDS));
+        start.getValue().run();
+
+        // Then
+        ArgumentCaptor<TimerService.TimerEvent> event = ArgumentCaptor.forClass(TimerService.TimerEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("TIMER_STARTED", event.getValue().getEventType());
+        verify(timingWheel, never()).schedule(eq("scheduled-starts"), any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
     @Test
     void pauseTimer_ShouldPauseRunningTimer() {
         // Given
-        testTimer.setState(TimerState.RUNNING);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
-        when(roomService.updateTimerInRoom(TEST_ROOM_ID, testTimer)).thenReturn(true);
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.PAUSE, null))
+                .thenReturn(appliedWithState(TimerState.PAUSED));
 
         // When
-        boolean result = timerService.pauseTimer(TEST_ROOM_ID, TEST_TIMER_ID);
+        TimerTransitionResult result = timerService.pauseTimer(TEST_ROOM_ID, TEST_TIMER_ID);
 
         // Then
-        assertTrue(result);
-        assertEquals(TimerState.PAUSED, testTimer.getState());
-        assertNotNull(testTimer.getPausedAt());
-        verify(roomService).updateTimerInRoom(TEST_ROOM_ID, testTimer);
+        assertTrue(result.isApplied());
+        assertEquals(TimerState.PAUSED, result.getTimer().getState());
         verify(eventPublisher).publishEvent(any(TimerService.TimerEvent.class));
     }
 
     @Test
-    void pauseTimer_ShouldReturnFalseWhenTimerNotRunning() {
+    void pauseTimer_ShouldReportInvalidStateWhenTimerNotRunning() {
         // Given
-        testTimer.setState(TimerState.STOPPED);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.PAUSE, null))
+                .thenReturn(TimerTransitionResult.invalidState(TimerState.STOPPED));
 
         // When
-        boolean result = timerService.pauseTimer(TEST_ROOM_ID, TEST_TIMER_ID);
+        TimerTransitionResult result = timerService.pauseTimer(TEST_ROOM_ID, TEST_TIMER_ID);
 
         // Then
-        assertFalse(result);
-        verify(roomService, never()).updateTimerInRoom(anyString(), any(Timer.class));
+        assertFalse(result.isApplied());
         verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void stopTimer_ShouldStopTimer() {
         // Given
-        testTimer.setState(TimerState.RUNNING);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
-        when(roomService.updateTimerInRoom(TEST_ROOM_ID, testTimer)).thenReturn(true);
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.STOP, null))
+                .thenReturn(appliedWithState(TimerState.STOPPED));
 
         // When
-        boolean result = timerService.stopTimer(TEST_ROOM_ID, TEST_TIMER_ID);
+        TimerTransitionResult result = timerService.stopTimer(TEST_ROOM_ID, TEST_TIMER_ID);
 
         // Then
-        assertTrue(result);
-        assertEquals(TimerState.STOPPED, testTimer.getState());
-        verify(roomService).updateTimerInRoom(TEST_ROOM_ID, testTimer);
+        assertTrue(result.isApplied());
         verify(eventPublisher).publishEvent(any(TimerService.TimerEvent.class));
     }
 
     @Test
     void resetTimer_ShouldResetTimerToOriginalDuration() {
         // Given
-        testTimer.setState(TimerState.RUNNING);
-        testTimer.setCurrentTime(30000L); // 30 seconds remaining
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
-        when(roomService.updateTimerInRoom(TEST_ROOM_ID, testTimer)).thenReturn(true);
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.RESET, null))
+                .thenReturn(appliedWithState(TimerState.STOPPED));
 
         // When
-        boolean result = timerService.resetTimer(TEST_ROOM_ID, TEST_TIMER_ID, null);
+        TimerTransitionResult result = timerService.resetTimer(TEST_ROOM_ID, TEST_TIMER_ID, null);
 
         // Then
-        assertTrue(result);
-        assertEquals(TimerState.STOPPED, testTimer.getState());
-        assertEquals(TIMER_DURATION, testTimer.getCurrentTime());
-        verify(roomService).updateTimerInRoom(TEST_ROOM_ID, testTimer);
+        assertTrue(result.isApplied());
         verify(eventPublisher).publishEvent(any(TimerService.TimerEvent.class));
     }
 
     @Test
-    void resetTimer_ShouldResetTimerToNewDuration() {
+    void resetTimer_ShouldPassNewDurationToTransition() {
         // Given
         long newDuration = 120000L; // 2 minutes
-        testTimer.setState(TimerState.RUNNING);
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
-        when(roomService.updateTimerInRoom(TEST_ROOM_ID, testTimer)).thenReturn(true);
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.RESET, "120000"))
+                .thenReturn(appliedWithState(TimerState.STOPPED));
 
         // When
-        boolean result = timerService.resetTimer(TEST_ROOM_ID, TEST_TIMER_ID, newDuration);
+        TimerTransitionResult result = timerService.resetTimer(TEST_ROOM_ID, TEST_TIMER_ID, newDuration);
 
         // Then
-        assertTrue(result);
-        assertEquals(TimerState.STOPPED, testTimer.getState());
-        assertEquals(newDuration, testTimer.getDuration());
-        assertEquals(newDuration, testTimer.getCurrentTime());
-        verify(roomService).updateTimerInRoom(TEST_ROOM_ID, testTimer);
+        assertTrue(result.isApplied());
         verify(eventPublisher).publishEvent(any(TimerService.TimerEvent.class));
     }
 
     @Test
-    void adjustTimer_ShouldAdjustTimerTime() {
+    void adjustTimer_ShouldPassAdjustmentToTransition() {
         // Given
-        long adjustment = 10000L; // Add 10 seconds
-        testTimer.setCurrentTime(30000L); // 30 seconds
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
-        when(roomService.updateTimerInRoom(TEST_ROOM_ID, testTimer)).thenReturn(true);
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.ADJUST, "-5000"))
+                .thenReturn(appliedWithState(TimerState.STOPPED));
 
         // When
-        boolean result = timerService.adjustTimer(TEST_ROOM_ID, TEST_TIMER_ID, adjustment);
+        TimerTransitionResult result = timerService.adjustTimer(TEST_ROOM_ID, TEST_TIMER_ID, -5000L);
 
         // Then
-        assertTrue(result);
-        assertEquals(40000L, testTimer.getCurrentTime()); // Should be 40 seconds
-        verify(roomService).updateTimerInRoom(TEST_ROOM_ID, testTimer);
+        assertTrue(result.isApplied());
         verify(eventPublisher).publishEvent(any(TimerService.TimerEvent.class));
     }
 
     @Test
-    void adjustTimer_ShouldHandleNegativeAdjustment() {
+    void adjustTimer_ShouldNotPublishWhenRoomMissing() {
         // Given
-        long adjustment = -5000L; // Subtract 5 seconds
-        testTimer.setCurrentTime(30000L); // 30 seconds
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
-        when(roomService.updateTimerInRoom(TEST_ROOM_ID, testTimer)).thenReturn(true);
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.ADJUST, "10000"))
+                .thenReturn(TimerTransitionResult.roomNotFound());
 
         // When
-        boolean result = timerService.adjustTimer(TEST_ROOM_ID, TEST_TIMER_ID, adjustment);
+        TimerTransitionResult result = timerService.adjustTimer(TEST_ROOM_ID, TEST_TIMER_ID, 10000L);
 
         // Then
-        assertTrue(result);
-        assertEquals(25000L, testTimer.getCurrentTime()); // Should be 25 seconds
+        assertEquals(TimerTransitionResult.Status.ROOM_NOT_FOUND, result.getStatus());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -328,7 +431,7 @@ class TimerServiceTest {
         newSettings.setPlaySound(true);
         
         when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
-        when(roomService.updateTimerInRoom(TEST_ROOM_ID, testTimer)).thenReturn(true);
+        givenModifiableTimer();
 
         // When
         boolean result = timerService.updateTimer(TEST_ROOM_ID, TEST_TIMER_ID, newName, newDuration, newSettings);
@@ -336,9 +439,9 @@ class TimerServiceTest {
         // Then
         assertTrue(result);
         assertEquals(newName, testTimer.getName());
-        assertEquals(newDuration, testTimer.getDuration());
+        assertEquals(newDuration, testTimer.getDurationMillis());
         assertEquals(newSettings, testTimer.getSettings());
-        verify(roomService).updateTimerInRoom(TEST_ROOM_ID, testTimer);
+        verify(roomService).modifyTimerInRoom(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any());
         verify(eventPublisher).publishEvent(any(TimerService.TimerEvent.class));
     }
 
@@ -349,7 +452,11 @@ class TimerServiceTest {
         String newName = "Updated Timer";
         
         when(roomService.getTimerFromRoom(TEST_ROOM_ID, TEST_TIMER_ID)).thenReturn(Optional.of(testTimer));
-        when(roomService.updateTimerInRoom(TEST_ROOM_ID, testTimer)).thenReturn(true);
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.PAUSE, null))
+                .thenReturn(appliedWithState(TimerState.PAUSED));
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.START, null))
+                .thenReturn(appliedWithState(TimerState.RUNNING));
+        givenModifiableTimer();
 
         // When
         boolean result = timerService.updateTimer(TEST_ROOM_ID, TEST_TIMER_ID, newName, null, null);
@@ -357,8 +464,11 @@ class TimerServiceTest {
         // Then
         assertTrue(result);
         assertEquals(newName, testTimer.getName());
-        // Timer should be restarted after update
-        verify(roomService, atLeast(2)).updateTimerInRoom(TEST_ROOM_ID, testTimer);
+        // Timer should be paused around the update and restarted afterwards
+        InOrder inOrder = inOrder(roomService);
+        inOrder.verify(roomService).transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.PAUSE, null);
+        inOrder.verify(roomService).modifyTimerInRoom(eq(TEST_ROOM_ID), eq(TEST_TIMER_ID), any());
+        inOrder.verify(roomService).transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.START, null);
     }
 
     @Test
@@ -371,50 +481,75 @@ class TimerServiceTest {
 
         // Then
         assertFalse(result);
-        verify(roomService, never()).updateTimerInRoom(anyString(), any(Timer.class));
+        verify(roomService, never()).modifyTimerInRoom(anyString(), anyString(), any());
         verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void stopAllTimersInRoom_ShouldStopAllRunningTimers() {
+    void stopAllTimersInRoom_ShouldStopTimersInOneWriteAndOneEvent() {
         // Given
         Timer timer1 = new Timer("Timer 1", 60000L, TimerType.COUNTDOWN);
         timer1.setId("timer-1");
-        timer1.setState(TimerState.RUNNING);
-        
         Timer timer2 = new Timer("Timer 2", 120000L, TimerType.COUNTDOWN);
         timer2.setId("timer-2");
-        timer2.setState(TimerState.STOPPED);
-        
-        testRoom.addTimer(timer1);
-        testRoom.addTimer(timer2);
-        
-        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
-        when(roomService.getTimerFromRoom(TEST_ROOM_ID, "timer-1")).thenReturn(Optional.of(timer1));
-        when(roomService.updateTimerInRoom(eq(TEST_ROOM_ID), any(Timer.class))).thenReturn(true);
+        when(roomService.controlTimers(TEST_ROOM_ID, TimerOperation.STOP, null, null))
+                .thenReturn(Optional.of(List.of(timer1, timer2)));
 
         // When
         timerService.stopAllTimersInRoom(TEST_ROOM_ID);
 
         // Then
-        verify(roomService).updateTimerInRoom(eq(TEST_ROOM_ID), eq(timer1));
-        verify(roomService, never()).updateTimerInRoom(eq(TEST_ROOM_ID), eq(timer2));
-        verify(eventPublisher).publishEvent(any(TimerService.TimerEvent.class));
+        verify(roomService, never()).transitionTimer(anyString(), anyString(), any(), any());
+        verify(scheduledStartRepository).cancel(TEST_ROOM_ID, List.of("timer-1", "timer-2"));
+        ArgumentCaptor<TimerService.BulkControlEvent> event = ArgumentCaptor.forClass(TimerService.BulkControlEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("TIMER_STOPPED", event.getValue().getEventType());
+        assertEquals(List.of(timer1, timer2), event.getValue().getTimers());
     }
 
     @Test
     void stopAllTimersInRoom_ShouldHandleNonExistentRoom() {
         // Given
-        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.empty());
+        when(roomService.controlTimers(TEST_ROOM_ID, TimerOperation.STOP, null, null)).thenReturn(Optional.empty());
 
         // When
         timerService.stopAllTimersInRoom(TEST_ROOM_ID);
 
         // Then
-        verify(roomService, never()).updateTimerInRoom(anyString(), any(Timer.class));
+        verify(scheduledStartRepository, never()).cancel(anyString(), anyCollection());
         verify(eventPublisher, never()).publishEvent(any());
     }
 
+    @Test
+    void controlTimers_Start_TicksRoomOnceForAllStartedTimers() {
+        // Given
+        Timer secondTimer = new Timer("Second Timer", 30, TimerType.COUNTDOWN);
+        testTimer.start();
+        secondTimer.start();
+        when(roomService.controlTimers(TEST_ROOM_ID, TimerOperation.START, List.of(TEST_TIMER_ID, secondTimer.getId()), null))
+                .thenReturn(Optional.of(List.of(testTimer, secondTimer)));
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+
+        // When
+        Optional<List<Timer>> started = timerService.controlTimers(TEST_ROOM_ID, TimerOperation.START,
+                List.of(TEST_TIMER_ID, secondTimer.getId()), null);
+
+        // Then
+        assertEquals(2, started.orElseThrow().size());
+        verify(tickLeaseRepository).acquire(eq(TEST_ROOM_ID), anyString(), anyLong());
+        verify(timingWheel).scheduleAligned(eq(TEST_ROOM_ID), any(Runnable.class), anyLong(), any(TimeUnit.class));
+        verify(eventPublisher).publishEvent(any(TimerService.BulkControlEvent.class));
+    }
+
+    @Test
+    void controlTimers_UnsupportedOperation_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> timerService.controlTimers(TEST_ROOM_ID, TimerOperation.COMPLETE, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> timerService.controlTimers(TEST_ROOM_ID, TimerOperation.ADJUST, null, null));
+        verifyNoInteractions(roomService);
+    }
+
     @Test
     void timerEvent_ShouldContainCorrectData() {
         // Given
@@ -449,5 +584,459 @@ class TimerServiceTest {
         // Note: This is more of an integration test, but we can verify setup
         assertNotNull(testTimer.getId());
         assertEquals(TimerState.RUNNING, testTimer.getState());
+        verify(timingWheel).scheduleAligned(eq(TEST_ROOM_ID), any(Runnable.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    private Runnable startTickingAndCaptureTick() {
+        timerService.startTimerTicking(TEST_ROOM_ID, testTimer);
+        ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+        verify(timingWheel).scheduleAligned(eq(TEST_ROOM_ID), tick.capture(), anyLong(), any(TimeUnit.class));
+        return tick.getValue();
+    }
+
+    @Test
+    void tick_AnchoredRunningTimer_BroadcastsWithoutWriting() {
+        // Given
+        testTimer.start();
+        testTimer.setAnchoredAt(TimerClock.currentTimeMillis() - 5_500);
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        Runnable tick = startTickingAndCaptureTick();
+
+        // When
+        tick.run();
+
+        // Then
+        assertEquals(TIMER_DURATION - 5, testTimer.getCurrentTime());
+        verify(roomService, never()).persistRunningTimers(anyString(), any());
+        ArgumentCaptor<TimerService.RoomTickEvent> event = ArgumentCaptor.forClass(TimerService.RoomTickEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(testTimer), event.getValue().getTimers());
+    }
+
+    @Test
+    void tick_SeveralRunningTimers_SendOneFrame() {
+        // Given
+        Timer secondTimer = new Timer("Second Timer", 30, TimerType.STOPWATCH);
+        testRoom.addTimer(secondTimer);
+        testTimer.start();
+        secondTimer.start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        Runnable tick = startTickingAndCaptureTick();
+        timerService.startTimerTicking(TEST_ROOM_ID, secondTimer);
+        clearInvocations(roomService);
+
+        // When
+        tick.run();
+
+        // Then
+        verify(timingWheel, times(1)).scheduleAligned(anyString(), any(Runnable.class), anyLong(), any(TimeUnit.class));
+        verify(roomService, times(1)).getRoomById(TEST_ROOM_ID);
+        ArgumentCaptor<TimerService.RoomTickEvent> event = ArgumentCaptor.forClass(TimerService.RoomTickEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getTimers().size());
+    }
+
+    @Test
+    void tick_WheelBehindAndRoomIdle_ShedsFrame() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(timerService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(timerService, "idleAfterMillis", 0L);
+        testTimer.start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        when(timingWheel.getLagMillis()).thenReturn(120L);
+        Runnable tick = startTickingAndCaptureTick();
+
+        // When
+        tick.run();
+
+        // Then
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(1.0, meterRegistry.counter("timerfy.ticker.frames.shed").count());
+    }
+
+    @Test
+    void tick_WheelBehindAndTimerEntersWarning_StillBroadcastsFrame() {
+        // Given
+        ReflectionTestUtils.setField(timerService, "idleAfterMillis", 0L);
+        testTimer.start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        lenient().when(timingWheel.getLagMillis()).thenReturn(120L);
+        Runnable tick = startTickingAndCaptureTick();
+        testTimer.setAnchoredAt(TimerClock.currentTimeMillis() - (TIMER_DURATION - 120) * 1000);
+
+        // When
+        tick.run();
+
+        // Then
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertTrue(events.getAllValues().stream().anyMatch(event -> event instanceof TimerService.TimerEvent
+                && "TIMER_WARNING".equals(((TimerService.TimerEvent) event).getEventType())));
+        assertTrue(events.getAllValues().stream().anyMatch(event -> event instanceof TimerService.RoomTickEvent));
+    }
+
+    @Test
+    void tick_UnanchoredRunningTimer_PersistsRoomOnce() {
+        // Given
+        testTimer.setState(TimerState.RUNNING);
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        when(roomService.persistRunningTimers(eq(TEST_ROOM_ID), any())).thenAnswer(invocation -> {
+            testTimer.anchor();
+            return Optional.of(testRoom);
+        });
+        Runnable tick = startTickingAndCaptureTick();
+
+        // When
+        tick.run();
+
+        // Then
+        assertTrue(testTimer.isAnchored());
+        verify(roomService).persistRunningTimers(eq(TEST_ROOM_ID), argThat(timerIds -> timerIds.contains(TEST_TIMER_ID)));
+    }
+
+    @Test
+    void tick_CountdownReachedZero_CompletesTimer() {
+        // Given
+        testTimer.setCurrentTime(1);
+        testTimer.start();
+        testTimer.setAnchoredAt(TimerClock.currentTimeMillis() - 1_000);
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        Timer completed = testTimer.copy();
+        completed.complete();
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.COMPLETE, null))
+                .thenReturn(TimerTransitionResult.applied(completed));
+        Runnable tick = startTickingAndCaptureTick();
+
+        // When
+        tick.run();
+
+        // Then
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        assertTrue(events.getAllValues().stream().anyMatch(event -> event instanceof TimerService.TimerEvent
+                && "TIMER_COMPLETED".equals(((TimerService.TimerEvent) event).getEventType())));
+        verify(timeout).cancel();
+        verify(tickLeaseRepository).release(eq(TEST_ROOM_ID), anyString());
+    }
+
+    @Test
+    void tick_CountdownInSequenceReachedZero_StartsNextTimerInOneEvent() {
+        // Given
+        Timer nextTimer = new Timer("Next Timer", 30, TimerType.COUNTDOWN);
+        testRoom.addTimer(nextTimer);
+        testRoom.setSequence(List.of(TEST_TIMER_ID, nextTimer.getId()));
+        testTimer.setCurrentTime(1);
+        testTimer.start();
+        testTimer.setAnchoredAt(TimerClock.currentTimeMillis() - 1_000);
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        Timer completed = testTimer.copy();
+        completed.complete();
+        Timer started = nextTimer.copy();
+        started.start();
+        when(roomService.advanceSequence(TEST_ROOM_ID, TEST_TIMER_ID, nextTimer.getId())).thenReturn(List.of(completed, started));
+        Runnable tick = startTickingAndCaptureTick();
+
+        // When
+        tick.run();
+
+        // Then
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        assertEquals(1, events.getAllValues().stream().filter(event -> event instanceof TimerService.SequenceEvent).count());
+        assertFalse(events.getAllValues().stream().anyMatch(event -> event instanceof TimerService.TimerEvent
+                && "TIMER_COMPLETED".equals(((TimerService.TimerEvent) event).getEventType())));
+        verify(roomService, never()).transitionTimer(anyString(), anyString(), eq(TimerOperation.COMPLETE), any());
+        verify(timeout, never()).cancel();
+        verify(tickLeaseRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void tick_TimerStartedOnAnotherNode_IsTickedByLeaseHolder() {
+        // Given
+        Timer otherTimer = new Timer("Other Timer", 30, TimerType.STOPWATCH);
+        testRoom.addTimer(otherTimer);
+        testTimer.start();
+        otherTimer.start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        Runnable tick = startTickingAndCaptureTick();
+
+        // When
+        tick.run();
+
+        // Then
+        ArgumentCaptor<TimerService.RoomTickEvent> event = ArgumentCaptor.forClass(TimerService.RoomTickEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(testTimer, otherTimer), event.getValue().getTimers());
+    }
+
+    @Test
+    void startTimerTicking_LeaseHeldByAnotherNode_DoesNotSchedule() {
+        // Given
+        when(tickLeaseRepository.acquire(eq(TEST_ROOM_ID), anyString(), anyLong())).thenReturn(false);
+
+        // When
+        timerService.startTimerTicking(TEST_ROOM_ID, testTimer);
+
+        // Then
+        verify(timingWheel, never()).scheduleAligned(anyString(), any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    void renewTickLeases_LostLease_StopsTickingRoom() {
+        // Given
+        timerService.startTimerTicking(TEST_ROOM_ID, testTimer);
+        when(tickLeaseRepository.renew(anyCollection(), anyString(), anyLong())).thenReturn(Set.of(TEST_ROOM_ID));
+
+        // When
+        timerService.renewTickLeases();
+        timerService.renewTickLeases();
+
+        // Then
+        verify(timeout).cancel();
+        verify(tickLeaseRepository, times(1)).renew(anyCollection(), anyString(), anyLong());
+    }
+
+    @Test
+    void adoptUnleasedRooms_TakesOverRoomWithoutLease() {
+        // Given
+        when(tickLeaseRepository.claimUnleased(anyString(), anyLong(), anyInt())).thenReturn(List.of(TEST_ROOM_ID));
+        testTimer.start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+
+        // When
+        timerService.adoptUnleasedRooms();
+
+        // Then
+        ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+        verify(timingWheel).scheduleAligned(eq(TEST_ROOM_ID), tick.capture(), anyLong(), any(TimeUnit.class));
+        tick.getValue().run();
+        verify(eventPublisher).publishEvent(any(TimerService.RoomTickEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void adoptUnleasedRooms_RegistersRunningTimersSoStopIsNoticed() {
+        // Given
+        when(tickLeaseRepository.claimUnleased(anyString(), anyLong(), anyInt())).thenReturn(List.of(TEST_ROOM_ID));
+        testTimer.start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        Map<String, String> tickingTimerRooms = (Map<String, String>) ReflectionTestUtils.getField(timerService, "tickingTimerRooms");
+
+        // When
+        timerService.adoptUnleasedRooms();
+
+        // Then
+        assertEquals(Map.of(TEST_TIMER_ID, TEST_ROOM_ID), tickingTimerRooms);
+        Timer stopped = testTimer.copy();
+        stopped.stop();
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.STOP, null))
+                .thenReturn(TimerTransitionResult.applied(stopped));
+        timerService.stopTimer(TEST_ROOM_ID, TEST_TIMER_ID);
+        assertTrue(tickingTimerRooms.isEmpty());
+    }
+
+    @Test
+    void resumeRunningRooms_ClaimsInBatchesAndRecordsDuration() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(timerService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(timerService, "recoveryBatchSize", 2);
+        doAnswer(invocation -> {
+            Consumer<List<String>> onClaimed = invocation.getArgument(3);
+            onClaimed.accept(List.of("ROOM01", "ROOM02"));
+            onClaimed.accept(List.of("ROOM03"));
+            return null;
+        }).when(tickLeaseRepository).claimAllUnleased(anyString(), anyLong(), eq(2), any());
+
+        // When
+        timerService.resumeRunningRooms();
+
+        // Then
+        verify(tickLeaseRepository).claimAllUnleased(anyString(), anyLong(), eq(2), any());
+        verify(tickLeaseRepository, never()).claimUnleased(anyString(), anyLong(), anyInt());
+        verify(timingWheel, times(3)).scheduleAligned(anyString(), any(Runnable.class), anyLong(), any(TimeUnit.class));
+        assertEquals(1, meterRegistry.timer("timerfy.ticker.recovery").count());
+        assertEquals(3.0, meterRegistry.counter("timerfy.ticker.recovered.rooms").count());
+    }
+
+    @Test
+    void tick_TimerStartedElsewhereWhileReleasing_ResumesTicking() {
+        // Given
+        Timer started = testTimer.copy();
+        started.start();
+        Room startedRoom = testRoom.copy();
+        startedRoom.getTimer(TEST_TIMER_ID).start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        timerService.startTimerTicking(TEST_ROOM_ID, started);
+        ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+        verify(timingWheel).scheduleAligned(eq(TEST_ROOM_ID), tick.capture(), anyLong(), any(TimeUnit.class));
+        // Another node starts the timer after this node read the room without running timers, and
+        // its acquire fails because this node still holds the lease; then this node lets go
+        doAnswer(invocation -> {
+            when(roomService.getLatestRoom(TEST_ROOM_ID)).thenReturn(Optional.of(startedRoom));
+            return null;
+        }).when(tickLeaseRepository).release(eq(TEST_ROOM_ID), anyString());
+
+        // When
+        tick.getValue().run();
+
+        // Then
+        verify(tickLeaseRepository).release(eq(TEST_ROOM_ID), anyString());
+        verify(tickLeaseRepository, times(2)).acquire(eq(TEST_ROOM_ID), anyString(), anyLong());
+        verify(timingWheel, times(2)).scheduleAligned(eq(TEST_ROOM_ID), any(Runnable.class), anyLong(), any(TimeUnit.class));
+        Map<?, ?> tickingTimerRooms = (Map<?, ?>) ReflectionTestUtils.getField(timerService, "tickingTimerRooms");
+        assertEquals(TEST_ROOM_ID, tickingTimerRooms.get(TEST_TIMER_ID));
+    }
+
+    @Test
+    void tick_NothingStartedWhileReleasing_StaysReleased() {
+        // Given
+        Timer started = testTimer.copy();
+        started.start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        when(roomService.getLatestRoom(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        timerService.startTimerTicking(TEST_ROOM_ID, started);
+        ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+        verify(timingWheel).scheduleAligned(eq(TEST_ROOM_ID), tick.capture(), anyLong(), any(TimeUnit.class));
+
+        // When
+        tick.getValue().run();
+
+        // Then
+        verify(tickLeaseRepository).release(eq(TEST_ROOM_ID), anyString());
+        verify(tickLeaseRepository, times(1)).acquire(eq(TEST_ROOM_ID), anyString(), anyLong());
+    }
+
+    @Test
+    void handOffTickLeases_ReleasesLeasesKeepingRoomsRunning() {
+        // Given
+        timerService.startTimerTicking(TEST_ROOM_ID, testTimer);
+
+        // When
+        timerService.handOffTickLeases();
+
+        // Then
+        verify(timeout).cancel();
+        verify(tickLeaseRepository).handOff(eq(List.of(TEST_ROOM_ID)), anyString());
+        verify(tickLeaseRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void tick_RoomTickRateChanged_ReschedulesAtNewRate() {
+        // Given
+        testRoom.getSettings().setTickRate(10);
+        testTimer.start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        timerService.startTimerTicking(TEST_ROOM_ID, testTimer);
+        ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+        verify(timingWheel).scheduleAligned(eq(TEST_ROOM_ID), tick.capture(), eq(100L), eq(TimeUnit.MILLISECONDS));
+        testRoom.getSettings().setTickRate(4);
+
+        // When
+        tick.getValue().run();
+
+        // Then
+        verify(timeout).cancel();
+        verify(timingWheel).scheduleAligned(eq(TEST_ROOM_ID), any(Runnable.class), eq(250L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void applyTickRate_RoomTickedHere_ReschedulesWithoutWaitingForTick() {
+        // Given
+        testRoom.getSettings().setTickRate(10);
+        testTimer.start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        timerService.startTimerTicking(TEST_ROOM_ID, testTimer);
+
+        // When
+        timerService.applyTickRate(TEST_ROOM_ID, 4);
+
+        // Then
+        verify(timeout).cancel();
+        verify(timingWheel).scheduleAligned(eq(TEST_ROOM_ID), any(Runnable.class), eq(250L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void applyTickRate_RoomNotTickedHere_LeavesWheelAlone() {
+        // When
+        timerService.applyTickRate(TEST_ROOM_ID, 4);
+
+        // Then
+        verifyNoInteractions(timingWheel);
+    }
+
+    private Timer countdownWithThresholds(long currentTime) {
+        Timer timer = new Timer("Deadline Timer", 120, TimerType.COUNTDOWN);
+        timer.setCurrentTime(currentTime);
+        timer.getSettings().setWarningTime(60);
+        timer.getSettings().setCriticalTime(10);
+        testRoom.addTimer(timer);
+        return timer;
+    }
+
+    @Test
+    void startTimerTicking_Countdown_SchedulesNextThresholdDeadline() {
+        // Given
+        Timer timer = countdownWithThresholds(90);
+        timer.start();
+
+        // When
+        timerService.startTimerTicking(TEST_ROOM_ID, timer);
+
+        // Then
+        verify(timingWheel).schedule(eq(TEST_ROOM_ID), any(Runnable.class),
+                longThat(delay -> delay > 29_000 && delay <= 30_000), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void deadline_WarningReached_PublishesWarningAndSchedulesCritical() {
+        // Given
+        Timer timer = countdownWithThresholds(61);
+        timer.start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        timerService.startTimerTicking(TEST_ROOM_ID, timer);
+        ArgumentCaptor<Runnable> run = ArgumentCaptor.forClass(Runnable.class);
+        verify(timingWheel).schedule(eq(TEST_ROOM_ID), run.capture(), anyLong(), any(TimeUnit.class));
+        timer.setAnchoredAt(timer.getAnchoredAt() - 1_000);
+
+        // When
+        run.getValue().run();
+
+        // Then
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        assertEquals("TIMER_WARNING", ((TimerService.TimerEvent) events.getValue()).getEventType());
+        verify(timingWheel).schedule(eq(TEST_ROOM_ID), any(Runnable.class),
+                longThat(delay -> delay > 49_000 && delay <= 50_000), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void deadline_TickRateZero_CompletesWithoutTicking() {
+        // Given
+        testRoom.getSettings().setTickRate(0);
+        testTimer.setCurrentTime(1);
+        testTimer.start();
+        when(roomService.getRoomById(TEST_ROOM_ID)).thenReturn(Optional.of(testRoom));
+        Timer completed = testTimer.copy();
+        completed.complete();
+        when(roomService.transitionTimer(TEST_ROOM_ID, TEST_TIMER_ID, TimerOperation.COMPLETE, null))
+                .thenReturn(TimerTransitionResult.applied(completed));
+        timerService.startTimerTicking(TEST_ROOM_ID, testTimer);
+        ArgumentCaptor<Runnable> run = ArgumentCaptor.forClass(Runnable.class);
+        verify(timingWheel).schedule(eq(TEST_ROOM_ID), run.capture(), anyLong(), any(TimeUnit.class));
+        testTimer.setAnchoredAt(testTimer.getAnchoredAt() - 1_000);
+
+        // When
+        run.getValue().run();
+
+        // Then
+        verify(timingWheel, never()).scheduleAligned(anyString(), any(Runnable.class), anyLong(), any(TimeUnit.class));
+        verify(eventPublisher, never()).publishEvent(any(TimerService.RoomTickEvent.class));
+        ArgumentCaptor<TimerService.TimerEvent> event = ArgumentCaptor.forClass(TimerService.TimerEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("TIMER_COMPLETED", event.getValue().getEventType());
+        verify(deadline).cancel();
+        verify(tickLeaseRepository).release(eq(TEST_ROOM_ID), anyString());
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.timerfy.service;
+
+import com.timerfy.model.TimerClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sustained throughput and lag of rooms ticking at 10 Hz on the shared grid, with the wheel set up
+ * as in application.yml. Times the machine it runs on, so it is left out of the default build:
+ * run it with {@code mvn test -Pbenchmark}. Room counts and the measured time can be changed with
+ * {@code -Dtimerfy.benchmark.rooms=1000,5000,20000} and {@code -Dtimerfy.benchmark.seconds=10}.
+ */
+@Tag("benchmark")
+class TimingWheelBenchmark {
+
+    private static final long PERIOD_MILLIS = 100;
+
+    private volatile boolean measuring;
+
+    @Test
+    void scheduleAligned_TenHertzRooms_SustainedThroughputAndLag() throws Exception {
+        String[] roomCounts = System.getProperty("timerfy.benchmark.rooms", "1000,5000,20000").split(",");
+        long seconds = Long.getLong("timerfy.benchmark.seconds", 10);
+        System.out.printf("Timing wheel, 10 Hz rooms, %d shard(s), %d s measured after 2 s warm-up%n",
+                Runtime.getRuntime().availableProcessors(), seconds);
+
+        for (String roomCount : roomCounts) {
+            Result result = run(Integer.parseInt(roomCount.trim()), seconds);
+            System.out.println(result);
+            assertTrue(result.sustained >= result.target * 0.9, result.toString());
+        }
+    }
+
+    private Result run(int rooms, long seconds) throws Exception {
+        TimingWheel timingWheel = new TimingWheel();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(timingWheel, "meterRegistry", meterRegistry);
+        timingWheel.start();
+        Timer lag = Timer.builder("benchmark.lag")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        LongAdder runs = new LongAdder();
+
+        List<TimingWheel.Timeout> timeouts = new ArrayList<>();
+        try {
+            for (int i = 0; i < rooms; i++) {
+                timeouts.add(timingWheel.scheduleAligned("ROOM" + i, () -> {
+                    if (measuring) {
+                        runs.increment();
+                        lag.record(TimerClock.currentTimeMillis() % PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                }, PERIOD_MILLIS, TimeUnit.MILLISECONDS));
+            }
+            Thread.sleep(2000);
+
+            double skippedBefore = meterRegistry.get("timerfy.ticker.skipped").counter().count();
+            measuring = true;
+            long started = System.nanoTime();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+            measuring = false;
+            double elapsed = (System.nanoTime() - started) / 1e9;
+
+            HistogramSnapshot snapshot = lag.takeSnapshot();
+            Result result = new Result();
+            result.rooms = rooms;
+            result.target = rooms * (1000.0 / PERIOD_MILLIS);
+            result.sustained = runs.sum() / elapsed;
+            result.percentiles = snapshot.percentileValues();
+            result.maxLagMillis = snapshot.max(TimeUnit.MILLISECONDS);
+            result.skipped = (long) (meterRegistry.get("timerfy.ticker.skipped").counter().count() - skippedBefore);
+            return result;
+        } finally {
+            timeouts.forEach(TimingWheel.Timeout::cancel);
+            timingWheel.stop();
+        }
+    }
+
+    private static class Result {
+        private int rooms;
+        private double target;
+        private double sustained;
+        private ValueAtPercentile[] percentiles;
+        private double maxLagMillis;
+        private long skipped;
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format("%6d rooms: %,9.0f of %,9.0f runs/s (%5.1f%%), lag",
+                    rooms, sustained, target, 100 * sustained / target));
+            for (ValueAtPercentile percentile : percentiles) {
+                String name = BigDecimal.valueOf(percentile.percentile() * 100).stripTrailingZeros().toPlainString();
+                text.append(String.format(" p%s %.0f ms", name, percentile.value(TimeUnit.MILLISECONDS)));
+            }
+            return text.append(String.format(", max %.0f ms, %d runs skipped", maxLagMillis, skipped)).toString();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.timerfy.service;
+
+import com.timerfy.model.TimerClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private TimingWheel timingWheel;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        timingWheel = new TimingWheel();
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(timingWheel, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(timingWheel, "resolutionMillis", 1L);
+        ReflectionTestUtils.setField(timingWheel, "wheelSize", 8);
+        ReflectionTestUtils.setField(timingWheel, "shardCount", 4);
+        timingWheel.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        timingWheel.stop();
+    }
+
+    @Test
+    void scheduleAtFixedRate_RunsRepeatedly() throws Exception {
+        CountDownLatch runs = new CountDownLatch(3);
+
+        timingWheel.scheduleAtFixedRate("ABC123", runs::countDown, 0, 5, TimeUnit.MILLISECONDS);
+
+        assertTrue(runs.await(1, TimeUnit.SECONDS));
+        assertEquals(1, timingWheel.getScheduledCount());
+    }
+
+    @Test
+    void scheduleAtFixedRate_DelayLongerThanOneRotation_WaitsForIt() throws Exception {
+        CountDownLatch run = new CountDownLatch(1);
+        long scheduledAt = System.nanoTime();
+
+        timingWheel.scheduleAtFixedRate("ABC123", run::countDown, 50, 1000, TimeUnit.MILLISECONDS);
+
+        assertTrue(run.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void schedule_RunsOnceAfterDelay() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        long scheduledAt = System.nanoTime();
+
+        TimingWheel.Timeout timeout = timingWheel.schedule("ABC123", runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        Thread.sleep(100);
+
+        assertEquals(1, runs.get());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, timingWheel.getScheduledCount());
+        assertTrue(System.nanoTime() - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @Test
+    void cancel_StopsFurtherRuns() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        TimingWheel.Timeout timeout = timingWheel.scheduleAtFixedRate("ABC123", runs::incrementAndGet, 0, 5, TimeUnit.MILLISECONDS);
+        Thread.sleep(30);
+
+        timeout.cancel();
+        Thread.sleep(20);
+        int runsAfterCancel = runs.get();
+        Thread.sleep(50);
+
+        assertTrue(timeout.isCancelled());
+        assertEquals(runsAfterCancel, runs.get());
+        assertEquals(0, timingWheel.getScheduledCount());
+    }
+
+    @Test
+    void scheduleAtFixedRate_FailingTask_KeepsRunning() throws Exception {
+        CountDownLatch runs = new CountDownLatch(2);
+
+        timingWheel.scheduleAtFixedRate("ABC123", () -> {
+            runs.countDown();
+            throw new IllegalStateException("tick failed");
+        }, 0, 5, TimeUnit.MILLISECONDS);
+
+        assertTrue(runs.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void scheduleAligned_FiresOnSharedGrid() throws Exception {
+        List<Long> firedAt = new CopyOnWriteArrayList<>();
+        CountDownLatch runs = new CountDownLatch(6);
+
+        for (int i = 0; i < 2; i++) {
+            timingWheel.scheduleAligned("ABC123", () -> {
+                firedAt.add(TimerClock.currentTimeMillis());
+                runs.countDown();
+            }, 50, TimeUnit.MILLISECONDS);
+            Thread.sleep(17);
+        }
+
+        assertTrue(runs.await(1, TimeUnit.SECONDS));
+        // The first runs pay for thread start-up, so only check the later ones
+        for (long fired : firedAt.subList(2, firedAt.size())) {
+            assertTrue(fired % 50 < 20, "fired " + fired % 50 + " ms after its grid point");
+        }
+        assertTrue(meterRegistry.get("timerfy.ticker.phase.error").timer().count() >= 6);
+    }
+
+    @Test
+    void scheduleAligned_SlowRun_SkipsMissedGridPoints() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+
+        TimingWheel.Timeout timeout = timingWheel.scheduleAligned("ABC123", () -> {
+            runs.incrementAndGet();
+            sleep(120);
+        }, 50, TimeUnit.MILLISECONDS);
+        Thread.sleep(400);
+        timeout.cancel();
+
+        assertTrue(runs.get() <= 3, "caught up with " + runs.get() + " runs");
+        assertTrue(meterRegistry.get("timerfy.ticker.skipped").counter().count() >= 2);
+    }
+
+    @Test
+    void scheduleAtFixedRate_SlowRun_CoalescesMissedRuns() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+
+        TimingWheel.Timeout timeout = timingWheel.scheduleAtFixedRate("ABC123", () -> {
+            runs.incrementAndGet();
+            sleep(120);
+        }, 0, 20, TimeUnit.MILLISECONDS);
+        Thread.sleep(400);
+        timeout.cancel();
+
+        assertTrue(runs.get() <= 6, "caught up with " + runs.get() + " runs");
+        assertTrue(meterRegistry.get("timerfy.ticker.skipped").counter().count() >= 5);
+        assertTrue(meterRegistry.get("timerfy.ticker.lag").timer().count() >= 2);
+    }
+
+    @Test
+    void getLagMillis_BusyShard_ReportsWorstLagOfLastSecond() throws Exception {
+        timingWheel.schedule("ABC123", () -> sleep(200), 0, TimeUnit.MILLISECONDS);
+        timingWheel.schedule("ABC123", () -> { }, 0, TimeUnit.MILLISECONDS);
+        Thread.sleep(1300);
+
+        assertTrue(timingWheel.getLagMillis() >= 150, "lag was " + timingWheel.getLagMillis() + " ms");
+        assertEquals(timingWheel.getLagMillis(), meterRegistry.get("timerfy.ticker.lag.max").gauge().value());
+    }
+
+    @Test
+    void scheduleAtFixedRate_SameShardKey_RunsOnOneThread() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch runs = new CountDownLatch(20);
+        String otherKey = "XYZ789";
+        while (timingWheel.shardIndex(otherKey) == timingWheel.shardIndex("ABC123")) {
+            otherKey += "0";
+        }
+
+        for (int i = 0; i < 4; i++) {
+            timingWheel.scheduleAtFixedRate("ABC123", () -> {
+                threads.add(Thread.currentThread().getName());
+                runs.countDown();
+            }, 0, 5, TimeUnit.MILLISECONDS);
+        }
+        CountDownLatch otherRun = new CountDownLatch(1);
+        Set<String> otherThreads = ConcurrentHashMap.newKeySet();
+        timingWheel.scheduleAtFixedRate(otherKey, () -> {
+            otherThreads.add(Thread.currentThread().getName());
+            otherRun.countDown();
+        }, 0, 5, TimeUnit.MILLISECONDS);
+
+        assertTrue(runs.await(1, TimeUnit.SECONDS));
+        assertTrue(otherRun.await(1, TimeUnit.SECONDS));
+        assertEquals(1, threads.size());
+        assertFalse(threads.containsAll(otherThreads));
+        assertEquals(4, meterRegistry.get("timerfy.ticker.shard.queue").gauges().size());
+        assertEquals(4, meterRegistry.get("timerfy.ticker.shard.utilization").gauges().size());
+    }
+
+    @Test
+    void nextGridPoint_TenHertzRoomsScheduledWithinOnePeriod_ShareOneGridPoint() {
+        long periodStart = 1_700_000_000_000L;
+        Set<Long> gridPoints = new HashSet<>();
+
+        for (int room = 0; room < 1000; room++) {
+            gridPoints.add(TimingWheel.nextGridPoint(periodStart + room % 100, 100));
+        }
+
+        assertEquals(Set.of(periodStart + 100), gridPoints);
+    }
+
+    @Test
+    void nextGridPoint_OnGridPoint_MovesToTheNextOne() {
+        assertEquals(1_000, TimingWheel.nextGridPoint(900, 100));
+        assertEquals(1_000, TimingWheel.nextGridPoint(999, 100));
+        assertEquals(1_250, TimingWheel.nextGridPoint(1_000, 250));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file